@@ -0,0 +1,30 @@
+package benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Corre todos los benchmarks del Planificador con el perfilador de GC y
+ * guarda los resultados en JSON, para comparar antes y despues de cambiar
+ * las estructuras del planificador.
+ *
+ * Uso: java -cp target/benchmarks.jar benchmarks.LineaBase [salida.json] [filtro]
+ */
+public class LineaBase {
+
+    public static void main(String[] args) throws RunnerException {
+        String salida = args.length > 0 ? args[0] : "linea-base.json";
+        String filtro = args.length > 1 ? args[1] : PlanificadorBenchmark.class.getSimpleName();
+        Options opciones = new OptionsBuilder()
+                .include(filtro)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(salida)
+                .build();
+        new Runner(opciones).run();
+    }
+}
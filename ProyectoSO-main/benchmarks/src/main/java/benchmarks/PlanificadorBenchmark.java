@@ -0,0 +1,133 @@
+package benchmarks;
+
+import controlador.ControladorSimulacion;
+import java.util.concurrent.TimeUnit;
+import micelaneos.GeneradorCargas;
+import micelaneos.List;
+import micelaneos.ProcessState;
+import micelaneos.Proceso;
+import modelos.EventLogger;
+import modelos.Planificador;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Caminos calientes del Planificador con "tamano" procesos en la cola de
+ * listos, para cada politica (0 FCFS, 1 RR, 2 SPN, 3 SRT, 4 HRRN,
+ * 5 Prioridad). Cada operacion deja las colas como estaban, asi que el
+ * tamano se mantiene durante toda la medicion.
+ *
+ * sortReadyQueue es privado: se mide por el camino por el que lo usa la
+ * simulacion, despachando con la politica recien cambiada. Para aislarlo hay
+ * que restarle despachar().
+ *
+ * Con -prof gc se obtiene ademas la tasa de asignacion (gc.alloc.rate.norm
+ * es bytes por operacion).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class PlanificadorBenchmark {
+    private static final long SEMILLA = 42;
+
+    @Param({"10", "1000", "100000", "1000000"})
+    public int tamano;
+
+    @Param({"0", "1", "2", "3", "4", "5"})
+    public int politica;
+
+    private ControladorSimulacion controlador;
+    private Planificador planificador;
+    private Planificador suspendidos;
+    private Proceso enEjecucion;
+    private int otraPolitica;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        EventLogger.setImprimirPorDefecto(false);
+        controlador = new ControladorSimulacion(politica);
+        otraPolitica = politica == 0 ? 2 : 0;
+
+        // memoria de sobra: todos quedan en listos
+        planificador = crear(controlador, Integer.MAX_VALUE);
+        enEjecucion = planificador.getProcess(1);
+
+        // sin memoria: todos quedan en Suspendido-Listo y ninguno se puede reactivar
+        suspendidos = crear(new ControladorSimulacion(politica), 0);
+    }
+
+    private Planificador crear(ControladorSimulacion controlador, int memoria) {
+        GeneradorCargas generador = new GeneradorCargas(SEMILLA, tamano + 1);
+        List listos = new List();
+        List todos = new List();
+        for (Proceso p : generador) {
+            listos.appendLast(p);
+            todos.appendLast(p);
+        }
+        Planificador p = new Planificador(listos, new List(), new List(), todos, new List(), new List(),
+                controlador, 1, memoria);
+        p.setRetenerTerminados(false);
+        return p;
+    }
+
+    /**
+     * Despacho y vuelta a listos (expropiacion por quantum).
+     */
+    @Benchmark
+    public Proceso despachar() {
+        Proceso p = planificador.getProcess(1);
+        planificador.updatePCB(p, ProcessState.LISTO, 1);
+        return p;
+    }
+
+    /**
+     * Despacho, bloqueo por E/S y fin de la E/S.
+     */
+    @Benchmark
+    public Proceso bloquearYDesbloquear() {
+        Proceso p = planificador.getProcess(1);
+        planificador.updatePCB(p, ProcessState.BLOQUEADO, 1);
+        planificador.updateBlockToReady(p.getId());
+        return p;
+    }
+
+    @Benchmark
+    public boolean ifSRT() {
+        return planificador.ifSRT(enEjecucion, 1);
+    }
+
+    /**
+     * Cambio de politica ida y vuelta: cada despacho reordena la cola de
+     * listos con sortReadyQueue.
+     */
+    @Benchmark
+    public Proceso cambiarPolitica() {
+        controlador.setPolitica(otraPolitica);
+        Proceso p = despachar();
+        controlador.setPolitica(politica);
+        despachar();
+        return p;
+    }
+
+    /**
+     * Recorrido completo de Suspendido-Listo sin memoria para reactivar a
+     * nadie, el peor caso de cada despacho de una CPU.
+     */
+    @Benchmark
+    public void checkMemoryAndResume() {
+        suspendidos.checkMemoryAndResume();
+    }
+}
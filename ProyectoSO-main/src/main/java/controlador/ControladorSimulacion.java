@@ -4,13 +4,30 @@ import vistas.*;
 
 public class ControladorSimulacion {
     private VistaSimulacion vista;
+    private int politica;
+    private int tiempo;
+    private volatile int relojGlobal;
 
     public ControladorSimulacion(VistaSimulacion vista) {
         this.vista = vista;
     }
 
+    /**
+     * Controlador sin vista: la simulacion corre en lote (MotorSimulacion)
+     * y todas las actualizaciones de interfaz se descartan.
+     */
+    public ControladorSimulacion(int politica) {
+        this.vista = null;
+        this.politica = politica;
+        this.tiempo = 0;
+    }
+
+    public boolean tieneVista() {
+        return vista != null;
+    }
+
     public void setCPUText(int id, String text) {
-        vista.setCPU(text);
+        if (vista != null) vista.setCPU(id, text);
     }
 
     public VistaSimulacion getVista() {
@@ -21,65 +38,76 @@ public class ControladorSimulacion {
         this.vista = vista;
     }
     
-    public void setListosText(String text) {
-        vista.setListos(text);
-    }
-    
     /**
-     * NEW: Update suspended ready list display
+     * Procesos de cada cola de listos (una por CPU), en orden de despacho.
      */
-    public void setListosSuspendidosText(String text) {
-        vista.setListosSuspendidosText(text);
+    public void setListos(Object[][] colas) {
+        if (vista != null) vista.setListos(colas);
+    }
+    
+    public void setListosSuspendidos(Object[] procesos) {
+        if (vista != null) vista.setListosSuspendidos(procesos);
     }
 
-    /**
-     * NEW: Update suspended blocked list display
-     */
-    public void setBloqueadosSuspendidosText(String text) {
-        vista.setBloqueadosSuspendidosText(text);
+    public void setBloqueadosSuspendidos(Object[] procesos) {
+        if (vista != null) vista.setBloqueadosSuspendidos(procesos);
     }
 
-    public void setBloqueadosText(String text) {
-        vista.setBloqueados(text);
+    public void setBloqueados(Object[] procesos) {
+        if (vista != null) vista.setBloqueados(procesos);
     }
 
-    public void setSalidaText(String text) {
-        vista.setSalida(text);
+    public void setSalida(Object[] procesos) {
+        if (vista != null) vista.setSalida(procesos);
     }
 
     public void setRelojGlobal(int i){
-        vista.setReloj(i+"");
+        relojGlobal = i;
+        if (vista != null) vista.setReloj(i+"");
     }
 
     public int getPolitica(){
-        return vista.getPolitica();
+        return vista != null ? vista.getPolitica() : politica;
+    }
+
+    public void setPolitica(int politica) {
+        this.politica = politica;
+    }
+
+    public void setTiempo(int tiempo) {
+        this.tiempo = tiempo;
     }
 
     public int getTiempo(){
-        return vista.getTiempoInstrucion();
+        return vista != null ? vista.getTiempoInstrucion() : tiempo;
     }
 
     public void actulizarCiclo(int i){
-        vista.setReloj(i+"");
+        relojGlobal = i;
+        if (vista != null) vista.setReloj(i+"");
     }
 
-    public void setPcbs(String text){
-        vista.setPcbs(text);
+    public void setPcbs(Object[] procesos){
+        if (vista != null) vista.setPcbs(procesos);
     }
 
-    public void updateDataset(int id, String t) {
-        vista.updateDataset(1, t, 1);
+    /**
+     * Un ciclo de la CPU id en modo usuario (o de sistema operativo) para el
+     * grafico de utilizacion.
+     */
+    public void contarCicloCPU(int id, boolean usuario) {
+        if (vista != null) vista.contarCiclo(id, usuario);
     }
     
     public int getRelojGlobal() {
-        return vista.getRelojGlobal();
+        return relojGlobal;
     }
     
     public void updateMetrics(String metrics) {
-        vista.updateMetrics(metrics);
+        if (vista != null) vista.updateMetrics(metrics);
     }
     
     public void updateEventLog(String log) {
-        vista.updateEventLog(log);
+        if (vista != null) vista.updateEventLog(log);
     }
 }
\ No newline at end of file
@@ -0,0 +1,215 @@
+package micelaneos;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Archivo binario de definiciones de procesos con registros de tamano fijo,
+ * leido con MappedByteBuffer: abrirlo no lee nada y cada proceso se arma al
+ * pedirlo, asi que cargar cuesta lo mismo sin importar el tamano del archivo.
+ *
+ * Formato (little-endian):
+ *   cabecera de 16 bytes: MAGIA, VERSION, TAM_REGISTRO, cantidad
+ *   registro de 28 bytes: id, instrucciones, ciclosParaExcepcion,
+ *   ciclosParaSatisfacerExcepcion, prioridad, memoriaRequerida (int),
+ *   tipo (byte, 1 = I/O Bound) y 3 bytes reservados
+ *
+ * Solo guarda la definicion: el nombre pasa a ser "Proceso id" y el estado
+ * de ejecucion (pc, tiempos) arranca de cero.
+ *
+ * Cada registro se valida como en LectorProcesosJson (mas el byte de tipo y
+ * los reservados, que deben ser 0); un registro invalido se lanza como
+ * CargaInvalidaException con su numero. Los ids repetidos se detectan al
+ * recorrer el archivo con next(), no en get(i).
+ *
+ * @author pedro
+ */
+public class ArchivoProcesosBinario implements Iterator<Proceso>, Closeable {
+    public static final int MAGIA = 0x53_4F_50_42; // "SOPB"
+    public static final int VERSION = 1;
+    public static final int TAM_CABECERA = 16;
+    public static final int TAM_REGISTRO = 28;
+    // registros por mapeo, para archivos de mas de 2 GB
+    private static final int REGISTROS_POR_BLOQUE = (1 << 30) / TAM_REGISTRO;
+
+    private final String archivo;
+    private final FileChannel canal;
+    private final int cantidad;
+    private final MappedByteBuffer[] bloques;
+    private final BitSet ids;
+    private int siguiente;
+
+    public ArchivoProcesosBinario(String archivo) throws IOException {
+        this.archivo = archivo;
+        this.canal = FileChannel.open(Paths.get(archivo), StandardOpenOption.READ);
+        try {
+            ByteBuffer cabecera = ByteBuffer.allocate(TAM_CABECERA).order(ByteOrder.LITTLE_ENDIAN);
+            while (cabecera.hasRemaining() && canal.read(cabecera) >= 0) {
+                // leer la cabecera completa
+            }
+            cabecera.flip();
+            if (cabecera.remaining() < TAM_CABECERA || cabecera.getInt() != MAGIA) {
+                throw new IOException(archivo + " no es un archivo de procesos binario");
+            }
+            int version = cabecera.getInt();
+            int tamRegistro = cabecera.getInt();
+            if (version != VERSION || tamRegistro != TAM_REGISTRO) {
+                throw new IOException(archivo + ": version " + version + " con registros de "
+                        + tamRegistro + " bytes no soportada");
+            }
+            this.cantidad = cabecera.getInt();
+            long esperado = TAM_CABECERA + (long) cantidad * TAM_REGISTRO;
+            if (cantidad < 0 || canal.size() < esperado) {
+                throw new IOException(archivo + " esta truncado: se esperaban " + esperado
+                        + " bytes y tiene " + canal.size());
+            }
+        } catch (IOException ex) {
+            canal.close();
+            throw ex;
+        }
+        this.bloques = new MappedByteBuffer[(cantidad + REGISTROS_POR_BLOQUE - 1) / REGISTROS_POR_BLOQUE];
+        this.ids = new BitSet();
+        this.siguiente = 0;
+    }
+
+    public int getCantidad() {
+        return cantidad;
+    }
+
+    /**
+     * Proceso numero i del archivo (0 <= i < cantidad), recien creado.
+     *
+     * @throws CargaInvalidaException si el registro no es valido
+     */
+    public Proceso get(int i) {
+        if (i < 0 || i >= cantidad) {
+            throw new IndexOutOfBoundsException("Proceso " + i + " fuera del archivo de " + cantidad);
+        }
+        ByteBuffer b = bloque(i / REGISTROS_POR_BLOQUE);
+        int pos = (i % REGISTROS_POR_BLOQUE) * TAM_REGISTRO;
+        int id = b.getInt(pos);
+        byte tipo = b.get(pos + 24);
+        if (tipo != 0 && tipo != 1) {
+            throw error(i, "tipo desconocido en el proceso " + id + ": " + tipo);
+        }
+        if (b.get(pos + 25) != 0 || b.get(pos + 26) != 0 || b.get(pos + 27) != 0) {
+            throw error(i, "bytes reservados distintos de 0 en el proceso " + id);
+        }
+        Proceso p = new Proceso(id, "Proceso " + id, tipo == 1 ? "I/O Bound" : "CPU Bound",
+                b.getInt(pos + 4), b.getInt(pos + 8), b.getInt(pos + 12), b.getInt(pos + 16));
+        p.setMemoriaRequerida(b.getInt(pos + 20));
+        String invalido = LectorProcesosJson.validarDefinicion(p);
+        if (invalido != null) {
+            throw error(i, invalido);
+        }
+        return p;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return siguiente < cantidad;
+    }
+
+    @Override
+    public Proceso next() {
+        if (siguiente >= cantidad) {
+            throw new NoSuchElementException();
+        }
+        Proceso p = get(siguiente);
+        if (ids.get(p.getId())) {
+            throw error(siguiente, "id repetido: " + p.getId());
+        }
+        ids.set(p.getId());
+        siguiente++;
+        return p;
+    }
+
+    @Override
+    public void close() throws IOException {
+        canal.close();
+    }
+
+    private CargaInvalidaException error(int i, String detalle) {
+        return new CargaInvalidaException(archivo, TAM_CABECERA + (long) i * TAM_REGISTRO, i, detalle);
+    }
+
+    private ByteBuffer bloque(int n) {
+        MappedByteBuffer b = bloques[n];
+        if (b == null) {
+            long inicio = TAM_CABECERA + (long) n * REGISTROS_POR_BLOQUE * TAM_REGISTRO;
+            long largo = (long) Math.min(REGISTROS_POR_BLOQUE, cantidad - n * REGISTROS_POR_BLOQUE) * TAM_REGISTRO;
+            try {
+                b = canal.map(FileChannel.MapMode.READ_ONLY, inicio, largo);
+            } catch (IOException ex) {
+                throw new IllegalStateException("No se pudo mapear el bloque " + n, ex);
+            }
+            b.order(ByteOrder.LITTLE_ENDIAN);
+            bloques[n] = b;
+        }
+        return b;
+    }
+
+    /**
+     * Escribe los procesos en formato binario y devuelve cuantos escribio.
+     */
+    public static int escribir(Iterator<Proceso> procesos, String archivo) throws IOException {
+        Path ruta = Paths.get(archivo);
+        try (FileChannel salida = FileChannel.open(ruta, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(TAM_REGISTRO * 4096).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(MAGIA).putInt(VERSION).putInt(TAM_REGISTRO).putInt(0);
+            int cantidad = 0;
+            while (procesos.hasNext()) {
+                Proceso p = procesos.next();
+                if (cantidad == Integer.MAX_VALUE) {
+                    throw new IOException("Demasiados procesos para " + archivo);
+                }
+                if (buffer.remaining() < TAM_REGISTRO) {
+                    vaciar(buffer, salida);
+                }
+                buffer.putInt(p.getId())
+                        .putInt(p.getInstrucciones())
+                        .putInt(p.getCiclosParaExcepcion())
+                        .putInt(p.getCiclosParaSatisfacerExcepcion())
+                        .putInt(p.getPrioridad())
+                        .putInt(p.getMemoriaRequerida())
+                        .put((byte) ("I/O Bound".equals(p.getTipo()) ? 1 : 0))
+                        .put((byte) 0).put((byte) 0).put((byte) 0);
+                cantidad++;
+            }
+            vaciar(buffer, salida);
+            // la cantidad se conoce al final
+            ByteBuffer total = ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN).putInt(cantidad);
+            total.flip();
+            salida.write(total, 12);
+            return cantidad;
+        }
+    }
+
+    /**
+     * Convierte un archivo JSON de procesos (leido en streaming) a binario.
+     */
+    public static int convertir(String json, String binario) throws IOException {
+        try (LectorProcesosJson lector = new LectorProcesosJson(json)) {
+            return escribir(lector, binario);
+        }
+    }
+
+    private static void vaciar(ByteBuffer buffer, FileChannel salida) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            salida.write(buffer);
+        }
+        buffer.clear();
+    }
+}
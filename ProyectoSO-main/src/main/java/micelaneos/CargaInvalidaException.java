@@ -0,0 +1,59 @@
+package micelaneos;
+
+/**
+ * Error al leer un archivo de procesos: indica el archivo, la posicion
+ * (linea y columna, o byte en los archivos binarios) y el numero de proceso
+ * dentro del arreglo.
+ *
+ * @author pedro
+ */
+public class CargaInvalidaException extends RuntimeException {
+    private final String archivo;
+    private final int linea;
+    private final int columna;
+    private final long indice;
+
+    public CargaInvalidaException(String archivo, int linea, int columna, long indice, String detalle, Throwable causa) {
+        super(archivo + " (linea " + linea + ", columna " + columna
+                + (indice >= 0 ? ", proceso #" + indice : "") + "): " + detalle, causa);
+        this.archivo = archivo;
+        this.linea = linea;
+        this.columna = columna;
+        this.indice = indice;
+    }
+
+    /**
+     * Error en un registro de un archivo binario, que no tiene lineas: la
+     * posicion es el byte donde empieza el registro.
+     */
+    public CargaInvalidaException(String archivo, long posicion, long indice, String detalle) {
+        super(archivo + " (byte " + posicion + ", proceso #" + indice + "): " + detalle);
+        this.archivo = archivo;
+        this.linea = -1;
+        this.columna = -1;
+        this.indice = indice;
+    }
+
+    public String getArchivo() {
+        return archivo;
+    }
+
+    /**
+     * Linea del error, o -1 en un archivo binario.
+     */
+    public int getLinea() {
+        return linea;
+    }
+
+    public int getColumna() {
+        return columna;
+    }
+
+    /**
+     * Posicion del proceso en el arreglo (desde 0), o -1 si el error no es
+     * de un proceso en particular.
+     */
+    public long getIndice() {
+        return indice;
+    }
+}
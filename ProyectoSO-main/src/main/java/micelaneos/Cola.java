@@ -0,0 +1,139 @@
+package micelaneos;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Cola doblemente enlazada con nodos que conocen su cola. Agregar al final,
+ * sacar el primero y quitar un nodo cualquiera cuestan O(1), sin recursion.
+ * Se puede recorrer con for-each y quitar elementos con Iterator.remove().
+ *
+ * @author pedro
+ * @param <T>
+ */
+public class Cola<T> implements Iterable<T> {
+    private NodoCola<T> primero;
+    private NodoCola<T> ultimo;
+    private int size;
+    private int modificaciones;
+
+    public Cola() {
+        primero = null;
+        ultimo = null;
+        size = 0;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public boolean estaVacia() {
+        return size == 0;
+    }
+
+    public NodoCola<T> getPrimero() {
+        return primero;
+    }
+
+    public NodoCola<T> getUltimo() {
+        return ultimo;
+    }
+
+    public NodoCola<T> agregar(T x) {
+        NodoCola<T> nodo = new NodoCola<>(x);
+        agregar(nodo);
+        return nodo;
+    }
+
+    /**
+     * Agrega al final un nodo suelto (que no este en ninguna cola).
+     */
+    public void agregar(NodoCola<T> nodo) {
+        if (nodo.cola != null) {
+            throw new IllegalStateException("El nodo ya pertenece a una cola");
+        }
+        nodo.cola = this;
+        nodo.anterior = ultimo;
+        nodo.siguiente = null;
+        if (ultimo == null) {
+            primero = nodo;
+        } else {
+            ultimo.siguiente = nodo;
+        }
+        ultimo = nodo;
+        size++;
+        modificaciones++;
+    }
+
+    /**
+     * Desenlaza el nodo en O(1). Devuelve false si el nodo no es de esta cola.
+     */
+    public boolean quitar(NodoCola<T> nodo) {
+        if (nodo == null || nodo.cola != this) {
+            return false;
+        }
+        if (nodo.anterior == null) {
+            primero = nodo.siguiente;
+        } else {
+            nodo.anterior.siguiente = nodo.siguiente;
+        }
+        if (nodo.siguiente == null) {
+            ultimo = nodo.anterior;
+        } else {
+            nodo.siguiente.anterior = nodo.anterior;
+        }
+        nodo.anterior = null;
+        nodo.siguiente = null;
+        nodo.cola = null;
+        size--;
+        modificaciones++;
+        return true;
+    }
+
+    public T sacarPrimero() {
+        if (primero == null) {
+            return null;
+        }
+        T x = primero.value;
+        quitar(primero);
+        return x;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private NodoCola<T> siguiente = primero;
+            private NodoCola<T> actual = null;
+            private int esperadas = modificaciones;
+
+            @Override
+            public boolean hasNext() {
+                return siguiente != null;
+            }
+
+            @Override
+            public T next() {
+                if (modificaciones != esperadas) {
+                    throw new ConcurrentModificationException();
+                }
+                if (siguiente == null) {
+                    throw new NoSuchElementException();
+                }
+                actual = siguiente;
+                siguiente = siguiente.siguiente;
+                return actual.value;
+            }
+
+            @Override
+            public void remove() {
+                if (actual == null) {
+                    throw new IllegalStateException();
+                }
+                quitar(actual);
+                actual = null;
+                esperadas = modificaciones;
+            }
+        };
+    }
+}
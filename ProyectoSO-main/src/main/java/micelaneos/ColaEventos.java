@@ -0,0 +1,158 @@
+package micelaneos;
+
+import java.util.Arrays;
+
+/**
+ * Cola de eventos discretos ordenada por ciclo (min-heap binario).
+ * Dentro de un mismo ciclo los eventos salen por tipo y luego en orden de
+ * insercion, de modo que la simulacion es determinista.
+ * Los eventos se guardan en arreglos primitivos para no crear objetos.
+ *
+ * @author pedro
+ */
+public class ColaEventos {
+    private long[] ciclos;
+    private long[] secuencias;
+    private int[] tipos;
+    private int[] datosA;
+    private int[] datosB;
+    private int size;
+    private long siguienteSecuencia;
+
+    private long cicloActual;
+    private int tipoActual;
+    private int datoAActual;
+    private int datoBActual;
+
+    public ColaEventos() {
+        this(64);
+    }
+
+    public ColaEventos(int capacidad) {
+        capacidad = Math.max(capacidad, 2);
+        ciclos = new long[capacidad];
+        secuencias = new long[capacidad];
+        tipos = new int[capacidad];
+        datosA = new int[capacidad];
+        datosB = new int[capacidad];
+        size = 0;
+        siguienteSecuencia = 0;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public long cicloSiguiente() {
+        return size == 0 ? Long.MAX_VALUE : ciclos[0];
+    }
+
+    public void insertar(long ciclo, int tipo, int datoA, int datoB) {
+        if (size == ciclos.length) {
+            crecer();
+        }
+        int i = size++;
+        ciclos[i] = ciclo;
+        secuencias[i] = siguienteSecuencia++;
+        tipos[i] = tipo;
+        datosA[i] = datoA;
+        datosB[i] = datoB;
+        subir(i);
+    }
+
+    /**
+     * Saca el evento mas proximo. Sus campos quedan disponibles en
+     * getCiclo(), getTipo(), getDatoA() y getDatoB() hasta la siguiente llamada.
+     */
+    public boolean extraer() {
+        if (size == 0) {
+            return false;
+        }
+        cicloActual = ciclos[0];
+        tipoActual = tipos[0];
+        datoAActual = datosA[0];
+        datoBActual = datosB[0];
+        size--;
+        if (size > 0) {
+            mover(size, 0);
+            bajar(0);
+        }
+        return true;
+    }
+
+    public long getCiclo() {
+        return cicloActual;
+    }
+
+    public int getTipo() {
+        return tipoActual;
+    }
+
+    public int getDatoA() {
+        return datoAActual;
+    }
+
+    public int getDatoB() {
+        return datoBActual;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    private boolean menor(int i, int j) {
+        if (ciclos[i] != ciclos[j]) return ciclos[i] < ciclos[j];
+        if (tipos[i] != tipos[j]) return tipos[i] < tipos[j];
+        return secuencias[i] < secuencias[j];
+    }
+
+    private void subir(int i) {
+        while (i > 0) {
+            int padre = (i - 1) >>> 1;
+            if (!menor(i, padre)) break;
+            intercambiar(i, padre);
+            i = padre;
+        }
+    }
+
+    private void bajar(int i) {
+        while (true) {
+            int izq = 2 * i + 1;
+            if (izq >= size) break;
+            int hijo = izq;
+            if (izq + 1 < size && menor(izq + 1, izq)) hijo = izq + 1;
+            if (!menor(hijo, i)) break;
+            intercambiar(i, hijo);
+            i = hijo;
+        }
+    }
+
+    private void mover(int desde, int hacia) {
+        ciclos[hacia] = ciclos[desde];
+        secuencias[hacia] = secuencias[desde];
+        tipos[hacia] = tipos[desde];
+        datosA[hacia] = datosA[desde];
+        datosB[hacia] = datosB[desde];
+    }
+
+    private void intercambiar(int i, int j) {
+        long c = ciclos[i]; ciclos[i] = ciclos[j]; ciclos[j] = c;
+        long s = secuencias[i]; secuencias[i] = secuencias[j]; secuencias[j] = s;
+        int t = tipos[i]; tipos[i] = tipos[j]; tipos[j] = t;
+        int a = datosA[i]; datosA[i] = datosA[j]; datosA[j] = a;
+        int b = datosB[i]; datosB[i] = datosB[j]; datosB[j] = b;
+    }
+
+    private void crecer() {
+        int capacidad = ciclos.length * 2;
+        ciclos = Arrays.copyOf(ciclos, capacidad);
+        secuencias = Arrays.copyOf(secuencias, capacidad);
+        tipos = Arrays.copyOf(tipos, capacidad);
+        datosA = Arrays.copyOf(datosA, capacidad);
+        datosB = Arrays.copyOf(datosB, capacidad);
+    }
+}
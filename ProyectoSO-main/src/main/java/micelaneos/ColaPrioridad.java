@@ -0,0 +1,247 @@
+package micelaneos;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Cola de prioridad (min-heap binario) ordenada por un Comparator que se
+ * puede cambiar en caliente. Insertar y extraer cuestan O(log n) y cambiar el
+ * comparador reconstruye el heap en O(n).
+ * Los empates se resuelven por orden de llegada, asi que con claves iguales
+ * se comporta como una cola FIFO.
+ *
+ * @author pedro
+ * @param <T>
+ */
+public class ColaPrioridad<T> {
+    private Object[] elementos;
+    private long[] llegadas;
+    private int size;
+    private long siguienteLlegada;
+    private Comparator<T> comparator;
+
+    public ColaPrioridad(Comparator<T> comparator) {
+        this(comparator, 16);
+    }
+
+    private ColaPrioridad(ColaPrioridad<T> otra) {
+        int n = Math.max(otra.size, 2);
+        this.elementos = Arrays.copyOf(otra.elementos, n);
+        this.llegadas = Arrays.copyOf(otra.llegadas, n);
+        this.size = otra.size;
+        this.siguienteLlegada = otra.siguienteLlegada;
+        this.comparator = otra.comparator;
+    }
+
+    public ColaPrioridad(Comparator<T> comparator, int capacidad) {
+        capacidad = Math.max(capacidad, 2);
+        this.elementos = new Object[capacidad];
+        this.llegadas = new long[capacidad];
+        this.size = 0;
+        this.siguienteLlegada = 0;
+        this.comparator = comparator;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public Comparator<T> getComparator() {
+        return comparator;
+    }
+
+    /**
+     * Cambia el criterio de orden y reconstruye el heap (O(n)).
+     */
+    public void setComparator(Comparator<T> comparator) {
+        this.comparator = comparator;
+        reordenar();
+    }
+
+    /**
+     * Reconstruye el heap cuando las claves de los elementos cambiaron sin
+     * pasar por la cola (por ejemplo, HRRN al envejecer).
+     */
+    public void reordenar() {
+        for (int i = (size >>> 1) - 1; i >= 0; i--) {
+            bajar(i);
+        }
+    }
+
+    public void insertar(T x) {
+        if (size == elementos.length) {
+            elementos = Arrays.copyOf(elementos, size * 2);
+            llegadas = Arrays.copyOf(llegadas, size * 2);
+        }
+        elementos[size] = x;
+        llegadas[size] = siguienteLlegada++;
+        subir(size++);
+    }
+
+    @SuppressWarnings("unchecked")
+    public T peek() {
+        return size == 0 ? null : (T) elementos[0];
+    }
+
+    public T extraer() {
+        if (size == 0) return null;
+        return quitarEn(0);
+    }
+
+    /**
+     * Elemento en la posicion i del arreglo del heap (no en orden de salida).
+     */
+    @SuppressWarnings("unchecked")
+    public T get(int i) {
+        return (T) elementos[i];
+    }
+
+    /**
+     * Quita el elemento en la posicion i del heap en O(log n).
+     */
+    @SuppressWarnings("unchecked")
+    public T quitarEn(int i) {
+        T x = (T) elementos[i];
+        size--;
+        if (i != size) {
+            elementos[i] = elementos[size];
+            llegadas[i] = llegadas[size];
+            elementos[size] = null;
+            if (!bajar(i)) {
+                subir(i);
+            }
+        } else {
+            elementos[size] = null;
+        }
+        return x;
+    }
+
+    /**
+     * Quita de una vez los elementos de las posiciones indicadas, que tienen
+     * que venir de un mismo recorrido sin modificar la cola entre medio. Los
+     * que quedan se compactan y el heap se reconstruye en O(n); quitarlos de
+     * a uno con quitarEn moveria elementos a posiciones ya recorridas.
+     */
+    public void quitarPosiciones(int[] posiciones, int cantidad) {
+        if (cantidad == 0) return;
+        boolean[] quitar = new boolean[size];
+        for (int k = 0; k < cantidad; k++) {
+            quitar[posiciones[k]] = true;
+        }
+        int n = 0;
+        for (int i = 0; i < size; i++) {
+            if (!quitar[i]) {
+                elementos[n] = elementos[i];
+                llegadas[n] = llegadas[i];
+                n++;
+            }
+        }
+        Arrays.fill(elementos, n, size, null);
+        size = n;
+        reordenar();
+    }
+
+    /**
+     * Copia de la cola en O(n): los arreglos del heap, no los elementos.
+     * Sirve para ordenarla despues sin tener bloqueada la original.
+     */
+    public ColaPrioridad<T> copia() {
+        return new ColaPrioridad<>(this);
+    }
+
+    /**
+     * Saca todos los elementos en orden de salida y deja la cola vacia.
+     * O(n log n). Primero reconstruye el heap por si las claves cambiaron;
+     * si cambian mientras tanto el orden puede quedar aproximado, pero a
+     * diferencia de ordenar con sort no falla por un comparador inconsistente.
+     */
+    public Object[] vaciarEnOrden() {
+        reordenar();
+        Object[] salida = new Object[size];
+        for (int i = 0; i < salida.length; i++) {
+            salida[i] = extraer();
+        }
+        return salida;
+    }
+
+    /**
+     * Copia de los elementos en orden de salida, para mostrarlos. O(n log n).
+     */
+    @SuppressWarnings("unchecked")
+    public Object[] toArrayOrdenado() {
+        Integer[] orden = new Integer[size];
+        for (int i = 0; i < size; i++) orden[i] = i;
+        Arrays.sort(orden, (a, b) -> menor(a, b) ? -1 : (menor(b, a) ? 1 : 0));
+        Object[] salida = new Object[size];
+        for (int i = 0; i < size; i++) salida[i] = elementos[orden[i]];
+        return salida;
+    }
+
+    /**
+     * Orden de llegada del elemento en la posicion i del heap.
+     */
+    public long getLlegada(int i) {
+        return llegadas[i];
+    }
+
+    public long getSiguienteLlegada() {
+        return siguienteLlegada;
+    }
+
+    /**
+     * Reemplaza el contenido por un heap ya armado con el comparador actual
+     * (por ejemplo, el guardado en un checkpoint). Se copia tal cual, sin
+     * reordenar, para que los empates salgan igual que antes.
+     */
+    public void restaurar(T[] elementos, long[] llegadas, long siguienteLlegada) {
+        int n = elementos.length;
+        this.elementos = Arrays.copyOf(elementos, Math.max(n, 2), Object[].class);
+        this.llegadas = Arrays.copyOf(llegadas, Math.max(n, 2));
+        this.size = n;
+        this.siguienteLlegada = siguienteLlegada;
+    }
+
+    public void clear() {
+        Arrays.fill(elementos, 0, size, null);
+        size = 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    private boolean menor(int i, int j) {
+        int c = comparator.compare((T) elementos[i], (T) elementos[j]);
+        if (c != 0) return c < 0;
+        return llegadas[i] < llegadas[j];
+    }
+
+    private void subir(int i) {
+        while (i > 0) {
+            int padre = (i - 1) >>> 1;
+            if (!menor(i, padre)) break;
+            intercambiar(i, padre);
+            i = padre;
+        }
+    }
+
+    private boolean bajar(int i) {
+        int inicio = i;
+        while (true) {
+            int izq = 2 * i + 1;
+            if (izq >= size) break;
+            int hijo = izq;
+            if (izq + 1 < size && menor(izq + 1, izq)) hijo = izq + 1;
+            if (!menor(hijo, i)) break;
+            intercambiar(i, hijo);
+            i = hijo;
+        }
+        return i != inicio;
+    }
+
+    private void intercambiar(int i, int j) {
+        Object x = elementos[i]; elementos[i] = elementos[j]; elementos[j] = x;
+        long l = llegadas[i]; llegadas[i] = llegadas[j]; llegadas[j] = l;
+    }
+}
@@ -0,0 +1,95 @@
+package micelaneos;
+
+import java.util.SplittableRandom;
+
+/**
+ * Distribucion de enteros positivos para generar cargas. Todas devuelven
+ * valores >= 1 y solo dependen del generador que reciben, asi que con la
+ * misma semilla dan siempre la misma secuencia.
+ *
+ * @author pedro
+ */
+public interface Distribucion {
+    int LIMITE = 1_000_000_000;
+
+    int muestra(SplittableRandom r);
+
+    static Distribucion constante(int valor) {
+        int v = Math.max(1, valor);
+        return r -> v;
+    }
+
+    /**
+     * Uniforme entre min y max, ambos incluidos.
+     */
+    static Distribucion uniforme(int min, int max) {
+        if (min < 1 || max < min) {
+            throw new IllegalArgumentException("Rango uniforme invalido: " + min + ".." + max);
+        }
+        return r -> min + r.nextInt(max - min + 1);
+    }
+
+    static Distribucion exponencial(double media) {
+        if (media <= 0) {
+            throw new IllegalArgumentException("Media exponencial invalida: " + media);
+        }
+        return r -> acotar(-media * Math.log(1.0 - r.nextDouble()));
+    }
+
+    /**
+     * Mezcla de dos exponenciales: con probabilidad probCorta la de media
+     * corta y si no la de media larga (rafagas cortas con algunas muy largas).
+     */
+    static Distribucion bimodal(double mediaCorta, double mediaLarga, double probCorta) {
+        if (mediaCorta <= 0 || mediaLarga <= 0 || probCorta < 0 || probCorta > 1) {
+            throw new IllegalArgumentException("Parametros bimodales invalidos");
+        }
+        return r -> {
+            double media = r.nextDouble() < probCorta ? mediaCorta : mediaLarga;
+            return acotar(-media * Math.log(1.0 - r.nextDouble()));
+        };
+    }
+
+    /**
+     * Pareto de cola pesada con minimo xm y forma alfa (con alfa <= 2 la
+     * varianza es infinita). Los valores se acotan a LIMITE.
+     */
+    static Distribucion pareto(double xm, double alfa) {
+        if (xm < 1 || alfa <= 0) {
+            throw new IllegalArgumentException("Parametros de Pareto invalidos: " + xm + ", " + alfa);
+        }
+        return r -> acotar(xm * Math.pow(1.0 - r.nextDouble(), -1.0 / alfa));
+    }
+
+    /**
+     * Lee una distribucion escrita como "uniforme:20:199", "exp:50",
+     * "bimodal:10:400:0.9", "pareto:20:1.5" o un numero (constante).
+     */
+    static Distribucion parse(String texto) {
+        String[] partes = texto.trim().split(":");
+        try {
+            switch (partes[0].toLowerCase()) {
+                case "uniforme":
+                case "uni":
+                    return uniforme(Integer.parseInt(partes[1]), Integer.parseInt(partes[2]));
+                case "exponencial":
+                case "exp":
+                    return exponencial(Double.parseDouble(partes[1]));
+                case "bimodal":
+                    return bimodal(Double.parseDouble(partes[1]), Double.parseDouble(partes[2]),
+                            Double.parseDouble(partes[3]));
+                case "pareto":
+                    return pareto(Double.parseDouble(partes[1]), Double.parseDouble(partes[2]));
+                default:
+                    return constante(Integer.parseInt(partes[0]));
+            }
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException ex) {
+            throw new IllegalArgumentException("Distribucion invalida: " + texto, ex);
+        }
+    }
+
+    private static int acotar(double x) {
+        if (x >= LIMITE) return LIMITE;
+        return Math.max(1, (int) Math.round(x));
+    }
+}
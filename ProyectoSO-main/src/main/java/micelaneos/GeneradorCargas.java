@@ -0,0 +1,163 @@
+package micelaneos;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Generador de cargas sinteticas reproducible. Cada proceso se genera con su
+ * propio generador derivado de (semilla, indice), asi que el proceso i es
+ * siempre el mismo, se recorra la carga en orden, en paralelo o solo una
+ * parte. Los procesos se crean a medida que se piden: una carga de millones
+ * de procesos no se guarda entera en memoria.
+ *
+ * Por defecto reproduce el boton "Generar aleatorios": 20-199 instrucciones,
+ * mitad I/O Bound, E/S cada 5-24 ciclos durante 3-12 ciclos, prioridad 0-4.
+ *
+ * @author pedro
+ */
+public class GeneradorCargas implements Iterable<Proceso> {
+    private final long semilla;
+    private final int cantidad;
+    private int primerId;
+    private Distribucion instrucciones;
+    private Distribucion periodoES;
+    private Distribucion duracionES;
+    private double fraccionIO;
+    private int prioridades;
+
+    public GeneradorCargas(long semilla, int cantidad) {
+        if (cantidad < 0) {
+            throw new IllegalArgumentException("Cantidad negativa: " + cantidad);
+        }
+        this.semilla = semilla;
+        this.cantidad = cantidad;
+        this.primerId = 0;
+        this.instrucciones = Distribucion.uniforme(20, 199);
+        this.periodoES = Distribucion.uniforme(5, 24);
+        this.duracionES = Distribucion.uniforme(3, 12);
+        this.fraccionIO = 0.5;
+        this.prioridades = 5;
+    }
+
+    public long getSemilla() {
+        return semilla;
+    }
+
+    public int getCantidad() {
+        return cantidad;
+    }
+
+    public int getPrimerId() {
+        return primerId;
+    }
+
+    /**
+     * Id del primer proceso; los demas son consecutivos.
+     */
+    public void setPrimerId(int primerId) {
+        this.primerId = primerId;
+    }
+
+    public void setInstrucciones(Distribucion instrucciones) {
+        this.instrucciones = instrucciones;
+    }
+
+    public void setPeriodoES(Distribucion periodoES) {
+        this.periodoES = periodoES;
+    }
+
+    public void setDuracionES(Distribucion duracionES) {
+        this.duracionES = duracionES;
+    }
+
+    /**
+     * Fraccion de procesos I/O Bound, entre 0 y 1.
+     */
+    public void setFraccionIO(double fraccionIO) {
+        this.fraccionIO = fraccionIO;
+    }
+
+    /**
+     * Cantidad de niveles de prioridad (0 es la mas alta).
+     */
+    public void setPrioridades(int prioridades) {
+        this.prioridades = Math.max(1, prioridades);
+    }
+
+    /**
+     * Proceso numero i de la carga (0 <= i < cantidad).
+     */
+    public Proceso generar(int i) {
+        if (i < 0 || i >= cantidad) {
+            throw new IndexOutOfBoundsException("Proceso " + i + " fuera de la carga de " + cantidad);
+        }
+        SplittableRandom r = generadorPara(i);
+        boolean io = r.nextDouble() < fraccionIO;
+        int instr = instrucciones.muestra(r);
+        int periodo = periodoES.muestra(r);
+        int duracion = duracionES.muestra(r);
+        int prioridad = r.nextInt(prioridades);
+        int id = primerId + i;
+        return new Proceso(id, "Proceso " + id, io ? "I/O Bound" : "CPU Bound", instr,
+                io ? periodo : 1, io ? duracion : 1, prioridad);
+    }
+
+    /**
+     * Carga la tabla compacta sin crear objetos Proceso, con los mismos ids
+     * que la carga como Procesos (primerId + i).
+     */
+    public void llenar(TablaProcesosCompacta tabla) {
+        for (int i = 0; i < cantidad; i++) {
+            SplittableRandom r = generadorPara(i);
+            boolean io = r.nextDouble() < fraccionIO;
+            int instr = instrucciones.muestra(r);
+            int periodo = periodoES.muestra(r);
+            int duracion = duracionES.muestra(r);
+            int prioridad = r.nextInt(prioridades);
+            tabla.agregar(primerId + i, io ? "I/O Bound" : "CPU Bound", instr, io ? periodo : 1,
+                    io ? duracion : 1, prioridad);
+        }
+    }
+
+    /**
+     * La carga completa como List, para el Planificador.
+     */
+    public List<Proceso> aLista() {
+        List<Proceso> lista = new List<>();
+        for (Proceso p : this) {
+            lista.appendLast(p);
+        }
+        return lista;
+    }
+
+    public Stream<Proceso> stream() {
+        return IntStream.range(0, cantidad).mapToObj(this::generar);
+    }
+
+    @Override
+    public Iterator<Proceso> iterator() {
+        return new Iterator<Proceso>() {
+            private int siguiente = 0;
+
+            @Override
+            public boolean hasNext() {
+                return siguiente < cantidad;
+            }
+
+            @Override
+            public Proceso next() {
+                if (siguiente >= cantidad) {
+                    throw new NoSuchElementException();
+                }
+                return generar(siguiente++);
+            }
+        };
+    }
+
+    private SplittableRandom generadorPara(int i) {
+        return new SplittableRandom(semilla * 0x9E3779B97F4A7C15L + i);
+    }
+}
@@ -0,0 +1,172 @@
+package micelaneos;
+
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Lee un arreglo JSON de procesos de a uno con el parser de streaming de
+ * Jackson. Solo hay un proceso en memoria a la vez, asi que archivos de
+ * cualquier tamano se empiezan a simular enseguida.
+ *
+ * Cada proceso se valida al leerlo; cualquier error (JSON mal formado,
+ * campo desconocido, valor invalido o id repetido) se lanza como
+ * CargaInvalidaException con la linea, la columna y el numero de proceso.
+ *
+ * @author pedro
+ */
+public class LectorProcesosJson implements Iterator<Proceso>, Closeable {
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final ObjectReader lectorProceso = objectMapper.readerFor(Proceso.class);
+
+    private final String archivo;
+    private final JsonParser parser;
+    private final BitSet ids;
+    private Proceso siguiente;
+    private long leidos;
+    private boolean terminado;
+
+    public LectorProcesosJson(String archivo) throws IOException {
+        this.archivo = archivo;
+        this.parser = objectMapper.getFactory().createParser(new File(archivo));
+        this.ids = new BitSet();
+        this.leidos = 0;
+        this.terminado = false;
+        if (avanzar() != JsonToken.START_ARRAY) {
+            throw error("se esperaba un arreglo de procesos", -1, null);
+        }
+        leerSiguiente();
+    }
+
+    /**
+     * Procesos entregados hasta ahora.
+     */
+    public long getLeidos() {
+        return leidos;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return siguiente != null;
+    }
+
+    @Override
+    public Proceso next() {
+        if (siguiente == null) {
+            throw new NoSuchElementException();
+        }
+        Proceso p = siguiente;
+        leidos++;
+        leerSiguiente();
+        return p;
+    }
+
+    @Override
+    public void close() throws IOException {
+        terminado = true;
+        siguiente = null;
+        parser.close();
+    }
+
+    private void leerSiguiente() {
+        siguiente = null;
+        if (terminado) {
+            return;
+        }
+        JsonToken token = avanzar();
+        if (token == JsonToken.END_ARRAY) {
+            if (avanzar() != null) {
+                throw error("contenido despues del arreglo de procesos", -1, null);
+            }
+            cerrar();
+            return;
+        }
+        if (token != JsonToken.START_OBJECT) {
+            throw error(token == null ? "fin de archivo inesperado" : "se esperaba un proceso y se encontro " + token,
+                    leidos, null);
+        }
+        JsonLocation inicio = parser.getTokenLocation();
+        Proceso p;
+        try {
+            p = lectorProceso.readValue(parser);
+        } catch (JsonProcessingException ex) {
+            throw error(ex.getOriginalMessage(), leidos, ex);
+        } catch (IOException ex) {
+            throw error(ex.getMessage(), leidos, ex);
+        }
+        String invalido = validar(p);
+        if (invalido != null) {
+            throw new CargaInvalidaException(archivo, inicio.getLineNr(), inicio.getColumnNr(), leidos, invalido, null);
+        }
+        ids.set(p.getId());
+        siguiente = p;
+    }
+
+    private String validar(Proceso p) {
+        String invalido = validarDefinicion(p);
+        if (invalido == null && ids.get(p.getId())) {
+            return "id repetido: " + p.getId();
+        }
+        return invalido;
+    }
+
+    /**
+     * Revisa los campos de un proceso recien leido (sin mirar los demas).
+     * Devuelve el motivo si es invalido o null si esta bien. Tambien la usa
+     * ArchivoProcesosBinario.
+     */
+    static String validarDefinicion(Proceso p) {
+        if (p.getId() < 0) {
+            return "id negativo: " + p.getId();
+        }
+        if (p.getInstrucciones() < 1) {
+            return "el proceso " + p.getId() + " no tiene instrucciones";
+        }
+        if (!"CPU Bound".equals(p.getTipo()) && !"I/O Bound".equals(p.getTipo())) {
+            return "tipo desconocido en el proceso " + p.getId() + ": " + p.getTipo();
+        }
+        if (p.getMemoriaRequerida() < 0) {
+            return "memoria negativa en el proceso " + p.getId();
+        }
+        if ("I/O Bound".equals(p.getTipo())
+                && (p.getCiclosParaExcepcion() < 1 || p.getCiclosParaSatisfacerExcepcion() < 0)) {
+            return "ciclos de E/S invalidos en el proceso " + p.getId();
+        }
+        return null;
+    }
+
+    private JsonToken avanzar() {
+        try {
+            return parser.nextToken();
+        } catch (JsonProcessingException ex) {
+            throw error(ex.getOriginalMessage(), leidos, ex);
+        } catch (IOException ex) {
+            throw error(ex.getMessage(), leidos, ex);
+        }
+    }
+
+    private CargaInvalidaException error(String detalle, long indice, Throwable causa) {
+        JsonLocation lugar = causa instanceof JsonProcessingException
+                && ((JsonProcessingException) causa).getLocation() != null
+                ? ((JsonProcessingException) causa).getLocation() : parser.getCurrentLocation();
+        cerrar();
+        return new CargaInvalidaException(archivo, lugar.getLineNr(), lugar.getColumnNr(), indice, detalle, causa);
+    }
+
+    private void cerrar() {
+        try {
+            close();
+        } catch (IOException ex) {
+            // ya no hay nada que leer
+        }
+    }
+}
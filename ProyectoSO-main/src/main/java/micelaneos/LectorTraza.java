@@ -0,0 +1,116 @@
+package micelaneos;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Recorre una traza escrita por TrazaEventos, del evento mas viejo que quedo
+ * en el anillo al mas nuevo. Como ColaEventos, siguiente() avanza y los
+ * getters devuelven los campos del evento actual, sin crear objetos.
+ *
+ * @author pedro
+ */
+public class LectorTraza implements Closeable {
+    private final FileChannel canal;
+    private final MappedByteBuffer mapa;
+    private final int capacidad;
+    private final long escritos;
+    private final long primero;
+    private long indice;
+    private int pos;
+
+    public LectorTraza(String archivo) throws IOException {
+        this.canal = FileChannel.open(Paths.get(archivo), StandardOpenOption.READ);
+        try {
+            if (canal.size() < TrazaEventos.TAM_CABECERA) {
+                throw new IOException(archivo + " no es una traza de eventos");
+            }
+            this.mapa = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+            mapa.order(ByteOrder.LITTLE_ENDIAN);
+            if (mapa.getInt(0) != TrazaEventos.MAGIA) {
+                throw new IOException(archivo + " no es una traza de eventos");
+            }
+            if (mapa.getInt(4) != TrazaEventos.VERSION || mapa.getInt(8) != TrazaEventos.TAM_REGISTRO) {
+                throw new IOException(archivo + ": version de traza " + mapa.getInt(4) + " no soportada");
+            }
+            this.capacidad = mapa.getInt(12);
+            if (canal.size() < TrazaEventos.TAM_CABECERA + (long) capacidad * TrazaEventos.TAM_REGISTRO) {
+                throw new IOException(archivo + " esta truncado");
+            }
+        } catch (IOException ex) {
+            canal.close();
+            throw ex;
+        }
+        this.escritos = mapa.getLong(TrazaEventos.POS_ESCRITOS);
+        this.primero = Math.max(0, escritos - capacidad);
+        this.indice = primero - 1;
+        this.pos = -1;
+    }
+
+    /**
+     * Eventos que quedan en el archivo.
+     */
+    public long getCantidad() {
+        return escritos - primero;
+    }
+
+    /**
+     * Eventos que se registraron en total, incluidos los pisados.
+     */
+    public long getEscritos() {
+        return escritos;
+    }
+
+    /**
+     * Pasa al siguiente evento; devuelve false al llegar al final.
+     */
+    public boolean siguiente() {
+        if (indice + 1 >= escritos) {
+            return false;
+        }
+        indice++;
+        pos = TrazaEventos.TAM_CABECERA + (int) (indice % capacidad) * TrazaEventos.TAM_REGISTRO;
+        return true;
+    }
+
+    /**
+     * Numero de secuencia del evento actual (0 es el primero registrado).
+     */
+    public long getIndice() {
+        return indice;
+    }
+
+    public long getCiclo() {
+        return mapa.getLong(pos);
+    }
+
+    public int getPid() {
+        return mapa.getInt(pos + 8);
+    }
+
+    public int getCpu() {
+        return mapa.getShort(pos + 12);
+    }
+
+    public byte getCodigo() {
+        return mapa.get(pos + 14);
+    }
+
+    public int getArgA() {
+        return mapa.getInt(pos + 16);
+    }
+
+    public int getArgB() {
+        return mapa.getInt(pos + 20);
+    }
+
+    @Override
+    public void close() throws IOException {
+        canal.close();
+    }
+}
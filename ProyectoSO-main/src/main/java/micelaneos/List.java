@@ -32,29 +32,26 @@ public class List <T>{
         return head!=null;
     }
     
+    /**
+     * Borra el primer nodo cuyo valor es el de pDelete. Iterativo: no usa
+     * pila aunque la lista sea larga.
+     */
     public void delete(Nodo pDelete){
-//        System.out.println(this.isEmpty());
-         if(this.isEmpty()){
-             Nodo pAux = head;
-             if(head.getValue() != pDelete.getValue()){
-                 head = head.getpNext();
-                 delete(pDelete);
-                 appendFirst(pAux);
-             }else{
-                 head = pDelete.getpNext();
-//        System.out.println(this.isEmpty());
-                 pDelete.setpNext(null);
-                 size--;
-             }
-         }else{
-             head = last = null;
-         }
-     }
+        Nodo pAux = head;
+        while(pAux != null && pAux.getValue() != pDelete.getValue()){
+            pAux = pAux.getpNext();
+        }
+        if(pAux != null){
+            remove(pAux);
+        }
+    }
     
     public void appendFirst(T x){
         Nodo <T> pNew = new Nodo <T> (x);
+        pNew.setpPrev(null);
         if(isEmpty()){
             pNew.setpNext(head);
+            head.setpPrev(pNew);
             head = pNew;
         }
         else{
@@ -65,8 +62,10 @@ public class List <T>{
     }
     public void appendFirst(Nodo pNew){
 //        NodoList <T> pNew = new NodoList <> (x);
+        pNew.setpPrev(null);
         if(isEmpty()){
             pNew.setpNext(head);
+            head.setpPrev(pNew);
             head = pNew;
         }
         else{
@@ -78,12 +77,14 @@ public class List <T>{
     public void appendLast(Nodo pNew){
         if(isEmpty()){
             last.setpNext(pNew);
+            pNew.setpPrev(last);
             last = pNew;
             pNew.setpNext(null);
         }
         else{
             head = last = pNew;
             pNew.setpNext(null);
+            pNew.setpPrev(null);
         }
         size++;
     }
@@ -93,12 +94,14 @@ public class List <T>{
         Nodo <T> pNew = new Nodo <T> (x);
         if(isEmpty()){
             last.setpNext(pNew);
+            pNew.setpPrev(last);
             last = pNew;
             pNew.setpNext(null);
         }
         else{
             head = last = pNew;
             pNew.setpNext(null);
+            pNew.setpPrev(null);
         }
         size++;
     }
@@ -106,6 +109,27 @@ public class List <T>{
     public Nodo getHead() {
         return head;
     }
+
+    /**
+     * Desenlaza en O(1) un nodo que pertenece a esta lista.
+     */
+    public void remove(Nodo pDelete){
+        Nodo prev = pDelete.getpPrev();
+        Nodo next = pDelete.getpNext();
+        if(prev == null){
+            head = next;
+        }else{
+            prev.setpNext(next);
+        }
+        if(next == null){
+            last = prev;
+        }else{
+            next.setpPrev(prev);
+        }
+        pDelete.setpNext(null);
+        pDelete.setpPrev(null);
+        size--;
+    }
     
     public Nodo getNodoById(int k){
         Nodo pAux = head;
@@ -11,10 +11,12 @@ package micelaneos;
  */
 public class Nodo <T>{
     private Nodo pNext;
+    private Nodo pPrev;
     private T value;
 
     public Nodo(T value) {
         this.pNext = null;
+        this.pPrev = null;
         this.value = value;
     }
 
@@ -26,6 +28,14 @@ public class Nodo <T>{
         this.pNext = pNext;
     }
 
+    public Nodo getpPrev() {
+        return pPrev;
+    }
+
+    public void setpPrev(Nodo pPrev) {
+        this.pPrev = pPrev;
+    }
+
     public T getValue() {
         return value;
     }
@@ -0,0 +1,39 @@
+package micelaneos;
+
+/**
+ * Nodo de una Cola. Conoce a sus dos vecinos y a la cola que lo contiene,
+ * por eso se puede desenlazar en O(1) sin recorrer nada.
+ * Solo la Cola modifica los enlaces.
+ *
+ * @author pedro
+ * @param <T>
+ */
+public class NodoCola<T> {
+    T value;
+    NodoCola<T> anterior;
+    NodoCola<T> siguiente;
+    Cola<T> cola;
+
+    public NodoCola(T value) {
+        this.value = value;
+    }
+
+    public T getValue() {
+        return value;
+    }
+
+    public NodoCola<T> getAnterior() {
+        return anterior;
+    }
+
+    public NodoCola<T> getSiguiente() {
+        return siguiente;
+    }
+
+    /**
+     * Cola que contiene al nodo, o null si esta suelto.
+     */
+    public Cola<T> getCola() {
+        return cola;
+    }
+}
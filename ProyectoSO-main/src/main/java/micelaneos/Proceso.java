@@ -1,6 +1,7 @@
 package micelaneos;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 public class Proceso {
@@ -13,7 +14,7 @@ public class Proceso {
     private int pc; 
     private int mar; 
     private int prioridad;
-    private String estado;
+    private ProcessState estado;
     private int tiempoEspera;
     private int tiempoRespuesta;
     private int tiempoInicio;
@@ -23,6 +24,7 @@ public class Proceso {
     private boolean inMemory; // NEW: Track if process is in memory
 
     public Proceso() {
+        this.estado = ProcessState.NUEVO;
         this.primerEjecucion = true;
         this.tiempoInicio = -1;
         this.tiempoFinalizacion = -1;
@@ -48,7 +50,7 @@ public class Proceso {
         this.pc = 1;
         this.mar = 0;
         this.tiempoEspera = 1;
-        this.estado = "Listo";
+        this.estado = ProcessState.LISTO;
         this.primerEjecucion = true;
         this.tiempoInicio = -1;
         this.tiempoFinalizacion = -1;
@@ -86,22 +88,14 @@ public class Proceso {
 
     // NEW: Suspend the process
     public void suspender() {
-        if (this.estado.equals("Bloqueado")) {
-            this.estado = "Suspendido-Bloqueado";
-        } else if (this.estado.equals("Listo")) {
-            this.estado = "Suspendido-Listo";
-        }
-        this.inMemory = false;
+        setEstadoProceso(getEstadoProceso().suspendido());
+        setInMemory(false);
     }
 
     // NEW: Reactivate the process
     public void reactivar() {
-        if (this.estado.equals("Suspendido-Listo")) {
-            this.estado = "Listo";
-        } else if (this.estado.equals("Suspendido-Bloqueado")) {
-            this.estado = "Bloqueado";
-        }
-        this.inMemory = true;
+        setEstadoProceso(getEstadoProceso().reactivado());
+        setInMemory(true);
     }
 
     // Existing getters and setters
@@ -218,23 +212,31 @@ public class Proceso {
     }
 
     public String getEstado() {
-        return estado;
+        return getEstadoProceso().getEtiqueta();
     }
 
     public void setEstado(String estado) {
-        if (estado.equals("Nuevo") ||
-            estado.equals("Listo") ||
-            estado.equals("Ejecucion") ||
-            estado.equals("Bloqueado") ||
-            estado.equals("Suspendido-Listo") ||
-            estado.equals("Suspendido-Bloqueado") ||
-            estado.equals("Terminado")) {
-            this.estado = estado;
+        ProcessState nuevo = ProcessState.desdeEtiqueta(estado);
+        if (nuevo != null) {
+            setEstadoProceso(nuevo);
         } else {
             System.err.println("Estado no reconocido: " + estado);
         }
     }
 
+    @JsonIgnore
+    public ProcessState getEstadoProceso() {
+        return estado;
+    }
+
+    /**
+     * Cambia el estado sin validar; el Planificador usa TablaTransiciones.
+     */
+    @JsonIgnore
+    public void setEstadoProceso(ProcessState estado) {
+        this.estado = estado;
+    }
+
     @Override
     public String toString() {
         return "Proceso{" +
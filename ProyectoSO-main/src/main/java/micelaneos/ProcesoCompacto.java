@@ -0,0 +1,129 @@
+package micelaneos;
+
+/**
+ * Cursor sobre una fila de una TablaProcesosCompacta. No guarda datos
+ * propios: lee y escribe las columnas de la fila en la que esta parado, y se
+ * mueve con mover(fila), asi que para recorrer la tabla alcanza con un solo
+ * cursor. No es un Proceso; para darle un proceso al Planificador se usa
+ * aProceso(), que lo crea recien en ese momento.
+ *
+ * @author pedro
+ */
+public class ProcesoCompacto {
+    private final TablaProcesosCompacta tabla;
+    private int fila;
+
+    ProcesoCompacto(TablaProcesosCompacta tabla, int fila) {
+        this.tabla = tabla;
+        this.fila = fila;
+    }
+
+    public TablaProcesosCompacta getTabla() {
+        return tabla;
+    }
+
+    public int getFila() {
+        return fila;
+    }
+
+    /**
+     * Para el cursor en otra fila y lo devuelve, para encadenar.
+     */
+    public ProcesoCompacto mover(int fila) {
+        tabla.verificar(fila);
+        this.fila = fila;
+        return this;
+    }
+
+    /**
+     * Proceso nuevo con los valores de la fila.
+     */
+    public Proceso aProceso() {
+        return tabla.aProceso(fila);
+    }
+
+    public int getId() {
+        return tabla.getId(fila);
+    }
+
+    public String getNombre() {
+        return tabla.getNombre(fila);
+    }
+
+    public void setNombre(String nombre) {
+        tabla.setNombre(fila, nombre);
+    }
+
+    public String getTipo() {
+        return tabla.getTipo(fila);
+    }
+
+    public int getInstrucciones() {
+        return tabla.getInstrucciones(fila);
+    }
+
+    public int getCiclosParaExcepcion() {
+        return tabla.getCiclosParaExcepcion(fila);
+    }
+
+    public int getCiclosParaSatisfacerExcepcion() {
+        return tabla.getCiclosParaSatisfacerExcepcion(fila);
+    }
+
+    public int getPc() {
+        return tabla.getPc(fila);
+    }
+
+    public void setPc(int pc) {
+        tabla.setPc(fila, pc);
+    }
+
+    public int getMar() {
+        return tabla.getMar(fila);
+    }
+
+    public void setMar(int mar) {
+        tabla.setMar(fila, mar);
+    }
+
+    public int getPrioridad() {
+        return tabla.getPrioridad(fila);
+    }
+
+    public int getTiempoEspera() {
+        return tabla.getTiempoEspera(fila);
+    }
+
+    public void setTiempoEspera(int tiempoEspera) {
+        tabla.setTiempoEspera(fila, tiempoEspera);
+    }
+
+    public int getMemoriaRequerida() {
+        return tabla.getMemoriaRequerida(fila);
+    }
+
+    public boolean isInMemory() {
+        return tabla.isInMemory(fila);
+    }
+
+    public ProcessState getEstadoProceso() {
+        return tabla.getEstadoProceso(fila);
+    }
+
+    public void setEstadoProceso(ProcessState estado) {
+        tabla.setEstadoProceso(fila, estado);
+    }
+
+    @Override
+    public String toString() {
+        return "ProcesoCompacto{" +
+                "fila=" + fila +
+                ", id=" + getId() +
+                ", nombre='" + getNombre() + '\'' +
+                ", tipo='" + getTipo() + '\'' +
+                ", estado='" + getEstadoProceso().getEtiqueta() + '\'' +
+                ", instrucciones=" + getInstrucciones() +
+                ", memoria=" + getMemoriaRequerida() + " MB" +
+                '}';
+    }
+}
@@ -1,6 +1,7 @@
 package micelaneos;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
 import java.io.File;
 import java.io.IOException;
 import micelaneos.List;
@@ -15,25 +16,47 @@ public class ProcesoJsonHandler {
     // Write a List of Proceso objects to a JSON file
     public static void writeProcesosToJson(List<Proceso> procesos, String filePath) throws IOException {
         Proceso[] procesosArray = new Proceso[procesos.getSize()];
-        for (int i = 0; i < procesos.getSize(); i++) {
-            Proceso currentProcess = (Proceso) procesos.getNodoById(i).getValue();
-            procesosArray[i] = currentProcess;
+        Nodo current = procesos.getHead();
+        for (int i = 0; current != null; i++) {
+            procesosArray[i] = (Proceso) current.getValue();
+            current = current.getpNext();
         }
         objectMapper.writeValue(new File(filePath), procesosArray);
     }
 
-    // Read a List of Proceso objects from a JSON file
+    /**
+     * Escribe los procesos a medida que se recorren, sin armar un arreglo:
+     * sirve para cargas generadas de cualquier tamano.
+     */
+    public static void writeProcesosToJson(Iterable<Proceso> procesos, String filePath) throws IOException {
+        try (SequenceWriter writer = objectMapper.writer().writeValues(new File(filePath))) {
+            writer.init(true);
+            for (Proceso p : procesos) {
+                writer.write(p);
+            }
+        }
+    }
+
+    /**
+     * Lee todos los procesos del archivo. Si el archivo no existe o es
+     * invalido informa el error exacto por System.err y devuelve una lista
+     * vacia; para propagar el error usar leerProcesos.
+     */
     public static List<Proceso> readProcesosFromJson(String filePath){
-        List procesos = new List();
-        try{
-            Proceso[] procesosArray = objectMapper.readValue(new File(filePath), Proceso[].class);
-            procesos = new List<>();
-            for (Proceso proceso : procesosArray) {
-                procesos.appendLast(proceso);
+        try {
+            return leerProcesos(filePath);
+        } catch (IOException | CargaInvalidaException e) {
+            System.err.println("No se pudieron cargar los procesos: " + e.getMessage());
+            return new List<>();
+        }
+    }
+
+    public static List<Proceso> leerProcesos(String filePath) throws IOException {
+        List<Proceso> procesos = new List<>();
+        try (LectorProcesosJson lector = new LectorProcesosJson(filePath)) {
+            while (lector.hasNext()) {
+                procesos.appendLast(lector.next());
             }
-            
-        }catch(Exception e){
-            System.out.println("error cargar procesos");
         }
         return procesos;
     }
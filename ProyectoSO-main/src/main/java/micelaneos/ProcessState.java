@@ -0,0 +1,77 @@
+package micelaneos;
+
+/**
+ * Estados de un proceso (modelo de siete estados). La etiqueta es el texto
+ * que se muestra en la interfaz y se guarda en el JSON.
+ *
+ * @author pedro
+ */
+public enum ProcessState {
+    NUEVO("Nuevo"),
+    LISTO("Listo"),
+    EJECUCION("Ejecucion"),
+    BLOQUEADO("Bloqueado"),
+    SUSPENDIDO_LISTO("Suspendido-Listo"),
+    SUSPENDIDO_BLOQUEADO("Suspendido-Bloqueado"),
+    TERMINADO("Terminado");
+
+    private static final ProcessState[] VALORES = values();
+
+    private final String etiqueta;
+
+    ProcessState(String etiqueta) {
+        this.etiqueta = etiqueta;
+    }
+
+    public String getEtiqueta() {
+        return etiqueta;
+    }
+
+    /**
+     * Estado al sacar el proceso de memoria; los que no se suspenden quedan igual.
+     */
+    public ProcessState suspendido() {
+        switch (this) {
+            case LISTO: return SUSPENDIDO_LISTO;
+            case BLOQUEADO: return SUSPENDIDO_BLOQUEADO;
+            default: return this;
+        }
+    }
+
+    /**
+     * Estado al volver a memoria; los que no estan suspendidos quedan igual.
+     */
+    public ProcessState reactivado() {
+        switch (this) {
+            case SUSPENDIDO_LISTO: return LISTO;
+            case SUSPENDIDO_BLOQUEADO: return BLOQUEADO;
+            default: return this;
+        }
+    }
+
+    public static ProcessState desdeCodigo(int codigo) {
+        return VALORES[codigo];
+    }
+
+    /**
+     * Estado con esa etiqueta, o null si no existe.
+     */
+    public static ProcessState desdeEtiqueta(String etiqueta) {
+        if (etiqueta == null) return null;
+        switch (etiqueta) {
+            case "Nuevo": return NUEVO;
+            case "Listo": return LISTO;
+            case "Ejecucion": return EJECUCION;
+            case "Bloqueado": return BLOQUEADO;
+            case "Suspendido-Listo": return SUSPENDIDO_LISTO;
+            case "Suspendido-Bloqueado": return SUSPENDIDO_BLOQUEADO;
+            case "Terminado": return TERMINADO;
+            default: return null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return etiqueta;
+    }
+}
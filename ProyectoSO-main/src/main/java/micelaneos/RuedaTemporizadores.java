@@ -0,0 +1,206 @@
+package micelaneos;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Rueda de temporizadores jerarquica indexada por ciclo. Tiene NIVELES
+ * ruedas de 64 casillas: el nivel 0 cubre ciclos sueltos, el 1 bloques de 64,
+ * el 2 bloques de 4096... Al cruzar un borde de bloque la casilla del nivel
+ * superior se reparte en los inferiores. Lo que no cabe en la rueda espera en
+ * una lista de desborde.
+ *
+ * Insertar y cancelar cuestan O(1). Los temporizadores de un mismo ciclo
+ * vencen en el orden en que se programaron. No es thread-safe.
+ *
+ * @author pedro
+ */
+public class RuedaTemporizadores {
+    private static final int BITS = 6;
+    private static final int CASILLAS = 1 << BITS;
+    private static final int MASCARA = CASILLAS - 1;
+    private static final int NIVELES = 4;
+
+    private final Cola<Temporizador>[][] ruedas;
+    private final Cola<Temporizador> desborde;
+    private final Cola<Temporizador> vencidos;
+    private long ahora;
+    private int programados;
+
+    @SuppressWarnings("unchecked")
+    public RuedaTemporizadores() {
+        ruedas = (Cola<Temporizador>[][]) new Cola<?>[NIVELES][CASILLAS];
+        for (int l = 0; l < NIVELES; l++) {
+            for (int i = 0; i < CASILLAS; i++) {
+                ruedas[l][i] = new Cola<>();
+            }
+        }
+        desborde = new Cola<>();
+        vencidos = new Cola<>();
+        ahora = 0;
+        programados = 0;
+    }
+
+    public long getAhora() {
+        return ahora;
+    }
+
+    /**
+     * Temporizadores todavia no vencidos.
+     */
+    public int getProgramados() {
+        return programados;
+    }
+
+    public int getVencidos() {
+        return vencidos.getSize();
+    }
+
+    /**
+     * Programa un temporizador. Si vencimiento <= ahora queda vencido de
+     * inmediato.
+     */
+    public Temporizador insertar(long vencimiento, int datoA, int datoB) {
+        Temporizador t = new Temporizador(vencimiento, datoA, datoB);
+        if (vencimiento <= ahora) {
+            vencidos.agregar(t.nodo);
+        } else {
+            colocar(t);
+            programados++;
+        }
+        return t;
+    }
+
+    /**
+     * Quita un temporizador pendiente en O(1). Devuelve false si ya se saco.
+     */
+    public boolean cancelar(Temporizador t) {
+        Cola<Temporizador> cola = t.nodo.getCola();
+        if (cola == null) {
+            return false;
+        }
+        cola.quitar(t.nodo);
+        if (cola != vencidos) {
+            programados--;
+        }
+        return true;
+    }
+
+    /**
+     * Avanza el tiempo hasta el ciclo indicado. Lo que venza queda disponible
+     * en sacarVencido().
+     *
+     * @return cantidad de temporizadores vencidos pendientes de sacar
+     */
+    public int avanzar(long hasta) {
+        while (ahora < hasta) {
+            if (programados == 0) {
+                ahora = hasta;
+                break;
+            }
+            ahora++;
+            cascada();
+            Cola<Temporizador> casilla = ruedas[0][(int) (ahora & MASCARA)];
+            NodoCola<Temporizador> nodo = casilla.getPrimero();
+            while (nodo != null) {
+                NodoCola<Temporizador> siguiente = nodo.getSiguiente();
+                casilla.quitar(nodo);
+                vencidos.agregar(nodo);
+                programados--;
+                nodo = siguiente;
+            }
+        }
+        return vencidos.getSize();
+    }
+
+    /**
+     * Siguiente temporizador vencido, en orden de vencimiento y de
+     * programacion, o null si no hay.
+     */
+    public Temporizador sacarVencido() {
+        return vencidos.sacarPrimero();
+    }
+
+    /**
+     * Copia de los temporizadores pendientes (vencidos sin sacar y
+     * programados) en el orden en que van a salir. Reinsertarlos en ese orden
+     * en una rueda reiniciada en el mismo ciclo la deja igual.
+     */
+    public Temporizador[] getPendientes() {
+        Temporizador[] pendientes = new Temporizador[vencidos.getSize() + programados];
+        int n = 0;
+        for (Temporizador t : vencidos) {
+            pendientes[n++] = t;
+        }
+        int inicioProgramados = n;
+        for (int l = 0; l < NIVELES; l++) {
+            for (int i = 0; i < CASILLAS; i++) {
+                for (Temporizador t : ruedas[l][i]) {
+                    pendientes[n++] = t;
+                }
+            }
+        }
+        for (Temporizador t : desborde) {
+            pendientes[n++] = t;
+        }
+        // los de un mismo ciclo comparten casilla, asi que un orden estable conserva la programacion
+        Arrays.sort(pendientes, inicioProgramados, n, Comparator.comparingLong(Temporizador::getVencimiento));
+        return pendientes;
+    }
+
+    /**
+     * Vacia la rueda y la deja en el ciclo indicado.
+     */
+    public void reiniciar(long ahora) {
+        for (int l = 0; l < NIVELES; l++) {
+            for (int i = 0; i < CASILLAS; i++) {
+                vaciar(ruedas[l][i]);
+            }
+        }
+        vaciar(desborde);
+        vaciar(vencidos);
+        this.ahora = ahora;
+        this.programados = 0;
+    }
+
+    private static void vaciar(Cola<Temporizador> cola) {
+        while (cola.sacarPrimero() != null) {
+            // los nodos quedan sueltos
+        }
+    }
+
+    private void cascada() {
+        int nivel = 0;
+        while (nivel < NIVELES && (ahora & ((1L << (BITS * (nivel + 1))) - 1)) == 0) {
+            nivel++;
+        }
+        // de arriba hacia abajo, para conservar el orden de programacion
+        if (nivel == NIVELES) {
+            redistribuir(desborde);
+        }
+        for (int l = Math.min(nivel, NIVELES - 1); l >= 1; l--) {
+            redistribuir(ruedas[l][(int) ((ahora >>> (BITS * l)) & MASCARA)]);
+        }
+    }
+
+    private void redistribuir(Cola<Temporizador> casilla) {
+        // lo que siga fuera de rango vuelve al final del desborde
+        for (int n = casilla.getSize(); n > 0; n--) {
+            NodoCola<Temporizador> nodo = casilla.getPrimero();
+            casilla.quitar(nodo);
+            colocar(nodo.getValue());
+        }
+    }
+
+    private void colocar(Temporizador t) {
+        long v = t.vencimiento;
+        for (int l = 0; l < NIVELES; l++) {
+            int desplazamiento = BITS * (l + 1);
+            if ((v >>> desplazamiento) == (ahora >>> desplazamiento)) {
+                ruedas[l][(int) ((v >>> (BITS * l)) & MASCARA)].agregar(t.nodo);
+                return;
+            }
+        }
+        desborde.agregar(t.nodo);
+    }
+}
@@ -0,0 +1,172 @@
+package micelaneos;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Tabla de procesos indexada por id. Para cada PID guarda su PCB y el nodo
+ * de la cola donde esta (el nodo conoce su cola), asi que ubicar un proceso
+ * y sacarlo de su cola cuesta O(1).
+ *
+ * Los ids chicos y consecutivos (los de siempre) van en arreglos. Un id que
+ * obligaria a agrandarlos mas del doble de lo que ya ocupan (por ejemplo un
+ * id suelto muy grande en el JSON) va a un mapa aparte, asi que un solo
+ * proceso no reserva arreglos del tamano de su id.
+ *
+ * @author pedro
+ */
+public class TablaProcesos {
+    private Proceso[] procesos;
+    private NodoCola<Proceso>[] nodos;
+    private final HashMap<Integer, Proceso> procesosDispersos;
+    private final HashMap<Integer, NodoCola<Proceso>> nodosDispersos;
+    private int registrados;
+
+    public TablaProcesos() {
+        this(64);
+    }
+
+    @SuppressWarnings("unchecked")
+    public TablaProcesos(int capacidad) {
+        capacidad = Math.max(capacidad, 1);
+        procesos = new Proceso[capacidad];
+        nodos = (NodoCola<Proceso>[]) new NodoCola<?>[capacidad];
+        procesosDispersos = new HashMap<>();
+        nodosDispersos = new HashMap<>();
+        registrados = 0;
+    }
+
+    /**
+     * Mayor id que cabe en los arreglos sin agrandarlos, mas uno.
+     */
+    public int getCapacidad() {
+        return procesos.length;
+    }
+
+    public int getRegistrados() {
+        return registrados;
+    }
+
+    public void registrar(Proceso p) {
+        int id = p.getId();
+        if (id < 0) {
+            throw new IllegalArgumentException("Id de proceso negativo: " + id);
+        }
+        if (id >= procesos.length && !agrandar(id)) {
+            if (procesosDispersos.put(id, p) == null) {
+                registrados++;
+            }
+            return;
+        }
+        if (procesos[id] == null) {
+            registrados++;
+        }
+        procesos[id] = p;
+    }
+
+    public Proceso getProceso(int id) {
+        if (id >= 0 && id < procesos.length) {
+            return procesos[id];
+        }
+        return id >= 0 ? procesosDispersos.get(id) : null;
+    }
+
+    public NodoCola<Proceso> getNodo(int id) {
+        if (id >= 0 && id < nodos.length) {
+            return nodos[id];
+        }
+        return id >= 0 ? nodosDispersos.get(id) : null;
+    }
+
+    /**
+     * Cola en la que esta el proceso, o null si no esta en ninguna
+     * (en ejecucion o en una cola de listos).
+     */
+    public Cola<Proceso> getCola(int id) {
+        NodoCola<Proceso> nodo = getNodo(id);
+        return nodo != null ? nodo.getCola() : null;
+    }
+
+    /**
+     * Agrega el proceso al final de la cola y recuerda su nodo.
+     */
+    public NodoCola<Proceso> agregar(Cola<Proceso> cola, Proceso p) {
+        registrar(p);
+        NodoCola<Proceso> nodo = cola.agregar(p);
+        setNodo(p.getId(), nodo);
+        return nodo;
+    }
+
+    /**
+     * Saca el proceso de la cola donde este, en O(1).
+     * Devuelve la cola de la que salio, o null si no estaba en ninguna.
+     */
+    public Cola<Proceso> quitar(int id) {
+        NodoCola<Proceso> nodo = getNodo(id);
+        if (nodo == null) {
+            return null;
+        }
+        Cola<Proceso> cola = nodo.getCola();
+        if (cola != null) {
+            cola.quitar(nodo);
+        }
+        setNodo(id, null);
+        return cola;
+    }
+
+    /**
+     * Borra el proceso de la tabla (por ejemplo, al descartar un terminado).
+     */
+    public void olvidar(int id) {
+        quitar(id);
+        if (id >= 0 && id < procesos.length) {
+            if (procesos[id] != null) {
+                procesos[id] = null;
+                registrados--;
+            }
+        } else if (id >= 0 && procesosDispersos.remove(id) != null) {
+            registrados--;
+        }
+    }
+
+    private void setNodo(int id, NodoCola<Proceso> nodo) {
+        if (id < nodos.length) {
+            nodos[id] = nodo;
+        } else if (nodo != null) {
+            nodosDispersos.put(id, nodo);
+        } else {
+            nodosDispersos.remove(id);
+        }
+    }
+
+    /**
+     * Agranda los arreglos para que entre el id, si no hay que pasar del
+     * doble del tamano actual. Los ids dispersos que queden dentro se mudan
+     * a los arreglos.
+     */
+    private boolean agrandar(int id) {
+        int capacidad = procesos.length * 2;
+        if (id >= capacidad) {
+            return false;
+        }
+        procesos = Arrays.copyOf(procesos, capacidad);
+        nodos = Arrays.copyOf(nodos, capacidad);
+        if (!procesosDispersos.isEmpty()) {
+            procesosDispersos.entrySet().removeIf(e -> {
+                if (e.getKey() < procesos.length) {
+                    procesos[e.getKey()] = e.getValue();
+                    return true;
+                }
+                return false;
+            });
+            nodosDispersos.entrySet().removeIf(e -> {
+                if (e.getKey() < nodos.length) {
+                    nodos[e.getKey()] = e.getValue();
+                    return true;
+                }
+                return false;
+            });
+        }
+        return true;
+    }
+}
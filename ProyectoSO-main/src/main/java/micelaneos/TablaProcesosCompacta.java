@@ -0,0 +1,299 @@
+package micelaneos;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Tabla de procesos en columnas: cada atributo es un arreglo primitivo
+ * indexado por fila, sin un objeto por proceso. Sirve para guardar cargas de
+ * millones de procesos; el id original de cada proceso se guarda en su
+ * propia columna. Las filas se leen con un cursor (ProcesoCompacto) y se
+ * recorren como Procesos con iterator(), que crea cada Proceso recien al
+ * pedirlo: usada como fuente del MotorSimulacion, solo existen los objetos
+ * de los procesos admitidos.
+ *
+ * Todos los getters y setters reciben una fila, no un PID: las filas van de
+ * 0 a getSize()-1 en orden de agregado y los ids pueden ser cualquiera. Quien
+ * tenga un PID tiene que buscar antes su fila (la devuelve agregar, o se
+ * busca comparando getId(fila)).
+ *
+ * Unos 50 bytes por proceso frente a los ~150 de un Proceso con sus Strings
+ * y su Nodo.
+ *
+ * @author pedro
+ */
+public class TablaProcesosCompacta implements Iterable<Proceso> {
+    static final byte FLAG_IO_BOUND = 1;
+    static final byte FLAG_EN_MEMORIA = 2;
+    static final byte FLAG_PRIMERA_EJECUCION = 4;
+
+    private int[] ids;
+    private int[] instrucciones;
+    private int[] ciclosExcepcion;
+    private int[] ciclosSatisfacer;
+    private int[] pc;
+    private int[] mar;
+    private int[] prioridad;
+    private int[] tiempoEspera;
+    private int[] tiempoRespuesta;
+    private int[] tiempoInicio;
+    private int[] tiempoFinalizacion;
+    private int[] memoria;
+    private byte[] estado;
+    private byte[] flags;
+    private String[] nombres;
+    private int size;
+
+    public TablaProcesosCompacta() {
+        this(1024);
+    }
+
+    public TablaProcesosCompacta(int capacidad) {
+        capacidad = Math.max(capacidad, 1);
+        ids = new int[capacidad];
+        instrucciones = new int[capacidad];
+        ciclosExcepcion = new int[capacidad];
+        ciclosSatisfacer = new int[capacidad];
+        pc = new int[capacidad];
+        mar = new int[capacidad];
+        prioridad = new int[capacidad];
+        tiempoEspera = new int[capacidad];
+        tiempoRespuesta = new int[capacidad];
+        tiempoInicio = new int[capacidad];
+        tiempoFinalizacion = new int[capacidad];
+        memoria = new int[capacidad];
+        estado = new byte[capacidad];
+        flags = new byte[capacidad];
+        size = 0;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getCapacidad() {
+        return pc.length;
+    }
+
+    /**
+     * Bytes ocupados por las columnas (sin contar nombres explicitos).
+     */
+    public long getBytesColumnas() {
+        return (long) getCapacidad() * (12 * Integer.BYTES + 2);
+    }
+
+    /**
+     * Agrega un proceso nuevo con ese id y devuelve su fila. Los valores
+     * iniciales son los mismos que usa Proceso.
+     */
+    public int agregar(int id, String tipo, int instrucciones, int ciclosParaExcepcion,
+                       int ciclosParaSatisfacerExcepcion, int prioridad) {
+        int fila = size;
+        asegurarCapacidad(fila + 1);
+        this.ids[fila] = id;
+        this.instrucciones[fila] = instrucciones;
+        this.ciclosExcepcion[fila] = ciclosParaExcepcion;
+        this.ciclosSatisfacer[fila] = ciclosParaSatisfacerExcepcion;
+        this.prioridad[fila] = prioridad;
+        this.pc[fila] = 1;
+        this.mar[fila] = 0;
+        this.tiempoEspera[fila] = 1;
+        this.tiempoRespuesta[fila] = 0;
+        this.tiempoInicio[fila] = -1;
+        this.tiempoFinalizacion[fila] = -1;
+        this.memoria[fila] = Math.max(10, instrucciones / 2);
+        this.estado[fila] = (byte) ProcessState.LISTO.ordinal();
+        byte f = FLAG_EN_MEMORIA | FLAG_PRIMERA_EJECUCION;
+        if ("I/O Bound".equals(tipo)) f |= FLAG_IO_BOUND;
+        this.flags[fila] = f;
+        size++;
+        return fila;
+    }
+
+    /**
+     * Copia un Proceso a la tabla, con su id, y devuelve su fila. El Proceso
+     * no queda referenciado.
+     */
+    public int agregar(Proceso p) {
+        int fila = agregar(p.getId(), p.getTipo(), p.getInstrucciones(), p.getCiclosParaExcepcion(),
+                p.getCiclosParaSatisfacerExcepcion(), p.getPrioridad());
+        if (p.getNombre() != null) setNombre(fila, p.getNombre());
+        pc[fila] = p.getPc();
+        mar[fila] = p.getMar();
+        tiempoEspera[fila] = p.getTiempoEspera();
+        tiempoRespuesta[fila] = p.getTiempoRespuesta();
+        tiempoInicio[fila] = p.getTiempoInicio();
+        tiempoFinalizacion[fila] = p.getTiempoFinalizacion();
+        memoria[fila] = p.getMemoriaRequerida();
+        setEstadoProceso(fila, p.getEstadoProceso());
+        setInMemory(fila, p.isInMemory());
+        setPrimerEjecucion(fila, p.isPrimerEjecucion());
+        return fila;
+    }
+
+    /**
+     * Copia todos los procesos de la fuente, de a uno, sin guardarlos.
+     */
+    public void agregarTodos(Iterator<Proceso> fuente) {
+        while (fuente.hasNext()) {
+            agregar(fuente.next());
+        }
+    }
+
+    /**
+     * Cursor parado en la fila. Se puede mover a otras filas y reusar.
+     */
+    public ProcesoCompacto cursor(int fila) {
+        verificar(fila);
+        return new ProcesoCompacto(this, fila);
+    }
+
+    /**
+     * Proceso nuevo con los valores de la fila. Es una copia: lo que le haga
+     * la simulacion no vuelve a la tabla.
+     */
+    public Proceso aProceso(int fila) {
+        verificar(fila);
+        Proceso p = new Proceso(ids[fila], getNombre(fila), getTipo(fila), instrucciones[fila],
+                ciclosExcepcion[fila], ciclosSatisfacer[fila], prioridad[fila]);
+        p.setPc(pc[fila]);
+        p.setMar(mar[fila]);
+        p.setTiempoEspera(tiempoEspera[fila]);
+        p.setTiempoRespuesta(tiempoRespuesta[fila]);
+        p.setTiempoInicio(tiempoInicio[fila]);
+        p.setTiempoFinalizacion(tiempoFinalizacion[fila]);
+        p.setMemoriaRequerida(memoria[fila]);
+        p.setEstadoProceso(getEstadoProceso(fila));
+        p.setInMemory(isInMemory(fila));
+        p.setPrimerEjecucion(isPrimerEjecucion(fila));
+        return p;
+    }
+
+    /**
+     * Las filas en orden, como Procesos creados de a uno al pedirlos.
+     */
+    @Override
+    public Iterator<Proceso> iterator() {
+        return new Iterator<Proceso>() {
+            private int fila = 0;
+
+            @Override
+            public boolean hasNext() {
+                return fila < size;
+            }
+
+            @Override
+            public Proceso next() {
+                if (fila >= size) {
+                    throw new NoSuchElementException();
+                }
+                return aProceso(fila++);
+            }
+        };
+    }
+
+    public int getId(int fila) {
+        return ids[fila];
+    }
+
+    /**
+     * Sin nombre guardado, el mismo que pone GeneradorCargas.
+     */
+    public String getNombre(int fila) {
+        String nombre = nombres != null ? nombres[fila] : null;
+        return nombre != null ? nombre : "Proceso " + ids[fila];
+    }
+
+    public void setNombre(int fila, String nombre) {
+        if (nombres == null) {
+            nombres = new String[getCapacidad()];
+        }
+        nombres[fila] = nombre;
+    }
+
+    public int getInstrucciones(int fila) { return instrucciones[fila]; }
+    public void setInstrucciones(int fila, int v) { instrucciones[fila] = v; }
+    public int getCiclosParaExcepcion(int fila) { return ciclosExcepcion[fila]; }
+    public void setCiclosParaExcepcion(int fila, int v) { ciclosExcepcion[fila] = v; }
+    public int getCiclosParaSatisfacerExcepcion(int fila) { return ciclosSatisfacer[fila]; }
+    public void setCiclosParaSatisfacerExcepcion(int fila, int v) { ciclosSatisfacer[fila] = v; }
+    public int getPc(int fila) { return pc[fila]; }
+    public void setPc(int fila, int v) { pc[fila] = v; }
+    public int getMar(int fila) { return mar[fila]; }
+    public void setMar(int fila, int v) { mar[fila] = v; }
+    public int getPrioridad(int fila) { return prioridad[fila]; }
+    public void setPrioridad(int fila, int v) { prioridad[fila] = v; }
+    public int getTiempoEspera(int fila) { return tiempoEspera[fila]; }
+    public void setTiempoEspera(int fila, int v) { tiempoEspera[fila] = v; }
+    public int getTiempoRespuesta(int fila) { return tiempoRespuesta[fila]; }
+    public void setTiempoRespuesta(int fila, int v) { tiempoRespuesta[fila] = v; }
+    public int getTiempoInicio(int fila) { return tiempoInicio[fila]; }
+    public void setTiempoInicio(int fila, int v) { tiempoInicio[fila] = v; }
+    public int getTiempoFinalizacion(int fila) { return tiempoFinalizacion[fila]; }
+    public void setTiempoFinalizacion(int fila, int v) { tiempoFinalizacion[fila] = v; }
+    public int getMemoriaRequerida(int fila) { return memoria[fila]; }
+    public void setMemoriaRequerida(int fila, int v) { memoria[fila] = v; }
+
+    public String getTipo(int fila) {
+        return (flags[fila] & FLAG_IO_BOUND) != 0 ? "I/O Bound" : "CPU Bound";
+    }
+
+    public void setTipo(int fila, String tipo) {
+        setFlag(fila, FLAG_IO_BOUND, "I/O Bound".equals(tipo));
+    }
+
+    public boolean isInMemory(int fila) {
+        return (flags[fila] & FLAG_EN_MEMORIA) != 0;
+    }
+
+    public void setInMemory(int fila, boolean v) {
+        setFlag(fila, FLAG_EN_MEMORIA, v);
+    }
+
+    public boolean isPrimerEjecucion(int fila) {
+        return (flags[fila] & FLAG_PRIMERA_EJECUCION) != 0;
+    }
+
+    public void setPrimerEjecucion(int fila, boolean v) {
+        setFlag(fila, FLAG_PRIMERA_EJECUCION, v);
+    }
+
+    public ProcessState getEstadoProceso(int fila) {
+        return ProcessState.desdeCodigo(estado[fila]);
+    }
+
+    public void setEstadoProceso(int fila, ProcessState nuevo) {
+        estado[fila] = (byte) nuevo.ordinal();
+    }
+
+    private void setFlag(int fila, byte flag, boolean v) {
+        flags[fila] = (byte) (v ? flags[fila] | flag : flags[fila] & ~flag);
+    }
+
+    void verificar(int fila) {
+        if (fila < 0 || fila >= size) {
+            throw new IllegalArgumentException("Fila fuera de la tabla: " + fila);
+        }
+    }
+
+    private void asegurarCapacidad(int minima) {
+        if (minima <= pc.length) return;
+        int capacidad = Math.max(minima, pc.length + (pc.length >> 1));
+        ids = Arrays.copyOf(ids, capacidad);
+        instrucciones = Arrays.copyOf(instrucciones, capacidad);
+        ciclosExcepcion = Arrays.copyOf(ciclosExcepcion, capacidad);
+        ciclosSatisfacer = Arrays.copyOf(ciclosSatisfacer, capacidad);
+        pc = Arrays.copyOf(pc, capacidad);
+        mar = Arrays.copyOf(mar, capacidad);
+        prioridad = Arrays.copyOf(prioridad, capacidad);
+        tiempoEspera = Arrays.copyOf(tiempoEspera, capacidad);
+        tiempoRespuesta = Arrays.copyOf(tiempoRespuesta, capacidad);
+        tiempoInicio = Arrays.copyOf(tiempoInicio, capacidad);
+        tiempoFinalizacion = Arrays.copyOf(tiempoFinalizacion, capacidad);
+        memoria = Arrays.copyOf(memoria, capacidad);
+        estado = Arrays.copyOf(estado, capacidad);
+        flags = Arrays.copyOf(flags, capacidad);
+        if (nombres != null) nombres = Arrays.copyOf(nombres, capacidad);
+    }
+}
@@ -0,0 +1,107 @@
+package micelaneos;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Transiciones validas entre estados de un proceso. aplicar() valida, cuenta
+ * y cambia el estado en un solo paso; una transicion invalida lanza
+ * IllegalStateException sin tocar el proceso.
+ * Los contadores son atomicos porque varias CPUs cambian estados a la vez.
+ *
+ * @author pedro
+ */
+public class TablaTransiciones {
+    private static final int N = ProcessState.values().length;
+    private static final boolean[][] PERMITIDAS = new boolean[N][N];
+
+    static {
+        permitir(ProcessState.NUEVO, ProcessState.LISTO, ProcessState.SUSPENDIDO_LISTO);
+        permitir(ProcessState.LISTO, ProcessState.EJECUCION, ProcessState.SUSPENDIDO_LISTO);
+        permitir(ProcessState.EJECUCION, ProcessState.LISTO, ProcessState.BLOQUEADO, ProcessState.TERMINADO,
+                ProcessState.SUSPENDIDO_LISTO, ProcessState.SUSPENDIDO_BLOQUEADO);
+        permitir(ProcessState.BLOQUEADO, ProcessState.LISTO, ProcessState.SUSPENDIDO_BLOQUEADO);
+        permitir(ProcessState.SUSPENDIDO_LISTO, ProcessState.LISTO);
+        permitir(ProcessState.SUSPENDIDO_BLOQUEADO, ProcessState.BLOQUEADO, ProcessState.SUSPENDIDO_LISTO);
+    }
+
+    private final AtomicLongArray conteos = new AtomicLongArray(N * N);
+    private final AtomicLong rechazadas = new AtomicLong();
+
+    private static void permitir(ProcessState desde, ProcessState... hacia) {
+        for (ProcessState h : hacia) {
+            PERMITIDAS[desde.ordinal()][h.ordinal()] = true;
+        }
+    }
+
+    public static boolean esPermitida(ProcessState desde, ProcessState hacia) {
+        return PERMITIDAS[desde.ordinal()][hacia.ordinal()];
+    }
+
+    public void aplicar(Proceso p, ProcessState hacia) {
+        ProcessState desde = p.getEstadoProceso();
+        if (!PERMITIDAS[desde.ordinal()][hacia.ordinal()]) {
+            rechazadas.incrementAndGet();
+            throw new IllegalStateException("Transicion invalida del proceso " + p.getId()
+                    + ": " + desde + " -> " + hacia);
+        }
+        conteos.incrementAndGet(desde.ordinal() * N + hacia.ordinal());
+        p.setEstadoProceso(hacia);
+    }
+
+    public long getConteo(ProcessState desde, ProcessState hacia) {
+        return conteos.get(desde.ordinal() * N + hacia.ordinal());
+    }
+
+    public long getTotal() {
+        long total = 0;
+        for (int i = 0; i < conteos.length(); i++) {
+            total += conteos.get(i);
+        }
+        return total;
+    }
+
+    public long getRechazadas() {
+        return rechazadas.get();
+    }
+
+    /**
+     * Copia de todos los contadores, indexados por desde * N + hacia.
+     */
+    public long[] getConteos() {
+        long[] copia = new long[conteos.length()];
+        for (int i = 0; i < copia.length; i++) {
+            copia[i] = conteos.get(i);
+        }
+        return copia;
+    }
+
+    /**
+     * Pone los contadores guardados con getConteos (al reanudar un checkpoint).
+     */
+    public void restaurar(long[] valores, long rechazadas) {
+        if (valores.length != conteos.length()) {
+            throw new IllegalArgumentException("Se esperaban " + conteos.length() + " contadores y hay " + valores.length);
+        }
+        for (int i = 0; i < valores.length; i++) {
+            conteos.set(i, valores[i]);
+        }
+        this.rechazadas.set(rechazadas);
+    }
+
+    public String getResumen() {
+        StringBuilder sb = new StringBuilder("Transiciones:");
+        for (ProcessState desde : ProcessState.values()) {
+            for (ProcessState hacia : ProcessState.values()) {
+                long c = getConteo(desde, hacia);
+                if (c > 0) {
+                    sb.append("\n  ").append(desde).append(" -> ").append(hacia).append(": ").append(c);
+                }
+            }
+        }
+        if (getRechazadas() > 0) {
+            sb.append("\n  Rechazadas: ").append(getRechazadas());
+        }
+        return sb.toString();
+    }
+}
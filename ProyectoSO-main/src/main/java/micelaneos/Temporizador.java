@@ -0,0 +1,40 @@
+package micelaneos;
+
+/**
+ * Entrada de una RuedaTemporizadores: vence en un ciclo y lleva dos datos
+ * (por ejemplo la CPU de origen y el PID).
+ *
+ * @author pedro
+ */
+public class Temporizador {
+    long vencimiento;
+    int datoA;
+    int datoB;
+    final NodoCola<Temporizador> nodo;
+
+    Temporizador(long vencimiento, int datoA, int datoB) {
+        this.vencimiento = vencimiento;
+        this.datoA = datoA;
+        this.datoB = datoB;
+        this.nodo = new NodoCola<>(this);
+    }
+
+    public long getVencimiento() {
+        return vencimiento;
+    }
+
+    public int getDatoA() {
+        return datoA;
+    }
+
+    public int getDatoB() {
+        return datoB;
+    }
+
+    /**
+     * true mientras este en la rueda (programado o vencido sin sacar).
+     */
+    public boolean isPendiente() {
+        return nodo.getCola() != null;
+    }
+}
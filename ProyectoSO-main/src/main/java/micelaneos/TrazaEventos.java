@@ -0,0 +1,156 @@
+package micelaneos;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Traza binaria de eventos de planificacion en un archivo mapeado en memoria
+ * que funciona como anillo: guarda los ultimos "capacidad" eventos (con una
+ * capacidad mayor que la corrida se guarda la traza completa).
+ *
+ * Registrar no crea objetos ni hace llamadas al sistema: reserva una
+ * posicion con un contador atomico y escribe en el mapeo, asi que se puede
+ * llamar desde varios hilos. El sistema operativo baja las paginas al disco.
+ *
+ * Formato (little-endian):
+ *   cabecera de 32 bytes: MAGIA, VERSION, TAM_REGISTRO, capacidad (int),
+ *   eventos escritos en total (long) y 8 bytes reservados
+ *   registro de 24 bytes: ciclo (long), pid (int), cpu (short, 0 = ninguna),
+ *   codigo (byte), 1 byte reservado, argA y argB (int)
+ *
+ * @author pedro
+ */
+public class TrazaEventos implements Closeable {
+    public static final int MAGIA = 0x53_4F_54_52; // "SOTR"
+    public static final int VERSION = 1;
+    public static final int TAM_CABECERA = 32;
+    public static final int TAM_REGISTRO = 24;
+    public static final int CAPACIDAD_MAXIMA = (Integer.MAX_VALUE - TAM_CABECERA) / TAM_REGISTRO;
+    static final int POS_ESCRITOS = 16;
+
+    public static final byte ADMISION = 0;
+    public static final byte DESPACHO = 1;
+    public static final byte EXPROPIACION = 2;
+    public static final byte BLOQUEO = 3;
+    public static final byte DESBLOQUEO = 4;
+    public static final byte SUSPENSION = 5;
+    public static final byte REACTIVACION = 6;
+    public static final byte TERMINACION = 7;
+    private static final String[] NOMBRES = {"Admision", "Despacho", "Expropiacion", "Bloqueo",
+        "Desbloqueo", "Suspension", "Reactivacion", "Terminacion"};
+
+    private static final int N = ProcessState.values().length;
+    private static final byte[] CODIGOS = new byte[N * N];
+
+    static {
+        for (ProcessState desde : ProcessState.values()) {
+            for (ProcessState hacia : ProcessState.values()) {
+                CODIGOS[desde.ordinal() * N + hacia.ordinal()] = calcularCodigo(desde, hacia);
+            }
+        }
+    }
+
+    private final FileChannel canal;
+    private final MappedByteBuffer mapa;
+    private final int capacidad;
+    private final AtomicLong escritos;
+
+    /**
+     * Crea (o pisa) el archivo con lugar para capacidad eventos.
+     */
+    public TrazaEventos(String archivo, int capacidad) throws IOException {
+        if (capacidad < 1 || capacidad > CAPACIDAD_MAXIMA) {
+            throw new IllegalArgumentException("Capacidad de traza invalida: " + capacidad);
+        }
+        this.capacidad = capacidad;
+        this.escritos = new AtomicLong();
+        this.canal = FileChannel.open(Paths.get(archivo), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            this.mapa = canal.map(FileChannel.MapMode.READ_WRITE, 0, TAM_CABECERA + (long) capacidad * TAM_REGISTRO);
+        } catch (IOException ex) {
+            canal.close();
+            throw ex;
+        }
+        mapa.order(ByteOrder.LITTLE_ENDIAN);
+        mapa.putInt(0, MAGIA);
+        mapa.putInt(4, VERSION);
+        mapa.putInt(8, TAM_REGISTRO);
+        mapa.putInt(12, capacidad);
+        mapa.putLong(POS_ESCRITOS, 0);
+    }
+
+    public static String nombre(byte codigo) {
+        return codigo >= 0 && codigo < NOMBRES.length ? NOMBRES[codigo] : "Codigo " + codigo;
+    }
+
+    /**
+     * Evento que corresponde a un cambio de estado.
+     */
+    public static byte codigo(ProcessState desde, ProcessState hacia) {
+        return CODIGOS[desde.ordinal() * N + hacia.ordinal()];
+    }
+
+    private static byte calcularCodigo(ProcessState desde, ProcessState hacia) {
+        if (desde == ProcessState.NUEVO) return ADMISION;
+        if (hacia == ProcessState.EJECUCION) return DESPACHO;
+        if (hacia == ProcessState.TERMINADO) return TERMINACION;
+        if (desde == ProcessState.EJECUCION && hacia == ProcessState.LISTO) return EXPROPIACION;
+        if (desde == ProcessState.EJECUCION && hacia == ProcessState.BLOQUEADO) return BLOQUEO;
+        if (suspendido(desde) && suspendido(hacia)) return DESBLOQUEO;
+        if (suspendido(hacia)) return SUSPENSION;
+        if (suspendido(desde)) return REACTIVACION;
+        return DESBLOQUEO;
+    }
+
+    private static boolean suspendido(ProcessState estado) {
+        return estado == ProcessState.SUSPENDIDO_LISTO || estado == ProcessState.SUSPENDIDO_BLOQUEADO;
+    }
+
+    public int getCapacidad() {
+        return capacidad;
+    }
+
+    public long getEscritos() {
+        return escritos.get();
+    }
+
+    /**
+     * Eventos pisados por la vuelta del anillo.
+     */
+    public long getPerdidos() {
+        return Math.max(0, escritos.get() - capacidad);
+    }
+
+    public void registrar(long ciclo, int cpu, int pid, byte codigo, int argA, int argB) {
+        long n = escritos.getAndIncrement();
+        int pos = TAM_CABECERA + (int) (n % capacidad) * TAM_REGISTRO;
+        mapa.putLong(pos, ciclo);
+        mapa.putInt(pos + 8, pid);
+        mapa.putShort(pos + 12, (short) cpu);
+        mapa.put(pos + 14, codigo);
+        mapa.put(pos + 15, (byte) 0);
+        mapa.putInt(pos + 16, argA);
+        mapa.putInt(pos + 20, argB);
+    }
+
+    /**
+     * Actualiza la cabecera y pide al sistema que baje el mapeo a disco.
+     */
+    public void sincronizar() {
+        mapa.putLong(POS_ESCRITOS, escritos.get());
+        mapa.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        sincronizar();
+        canal.close();
+    }
+}
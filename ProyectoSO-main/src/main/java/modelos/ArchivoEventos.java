@@ -0,0 +1,294 @@
+package modelos;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.GZIPOutputStream;
+import micelaneos.Proceso;
+
+/**
+ * Suscriptor que guarda en disco la historia completa de eventos del
+ * Planificador, en CSV. El hilo de la simulacion solo copia los campos del
+ * evento a un buffer circular preasignado; un hilo escritor en segundo plano
+ * los saca en lotes, arma las lineas y las escribe con un FileChannel. Si el
+ * buffer se llena el evento se descarta y se cuenta en getPerdidos(): la
+ * simulacion nunca espera al disco.
+ *
+ * Cada evento recibido termina escrito o contado en getPerdidos(), tambien
+ * si llega mientras se cierra: antes de terminar, el escritor cambia
+ * reservados por CERRADO con un CAS, y un productor que ya habia reservado
+ * una secuencia hace fallar ese CAS y el escritor lo espera.
+ *
+ * El archivo activo es la ruta indicada. Cuando pasa del tamano de segmento
+ * se renombra a ruta.N y otro hilo lo comprime a ruta.N.gz; la escritura
+ * sigue en un archivo nuevo. Los eventos anteriores a la suscripcion (la
+ * carga inicial del constructor del Planificador) no quedan en el archivo.
+ */
+public class ArchivoEventos implements SuscriptorEventos, Closeable {
+    public static final int CAPACIDAD_POR_DEFECTO = 1 << 16;
+    public static final long SEGMENTO_POR_DEFECTO = 64L << 20;
+    public static final String ENCABEZADO = "ciclo,evento,pid,nombre,memoria_antes,memoria_despues,detalle\n";
+    private static final int LOTE = 1 << 16;
+    private static final long ESPERA_NANOS = 1000000;
+    // reservados al terminar el escritor: ningun productor consigue lugar
+    private static final long CERRADO = Long.MAX_VALUE;
+
+    private final Path ruta;
+    private final long tamanoSegmento;
+    private final int mascara;
+    private final TipoEvento[] tipos;
+    private final long[] ciclos;
+    private final int[] pids;
+    private final String[] nombres;
+    private final int[] antes;
+    private final int[] despues;
+    private final String[] detalles;
+    private final AtomicLongArray publicado;
+    private final AtomicLong reservados;
+    private final AtomicLong perdidos;
+    private volatile long consumidos;
+    private volatile boolean cerrado;
+    private volatile IOException error;
+
+    private final Thread escritor;
+    private final ExecutorService compresor;
+    private FileChannel canal;
+    private long bytesSegmento;
+    private int segmentos;
+
+    public ArchivoEventos(String ruta) throws IOException {
+        this(ruta, CAPACIDAD_POR_DEFECTO, SEGMENTO_POR_DEFECTO);
+    }
+
+    /**
+     * @param capacidad eventos que caben en memoria sin escribir (se redondea
+     *                  a potencia de dos)
+     * @param tamanoSegmento bytes a partir de los cuales se rota el archivo
+     */
+    public ArchivoEventos(String ruta, int capacidad, long tamanoSegmento) throws IOException {
+        this.ruta = Paths.get(ruta);
+        this.tamanoSegmento = Math.max(tamanoSegmento, 1);
+        int n = Integer.highestOneBit(Math.max(capacidad - 1, 1)) << 1;
+        this.mascara = n - 1;
+        this.tipos = new TipoEvento[n];
+        this.ciclos = new long[n];
+        this.pids = new int[n];
+        this.nombres = new String[n];
+        this.antes = new int[n];
+        this.despues = new int[n];
+        this.detalles = new String[n];
+        this.publicado = new AtomicLongArray(n);
+        for (int i = 0; i < n; i++) {
+            publicado.set(i, -1);
+        }
+        this.reservados = new AtomicLong(0);
+        this.perdidos = new AtomicLong(0);
+        this.consumidos = 0;
+        this.segmentos = 0;
+        abrirSegmento();
+
+        this.compresor = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "compresor-eventos");
+            t.setDaemon(true);
+            return t;
+        });
+        this.escritor = new Thread(this::escribir, "escritor-eventos");
+        this.escritor.setDaemon(true);
+        this.escritor.start();
+    }
+
+    /**
+     * Copia el evento al buffer. No bloquea: sin lugar, lo descarta.
+     */
+    @Override
+    public void evento(TipoEvento tipo, long ciclo, int pid, Proceso proceso, int memoriaAntes, int memoriaDespues,
+            String detalle) {
+        if (cerrado) {
+            perdidos.incrementAndGet();
+            return;
+        }
+        long secuencia;
+        do {
+            secuencia = reservados.get();
+            if (secuencia - consumidos > mascara) {
+                perdidos.incrementAndGet();
+                return;
+            }
+        } while (!reservados.compareAndSet(secuencia, secuencia + 1));
+        int i = (int) (secuencia & mascara);
+        tipos[i] = tipo;
+        ciclos[i] = ciclo;
+        pids[i] = pid;
+        nombres[i] = proceso != null ? proceso.getNombre() : null;
+        antes[i] = memoriaAntes;
+        despues[i] = memoriaDespues;
+        detalles[i] = detalle;
+        publicado.set(i, secuencia);
+    }
+
+    /**
+     * Eventos ya escritos (o por escribir en el lote actual).
+     */
+    public long getEscritos() {
+        return consumidos;
+    }
+
+    public long getPerdidos() {
+        return perdidos.get();
+    }
+
+    /**
+     * Segmentos usados, contando el activo.
+     */
+    public int getSegmentos() {
+        return segmentos;
+    }
+
+    /**
+     * Deja de aceptar eventos, espera a que se escriban los pendientes y a
+     * que terminen las compresiones.
+     */
+    @Override
+    public void close() throws IOException {
+        if (cerrado) {
+            return;
+        }
+        cerrado = true;
+        LockSupport.unpark(escritor);
+        try {
+            escritor.join();
+            compresor.shutdown();
+            compresor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    private void escribir() {
+        StringBuilder lote = new StringBuilder(LOTE + 256);
+        try {
+            while (true) {
+                long s = consumidos;
+                int i = (int) (s & mascara);
+                if (publicado.get(i) != s) {
+                    if (lote.length() > 0) {
+                        volcar(lote);
+                    } else if (cerrado && reservados.compareAndSet(s, CERRADO)) {
+                        break;
+                    } else {
+                        LockSupport.parkNanos(ESPERA_NANOS);
+                    }
+                    continue;
+                }
+                linea(lote, i);
+                nombres[i] = null;
+                detalles[i] = null;
+                consumidos = s + 1;
+                if (lote.length() >= LOTE) {
+                    volcar(lote);
+                }
+            }
+            canal.force(false);
+            canal.close();
+        } catch (IOException ex) {
+            error = ex;
+            cerrado = true;
+            perdidos.addAndGet(reservados.getAndSet(CERRADO) - consumidos);
+            Logger.getLogger(ArchivoEventos.class.getName()).log(Level.SEVERE, null, ex);
+        }
+    }
+
+    private void linea(StringBuilder sb, int i) {
+        sb.append(ciclos[i]).append(',').append(tipos[i]).append(',').append(pids[i]).append(',');
+        csv(sb, nombres[i]);
+        sb.append(',').append(antes[i]).append(',').append(despues[i]).append(',');
+        csv(sb, detalles[i]);
+        sb.append('\n');
+    }
+
+    private static void csv(StringBuilder sb, String valor) {
+        if (valor == null) {
+            return;
+        }
+        if (valor.indexOf(',') < 0 && valor.indexOf('"') < 0 && valor.indexOf('\n') < 0) {
+            sb.append(valor);
+            return;
+        }
+        sb.append('"');
+        for (int k = 0; k < valor.length(); k++) {
+            char c = valor.charAt(k);
+            if (c == '"') {
+                sb.append('"');
+            }
+            sb.append(c);
+        }
+        sb.append('"');
+    }
+
+    private void volcar(StringBuilder lote) throws IOException {
+        ByteBuffer bytes = StandardCharsets.UTF_8.encode(CharBuffer.wrap(lote));
+        lote.setLength(0);
+        bytesSegmento += bytes.remaining();
+        while (bytes.hasRemaining()) {
+            canal.write(bytes);
+        }
+        if (bytesSegmento >= tamanoSegmento) {
+            rotar();
+        }
+    }
+
+    private void abrirSegmento() throws IOException {
+        canal = FileChannel.open(ruta, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        ByteBuffer encabezado = StandardCharsets.UTF_8.encode(ENCABEZADO);
+        bytesSegmento = encabezado.remaining();
+        while (encabezado.hasRemaining()) {
+            canal.write(encabezado);
+        }
+        segmentos++;
+    }
+
+    private void rotar() throws IOException {
+        canal.close();
+        Path rotado = Paths.get(ruta + "." + segmentos);
+        Files.move(ruta, rotado, StandardCopyOption.REPLACE_EXISTING);
+        compresor.execute(() -> comprimir(rotado));
+        abrirSegmento();
+    }
+
+    private static void comprimir(Path archivo) {
+        Path gz = Paths.get(archivo + ".gz");
+        Path temporal = Paths.get(archivo + ".gz.tmp");
+        try {
+            try (InputStream in = Files.newInputStream(archivo);
+                 OutputStream out = new GZIPOutputStream(Files.newOutputStream(temporal), 1 << 16)) {
+                in.transferTo(out);
+            }
+            Files.move(temporal, gz, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            Files.delete(archivo);
+        } catch (IOException ex) {
+            Logger.getLogger(ArchivoEventos.class.getName()).log(Level.SEVERE, null, ex);
+        }
+    }
+}
@@ -0,0 +1,318 @@
+package modelos;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.sun.management.GarbageCollectionNotificationInfo;
+import controlador.ControladorSimulacion;
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import micelaneos.*;
+
+/**
+ * Banco de rendimiento de punta a punta: corre simulaciones completas sin
+ * vista (carga generada, planificacion, memoria y metricas) con el
+ * MotorSimulacion para cada combinacion de cantidad de procesos y de CPUs, y
+ * escribe los resultados en JSON. Por corrida mide ciclos simulados por
+ * segundo de reloj, el pico de heap y el tiempo de GC.
+ *
+ * El pico de heap es el mayor heap ocupado justo antes de alguna coleccion
+ * (lo avisa cada GC) o al terminar la corrida. Sumar el pico de cada pool
+ * por separado lo exageraria, porque cada pool llega a su pico en un
+ * momento distinto.
+ *
+ * Los valores por defecto son 1000, 100000 y 1000000 procesos en 1, 2, 4,
+ * 8, 16 y 32 CPUs, admitidos de a 64 (VENTANA_POR_DEFECTO). El costo por
+ * ciclo crece con los procesos activos y con las CPUs, y la ventana acota
+ * los activos: con una ventana grande las corridas grandes no terminan en
+ * un tiempo razonable. Aun asi la grilla completa tarda unos 10 min (casi
+ * todo en la fila de 1000000, y la mitad de esa fila en 16 y 32 CPUs), con
+ * un pico de heap de ~40 MB; procesos=1000,100000 tarda alrededor de 1 min.
+ *
+ * Las corridas son secuenciales y en el mismo hilo para que no se estorben
+ * entre si. La carga sale de GeneradorCargas con una semilla fija y se admite
+ * de a ventana procesos sin guardar los terminados, asi que el heap no crece
+ * con la cantidad de procesos.
+ */
+public class BancoRendimiento {
+    public static final int[] PROCESOS_POR_DEFECTO = {1000, 100000, 1000000};
+    public static final int[] CPUS_POR_DEFECTO = {1, 2, 4, 8, 16, 32};
+    public static final int VENTANA_POR_DEFECTO = 64;
+    public static final int VERSION_FORMATO = 1;
+
+    private final int[] procesos;
+    private final int[] cpus;
+    private int politica;
+    private long semilla;
+    private int memoria;
+    private int ventana;
+    private long maxCiclos;
+    private boolean calentar;
+
+    public BancoRendimiento(int[] procesos, int[] cpus) {
+        this.procesos = procesos;
+        this.cpus = cpus;
+        this.politica = 0;
+        this.semilla = 42;
+        this.memoria = Planificador.MEMORIA_POR_DEFECTO;
+        this.ventana = VENTANA_POR_DEFECTO;
+        this.maxCiclos = Long.MAX_VALUE / 2;
+        this.calentar = true;
+    }
+
+    public void setPolitica(int politica) {
+        this.politica = politica;
+    }
+
+    public void setSemilla(long semilla) {
+        this.semilla = semilla;
+    }
+
+    public void setMemoria(int memoria) {
+        this.memoria = memoria;
+    }
+
+    public void setVentana(int ventana) {
+        this.ventana = ventana;
+    }
+
+    /**
+     * Corta cada corrida a los maxCiclos; la corrida queda con
+     * "terminada": false.
+     */
+    public void setMaxCiclos(long maxCiclos) {
+        this.maxCiclos = maxCiclos;
+    }
+
+    /**
+     * Con calentar (por defecto) se hace una corrida chica descartada antes
+     * de medir, para que el JIT ya haya compilado el motor.
+     */
+    public void setCalentar(boolean calentar) {
+        this.calentar = calentar;
+    }
+
+    /**
+     * Corre todas las combinaciones (procesos cambia mas lento) y escribe el
+     * JSON en el archivo.
+     *
+     * @return cantidad de corridas
+     */
+    public int ejecutar(String archivo) throws IOException {
+        EventLogger.setImprimirPorDefecto(false);
+        if (calentar) {
+            correr(Math.min(procesos[0], 1000), cpus[0]);
+        }
+        JsonFactory factory = new JsonFactory();
+        try (JsonGenerator json = factory.createGenerator(new File(archivo), JsonEncoding.UTF8)) {
+            json.useDefaultPrettyPrinter();
+            json.writeStartObject();
+            json.writeNumberField("version", VERSION_FORMATO);
+            json.writeStringField("fecha", Instant.now().toString());
+            json.writeObjectFieldStart("entorno");
+            json.writeStringField("java", System.getProperty("java.version"));
+            json.writeStringField("vm", System.getProperty("java.vm.name"));
+            json.writeStringField("so", System.getProperty("os.name") + " " + System.getProperty("os.arch"));
+            json.writeNumberField("nucleos", Runtime.getRuntime().availableProcessors());
+            json.writeNumberField("heap_max_bytes", Runtime.getRuntime().maxMemory());
+            json.writeEndObject();
+            json.writeObjectFieldStart("parametros");
+            json.writeNumberField("politica", politica);
+            json.writeNumberField("semilla", semilla);
+            json.writeNumberField("memoria", memoria);
+            json.writeNumberField("ventana", ventana);
+            json.writeNumberField("max_ciclos", maxCiclos);
+            json.writeEndObject();
+            json.writeArrayFieldStart("corridas");
+            int corridas = 0;
+            for (int n : procesos) {
+                for (int c : cpus) {
+                    Corrida r = correr(n, c);
+                    r.escribir(json);
+                    json.flush();
+                    System.err.println(r);
+                    corridas++;
+                }
+            }
+            json.writeEndArray();
+            json.writeEndObject();
+            return corridas;
+        }
+    }
+
+    private Corrida correr(int cantidad, int numCPUs) {
+        System.gc();
+        long gcColecciones = 0;
+        long gcMs = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            gcColecciones -= Math.max(gc.getCollectionCount(), 0);
+            gcMs -= Math.max(gc.getCollectionTime(), 0);
+        }
+        MedidorHeap medidor = new MedidorHeap();
+
+        long inicio = System.nanoTime();
+        ControladorSimulacion controlador = new ControladorSimulacion(politica);
+        PerformanceMetrics metrics = new PerformanceMetrics(numCPUs);
+        Planificador planificador = new Planificador(new List(), new List(), new List(), new List(), new List(),
+                new List(), controlador, numCPUs, memoria);
+        planificador.setRetenerTerminados(false);
+        Semaphore mutex = new Semaphore(1);
+        CPU[] arreglo = new CPU[numCPUs];
+        for (int i = 0; i < numCPUs; i++) {
+            arreglo[i] = new CPU(controlador, planificador, i + 1, mutex, metrics);
+        }
+        MotorSimulacion motor = new MotorSimulacion(planificador, new Reloj(mutex, planificador, controlador), arreglo);
+        motor.setFuente(new GeneradorCargas(semilla, cantidad).iterator(), ventana);
+        long ciclos = motor.ejecutar(maxCiclos);
+        long nanos = System.nanoTime() - inicio;
+
+        long heapPico = medidor.terminar();
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            gcColecciones += Math.max(gc.getCollectionCount(), 0);
+            gcMs += Math.max(gc.getCollectionTime(), 0);
+        }
+
+        Corrida r = new Corrida();
+        r.procesos = cantidad;
+        r.cpus = numCPUs;
+        r.ciclos = ciclos;
+        r.nanos = nanos;
+        r.terminada = motor.terminado();
+        r.completados = metrics.getProcessesCompleted();
+        r.utilizacion = metrics.getCpuUtilization();
+        r.esperaPromedio = metrics.getAverageWaitTime();
+        r.robos = planificador.getReadyList().getRobos();
+        r.heapPico = heapPico;
+        r.gcMs = gcMs;
+        r.gcColecciones = gcColecciones;
+        return r;
+    }
+
+    /**
+     * Pico de heap ocupado durante una corrida: el mayor total de los pools
+     * de heap antes de cada GC (todos medidos en el mismo instante) y al
+     * terminar.
+     */
+    private static class MedidorHeap implements NotificationListener {
+        private final Set<String> poolsHeap = new HashSet<>();
+        private final AtomicLong pico = new AtomicLong();
+
+        MedidorHeap() {
+            for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+                if (pool.getType() == MemoryType.HEAP) {
+                    poolsHeap.add(pool.getName());
+                }
+            }
+            for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+                if (gc instanceof NotificationEmitter) {
+                    ((NotificationEmitter) gc).addNotificationListener(this, null, null);
+                }
+            }
+            anotar(ocupado());
+        }
+
+        @Override
+        public void handleNotification(Notification aviso, Object handback) {
+            if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(aviso.getType())) {
+                return;
+            }
+            GarbageCollectionNotificationInfo info = GarbageCollectionNotificationInfo.from((CompositeData) aviso.getUserData());
+            long total = 0;
+            for (Map.Entry<String, MemoryUsage> pool : info.getGcInfo().getMemoryUsageBeforeGc().entrySet()) {
+                if (poolsHeap.contains(pool.getKey())) {
+                    total += pool.getValue().getUsed();
+                }
+            }
+            anotar(total);
+        }
+
+        /**
+         * Deja de escuchar y devuelve el pico, contando el heap de ahora.
+         */
+        long terminar() {
+            anotar(ocupado());
+            for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+                if (gc instanceof NotificationEmitter) {
+                    try {
+                        ((NotificationEmitter) gc).removeNotificationListener(this);
+                    } catch (ListenerNotFoundException ex) {
+                        // no estaba registrado en este colector
+                    }
+                }
+            }
+            return pico.get();
+        }
+
+        private void anotar(long usado) {
+            pico.accumulateAndGet(usado, Math::max);
+        }
+
+        private static long ocupado() {
+            return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+        }
+    }
+
+    private static class Corrida {
+        int procesos;
+        int cpus;
+        long ciclos;
+        long nanos;
+        boolean terminada;
+        int completados;
+        double utilizacion;
+        double esperaPromedio;
+        long robos;
+        long heapPico;
+        long gcMs;
+        long gcColecciones;
+
+        double segundos() {
+            return nanos / 1e9;
+        }
+
+        double ciclosPorSegundo() {
+            return nanos > 0 ? ciclos / segundos() : 0;
+        }
+
+        void escribir(JsonGenerator json) throws IOException {
+            json.writeStartObject();
+            json.writeNumberField("procesos", procesos);
+            json.writeNumberField("cpus", cpus);
+            json.writeNumberField("ciclos", ciclos);
+            json.writeBooleanField("terminada", terminada);
+            json.writeNumberField("completados", completados);
+            json.writeNumberField("segundos", segundos());
+            json.writeNumberField("ciclos_por_segundo", ciclosPorSegundo());
+            json.writeNumberField("procesos_por_segundo", nanos > 0 ? completados / segundos() : 0);
+            json.writeNumberField("heap_pico_bytes", heapPico);
+            json.writeNumberField("gc_ms", gcMs);
+            json.writeNumberField("gc_colecciones", gcColecciones);
+            json.writeNumberField("utilizacion", utilizacion);
+            json.writeNumberField("espera_promedio", esperaPromedio);
+            json.writeNumberField("robos", robos);
+            json.writeEndObject();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d procesos, %d CPUs: %d ciclos en %.2f s (%.0f ciclos/s), heap pico %d MB, GC %d ms",
+                    procesos, cpus, ciclos, segundos(), ciclosPorSegundo(), heapPico >> 20, gcMs);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package modelos;
+
+import controlador.ControladorSimulacion;
+import java.io.PrintStream;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.Semaphore;
+import micelaneos.*;
+
+/**
+ * Corre en paralelo todas las combinaciones de una EspecificacionBarrido con
+ * el MotorSimulacion, en un ForkJoinPool. Cada corrida tiene su propio
+ * Planificador, PerformanceMetrics, CPUs y reloj, y carga de nuevo su archivo
+ * de procesos, asi que no comparten estado. Escribe una fila CSV por corrida,
+ * en el orden de las combinaciones.
+ */
+public class BarridoParametros {
+    public static final String ENCABEZADO = "indice,politica,memoria,carga,quantum,cpus,ciclos,procesos,"
+            + "completados,throughput,utilizacion,espera_promedio,respuesta_promedio,equidad,robos,ms";
+
+    private final EspecificacionBarrido spec;
+    private final String[] filas;
+
+    public BarridoParametros(EspecificacionBarrido spec) {
+        this.spec = spec;
+        this.filas = new String[spec.getCombinaciones()];
+    }
+
+    /**
+     * Corre el barrido completo y escribe el CSV.
+     *
+     * @return cantidad de corridas
+     */
+    public int ejecutar(PrintStream salida) {
+        for (String carga : spec.getCargas()) {
+            if (ProcesoJsonHandler.readProcesosFromJson(carga).getSize() == 0) {
+                throw new IllegalArgumentException("La carga " + carga + " no tiene procesos");
+            }
+        }
+        int hilos = spec.getHilos() > 0 ? spec.getHilos() : Runtime.getRuntime().availableProcessors();
+        ForkJoinPool pool = new ForkJoinPool(hilos);
+        try {
+            pool.invoke(new TareaBarrido(0, filas.length));
+        } finally {
+            pool.shutdown();
+        }
+        salida.println(ENCABEZADO);
+        for (String fila : filas) {
+            salida.println(fila);
+        }
+        return filas.length;
+    }
+
+    private class TareaBarrido extends RecursiveAction {
+        private final int desde;
+        private final int hasta;
+
+        TareaBarrido(int desde, int hasta) {
+            this.desde = desde;
+            this.hasta = hasta;
+        }
+
+        @Override
+        protected void compute() {
+            if (hasta - desde == 1) {
+                filas[desde] = correr(desde);
+            } else {
+                int medio = (desde + hasta) >>> 1;
+                invokeAll(new TareaBarrido(desde, medio), new TareaBarrido(medio, hasta));
+            }
+        }
+    }
+
+    /**
+     * Una corrida aislada. El indice se descompone en los indices de cada
+     * dimension (politica es la que cambia mas lento).
+     */
+    private String correr(int indice) {
+        int resto = indice;
+        int numCPUs = spec.getCpus()[resto % spec.getCpus().length];
+        resto /= spec.getCpus().length;
+        int quantum = spec.getQuantums()[resto % spec.getQuantums().length];
+        resto /= spec.getQuantums().length;
+        String carga = spec.getCargas()[resto % spec.getCargas().length];
+        resto /= spec.getCargas().length;
+        int memoria = spec.getMemorias()[resto % spec.getMemorias().length];
+        resto /= spec.getMemorias().length;
+        int politica = spec.getPoliticas()[resto];
+
+        long inicio = System.nanoTime();
+        List listos = ProcesoJsonHandler.readProcesosFromJson(carga);
+        List todos = new List();
+        Nodo pw = listos.getHead();
+        while (pw != null) {
+            todos.appendLast(pw.getValue());
+            pw = pw.getpNext();
+        }
+
+        ControladorSimulacion controlador = new ControladorSimulacion(politica);
+        PerformanceMetrics metrics = new PerformanceMetrics(numCPUs);
+        Planificador planificador = new Planificador(listos, new List(), new List(), todos, new List(), new List(),
+                controlador, numCPUs, memoria);
+        Semaphore mutex = new Semaphore(1);
+        CPU[] cpus = new CPU[numCPUs];
+        for (int i = 0; i < numCPUs; i++) {
+            cpus[i] = new CPU(controlador, planificador, i + 1, mutex, metrics);
+            cpus[i].setQuantumMaximo(quantum);
+        }
+        MotorSimulacion motor = new MotorSimulacion(planificador, new Reloj(mutex, planificador, controlador), cpus);
+        long ciclos = motor.ejecutar(spec.getMaxCiclos());
+        long ms = (System.nanoTime() - inicio) / 1000000;
+
+        return String.format(Locale.ROOT, "%d,%d,%d,%s,%d,%d,%d,%d,%d,%.6f,%.4f,%.2f,%.2f,%.4f,%d,%d",
+                indice, politica, memoria, carga, quantum, numCPUs, ciclos, todos.getSize(),
+                metrics.getProcessesCompleted(), metrics.getThroughput(), metrics.getCpuUtilization(),
+                metrics.getAverageWaitTime(), metrics.getAverageResponseTime(),
+                metrics.getFairness(planificador.getAllProcessList()),
+                planificador.getReadyList().getRobos(), ms);
+    }
+}
@@ -1,32 +1,39 @@
 package modelos;
 
 import static java.lang.Thread.sleep;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.util.concurrent.Semaphore;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import micelaneos.*;
 import controlador.*;
 
-public class CPU extends Thread {
+public class CPU implements Runnable {
+    private static final int QUANTUM = 5;
+    private static final int CICLOS_DESPACHO = 4;
+    
     private int quantum;
+    private int quantumMaximo = QUANTUM;
     private int memoryAddressRegister;
     private int programCounter;
-    private List interruptionsList;
     private Planificador planificador;
     private Proceso currentProcess;
     private int id;
-    private Semaphore mutexInterruciones;
     private Semaphore mutexCPUs;
     private ControladorSimulacion controlador;
     private PerformanceMetrics metrics;
+    private MotorSimulacion motor;
+    private int ciclosDespacho;
+    private EjecutorSimulacion ejecutor;
+    private volatile boolean activo;
 
     public CPU(ControladorSimulacion controlador, Planificador planner, int id, Semaphore mutexCPUs, PerformanceMetrics metrics) {
         this.controlador = controlador;
         this.planificador = planner;
         this.id = id;
         this.mutexCPUs = mutexCPUs;
-        this.mutexInterruciones = new Semaphore(1);
-        this.interruptionsList = new List();
         this.metrics = metrics;
     }  
 
@@ -38,6 +45,17 @@ public class CPU extends Thread {
         this.quantum = quantum;
     }
 
+    public int getQuantumMaximo() {
+        return quantumMaximo;
+    }
+
+    /**
+     * Ciclos que puede ejecutar un proceso en Round Robin antes de ceder la CPU.
+     */
+    public void setQuantumMaximo(int quantumMaximo) {
+        this.quantumMaximo = quantumMaximo;
+    }
+
     public int getMemoryAddressRegister() {
         return memoryAddressRegister;
     }
@@ -54,14 +72,6 @@ public class CPU extends Thread {
         this.programCounter = programCounter;
     }
 
-    public List getInterruptionsList() {
-        return interruptionsList;
-    }
-
-    public void setInterruptionsList(List interruptionsList) {
-        this.interruptionsList = interruptionsList;
-    }
-
     public Planificador getPlanificador() {
         return planificador;
     }
@@ -78,16 +88,12 @@ public class CPU extends Thread {
         this.currentProcess = currentProcess;
     }
 
-    public void setId(int id) {
-        this.id = id;
+    public int getCpuId() {
+        return id;
     }
 
-    public Semaphore getMutexInterruciones() {
-        return mutexInterruciones;
-    }
-
-    public void setMutexInterruciones(Semaphore mutexInterruciones) {
-        this.mutexInterruciones = mutexInterruciones;
+    public void setId(int id) {
+        this.id = id;
     }
 
     public Semaphore getMutexCPUs() {
@@ -98,6 +104,40 @@ public class CPU extends Thread {
         this.mutexCPUs = mutexCPUs;
     }
 
+    public MotorSimulacion getMotor() {
+        return motor;
+    }
+
+    public void setMotor(MotorSimulacion motor) {
+        this.motor = motor;
+    }
+
+    public PerformanceMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Registros de la CPU para un checkpoint. Solo vale entre ciclos del
+     * MotorSimulacion.
+     */
+    void escribirEstado(DataOutputStream out) throws IOException {
+        out.writeInt(quantum);
+        out.writeInt(quantumMaximo);
+        out.writeInt(memoryAddressRegister);
+        out.writeInt(programCounter);
+        out.writeInt(ciclosDespacho);
+        Checkpoint.escribirRef(out, currentProcess);
+    }
+
+    void leerEstado(DataInputStream in, TablaProcesos procesos) throws IOException {
+        quantum = in.readInt();
+        quantumMaximo = in.readInt();
+        memoryAddressRegister = in.readInt();
+        programCounter = in.readInt();
+        ciclosDespacho = in.readInt();
+        currentProcess = Checkpoint.leerRef(in, procesos);
+    }
+
     public ControladorSimulacion getControlador() {
         return controlador;
     }
@@ -106,108 +146,126 @@ public class CPU extends Thread {
         this.controlador = controlador;
     }
     
+    /**
+     * Arranca el ciclo de la CPU en el ejecutor configurado (hilos de
+     * plataforma si no se configuro ninguno).
+     */
+    public void start(){
+        if (ejecutor == null) {
+            ejecutor = EjecutorSimulacion.porDefecto();
+        }
+        activo = true;
+        ejecutor.ejecutar(this);
+    }
+
+    public void detener(){
+        activo = false;
+    }
+
+    public EjecutorSimulacion getEjecutor() {
+        return ejecutor;
+    }
+
+    public void setEjecutor(EjecutorSimulacion ejecutor) {
+        this.ejecutor = ejecutor;
+    }
+
     @Override
     public void run(){
-        this.obtenerProceso();
-        while(true){
-            if(this.interruptionsList.isEmpty()){
-                Interrupcion exception = (Interrupcion) interruptionsList.getHead().getValue();
-                interruptionsList.delete(interruptionsList.getHead());
-                this.interruptHandler(exception);
-            }else{
-                if (planificador.getSelectedAlgorithm() == 1 && this.quantum<=0 && planificador.getReadyList().isEmpty()) {
-                    this.usarPlanificador("Listo");
-                    this.obtenerProceso();
-                }else if(planificador.getSelectedAlgorithm() == 3 && this.checkSRT() && planificador.getReadyList().isEmpty()){
-                    this.usarPlanificador("Listo");
-                    this.obtenerProceso();
-                }else{
-                    if(this.currentProcess.getInstrucciones() < this.memoryAddressRegister){
-                        currentProcess.setTiempoFinalizacion(controlador.getRelojGlobal());
-                        metrics.recordProcessCompletion(currentProcess);
-                        this.usarPlanificador("Terminado");
-                        this.obtenerProceso();
-                    }else{
-                        try {
-                            sleep(controlador.getTiempo());
-                        } catch (InterruptedException ex) {
-                            Logger.getLogger(Interrupcion.class.getName()).log(Level.SEVERE, null, ex);
-                        }
-                        
-                        if(currentProcess.isPrimerEjecucion()){
-                            currentProcess.setTiempoInicio(controlador.getRelojGlobal());
-                            currentProcess.setTiempoRespuesta(currentProcess.getTiempoInicio());
-                            currentProcess.setPrimerEjecucion(false);
-                        }
-                        
-                        this.actulizarCPUvista();
-                        controlador.updateDataset(id, "Usuario");
-                        metrics.incrementCpuTime();
-                        quantum--;
-                        
-                        if(this.isInterruption(memoryAddressRegister)&& "I/O Bound".equals(this.currentProcess.getTipo())){
-                            this.usarPlanificador("Bloqueado");
-                            this.obtenerProceso();
-                        }else{
-                            programCounter++;
-                            this.memoryAddressRegister++;
-                            this.actulizarCPUvista();
-                        }    
-                    }
-                }
+        while(activo){
+            try {
+                sleep(controlador.getTiempo());
+            } catch (InterruptedException ex) {
+                Logger.getLogger(CPU.class.getName()).log(Level.SEVERE, null, ex);
             }
+            this.ciclo();
         }
     }
     
-    public boolean isInterruption (int mar){
-        if(mar%currentProcess.getCiclosParaExcepcion()==0 && currentProcess.getCiclosParaExcepcion() > 0){
-            Interrupcion exception = new Interrupcion(id,currentProcess.getCiclosParaSatisfacerExcepcion(),this.controlador,this.currentProcess.getId(),this.interruptionsList,this.mutexInterruciones);
-            exception.start();
+    /**
+     * Avanza la CPU un ciclo de reloj. El hilo lo llama tras cada sleep y el
+     * MotorSimulacion lo llama directamente, sin esperas.
+     */
+    public void ciclo(){
+        if(this.currentProcess != null && this.debeSalir()){
+            this.currentProcess = null;
+        }
+        if(this.currentProcess == null){
+            this.cicloDespacho();
+        }else{
+            this.ejecutarInstruccion();
+        }
+    }
+    
+    private boolean debeSalir(){
+        if (planificador.getSelectedAlgorithm() == 1 && this.quantum<=0 && planificador.hayProcesosListos()) {
+            this.usarPlanificador(ProcessState.LISTO);
+            return true;
+        }else if(planificador.getSelectedAlgorithm() == 3 && this.checkSRT()){
+            this.usarPlanificador(ProcessState.LISTO);
+            return true;
+        }else if(this.currentProcess.getInstrucciones() < this.memoryAddressRegister){
+            currentProcess.setTiempoFinalizacion(controlador.getRelojGlobal());
+            metrics.recordProcessCompletion(currentProcess);
+            this.usarPlanificador(ProcessState.TERMINADO);
             return true;
         }
         return false;
     }
     
-    private void interruptHandler(Interrupcion exception){
-        try {
-            mutexCPUs.acquire();
-        } catch (InterruptedException ex) {
-            Logger.getLogger(Interrupcion.class.getName()).log(Level.SEVERE, null, ex);
+    private void ejecutarInstruccion(){
+        if(currentProcess.isPrimerEjecucion()){
+            currentProcess.setTiempoInicio(controlador.getRelojGlobal());
+            currentProcess.setTiempoRespuesta(currentProcess.getTiempoInicio());
+            currentProcess.setPrimerEjecucion(false);
         }
-        this.planificador.updateBlockToReady(exception.getProcessId());
-        mutexCPUs.release();
+        
+        this.actulizarCPUvista();
+        controlador.contarCicloCPU(id, true);
+        metrics.incrementCpuTime(id);
+        quantum--;
+        
+        if("I/O Bound".equals(this.currentProcess.getTipo()) && this.isInterruption(memoryAddressRegister)){
+            this.usarPlanificador(ProcessState.BLOQUEADO);
+            this.currentProcess = null;
+        }else{
+            programCounter++;
+            this.memoryAddressRegister++;
+            this.actulizarCPUvista();
+        }
+    }
+    
+    public boolean isInterruption (int mar){
+        if(currentProcess.getCiclosParaExcepcion() > 0 && mar%currentProcess.getCiclosParaExcepcion()==0){
+            planificador.programarES(id, currentProcess.getCiclosParaSatisfacerExcepcion(), currentProcess.getId());
+            return true;
+        }
+        return false;
     }
     
-    private void usarPlanificador(String state){
+    private void usarPlanificador(ProcessState state){
         try {
             mutexCPUs.acquire();
         } catch (InterruptedException ex) {
             Logger.getLogger(CPU.class.getName()).log(Level.SEVERE, null, ex);
         }
 
-        if(quantum != 5){
-            this.planificador.updatePCB(currentProcess, programCounter, memoryAddressRegister, state);
+        if(quantum != quantumMaximo){
+            this.planificador.updatePCB(currentProcess, programCounter, memoryAddressRegister, state, id);
         }else{
-            this.planificador.updatePCB(currentProcess, state);
+            this.planificador.updatePCB(currentProcess, state, id);
         }
 
         mutexCPUs.release();
     }
     
+    // Solo toca la cola de listos propia, que tiene su mutex; no hace falta el global
     private boolean checkSRT(){
-        try {
-            mutexCPUs.acquire();
-        } catch (InterruptedException ex) {
-            Logger.getLogger(Interrupcion.class.getName()).log(Level.SEVERE, null, ex);
-        }
-        
-        boolean output = this.planificador.ifSRT(currentProcess);
-        
-        mutexCPUs.release();
-        return output;
+        return this.planificador.ifSRT(currentProcess, id);
     }
     
     private void actulizarCPUvista(){
+        if (!controlador.tieneVista()) return;
         String display = "Id: " + currentProcess.getId() + 
                 "\nNombre: " + currentProcess.getNombre() +
                 "\nEstado: " + currentProcess.getEstado() + 
@@ -216,45 +274,35 @@ public class CPU extends Thread {
         this.controlador.setCPUText(id,display );
     }
     
-    private void obtenerProceso(){
-        currentProcess = null;
-        while(currentProcess==null){
+    private void cicloDespacho(){
+        controlador.contarCicloCPU(id, false);
+        metrics.incrementSystemTime(id);
+        ciclosDespacho++;
+        if(ciclosDespacho == 1){
             this.controlador.setCPUText(id,"Planificador");
-            for (int i = 0; i < 4; i++) {
+        }else if(ciclosDespacho == CICLOS_DESPACHO){
+            if(planificador.haySuspendidos()){
                 try {
-                    sleep(controlador.getTiempo());
+                    mutexCPUs.acquire();
                 } catch (InterruptedException ex) {
                     Logger.getLogger(CPU.class.getName()).log(Level.SEVERE, null, ex);
                 }
-                controlador.updateDataset(id, "Sistema Operativo");
-                metrics.incrementSystemTime();
-            }
-            try {
-                mutexCPUs.acquire();
-            } catch (InterruptedException ex) {
-                Logger.getLogger(Interrupcion.class.getName()).log(Level.SEVERE, null, ex);
-            }
-            this.currentProcess = this.planificador.getProcess();
-            mutexCPUs.release();
-            if(currentProcess != null) break;
-            this.controlador.setCPUText(id,"System 32");
-            try {
-                sleep(controlador.getTiempo());
-            } catch (InterruptedException ex) {
-                Logger.getLogger(CPU.class.getName()).log(Level.SEVERE, null, ex);
+                this.planificador.checkMemoryAndResume();
+                mutexCPUs.release();
             }
-            controlador.updateDataset( id, "Sistema Operativo");
-            metrics.incrementSystemTime();
-            if(this.interruptionsList.isEmpty()){
-                Interrupcion exception = (Interrupcion) interruptionsList.getHead().getValue();
-                interruptionsList.delete(interruptionsList.getHead());
-                this.interruptHandler(exception);
+            this.currentProcess = this.planificador.getProcess(id);
+            if(currentProcess != null){
+                ciclosDespacho = 0;
+                quantum = quantumMaximo;
+                programCounter = currentProcess.getPc()+1;
+                memoryAddressRegister = currentProcess.getPc();
+                this.actulizarCPUvista();
+            }else{
+                this.controlador.setCPUText(id,"System 32");
             }
+        }else if(ciclosDespacho > CICLOS_DESPACHO){
+            // ciclo ocioso tras no encontrar proceso listo
+            ciclosDespacho = 0;
         }
-        
-        quantum = 5;
-        programCounter = currentProcess.getPc()+1;
-        memoryAddressRegister = currentProcess.getPc();
-        this.actulizarCPUvista();
     }
 }
\ No newline at end of file
@@ -0,0 +1,208 @@
+package modelos;
+
+import controlador.ControladorSimulacion;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.BitSet;
+import micelaneos.*;
+
+/**
+ * Checkpoint binario de una simulacion del MotorSimulacion: procesos (PCB
+ * completo), colas con su orden, memoria, E/S pendientes, registros de las
+ * CPUs, reloj, politica y metricas. Al reanudar la simulacion sigue igual
+ * que si nunca se hubiera detenido, asi que una corrida larga se puede
+ * partir en tramos o repetir desde un ciclo intermedio.
+ *
+ * Se guarda entre ciclos, cuando no hay ningun evento a medias. El registro
+ * de eventos (EventLogger) no se guarda. Si la simulacion toma procesos de
+ * una fuente, al reanudar hay que darle la misma carga con setFuente antes
+ * de llamar a restaurar.
+ */
+public class Checkpoint {
+    private static final int MAGIA = 0x53_4F_43_4B; // "SOCK"
+    private static final int VERSION = 1;
+
+    /**
+     * Escribe el checkpoint en un temporal y lo renombra, asi que un corte a
+     * mitad de la escritura no pisa el checkpoint anterior.
+     */
+    public static void guardar(MotorSimulacion motor, String archivo) throws IOException {
+        Path destino = Paths.get(archivo);
+        Path temporal = Paths.get(archivo + ".tmp");
+        Planificador planificador = motor.getPlanificador();
+        CPU[] cpus = motor.getCpus();
+        Reloj reloj = motor.getReloj();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporal), 1 << 16))) {
+            out.writeInt(MAGIA);
+            out.writeInt(VERSION);
+            out.writeInt(cpus.length);
+            out.writeLong(motor.getCiclo());
+            out.writeLong(motor.getAdmitidosFuente());
+            out.writeInt(reloj.getControlador().getPolitica());
+            out.writeInt(reloj.getControlador().getRelojGlobal());
+            out.writeInt(reloj.getCycle());
+            escribirProcesos(out, planificador, cpus);
+            planificador.escribirEstado(out);
+            for (CPU cpu : cpus) {
+                cpu.escribirEstado(out);
+            }
+            cpus[0].getMetrics().escribirEstado(out);
+        }
+        try {
+            Files.move(temporal, destino, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            Files.move(temporal, destino, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Carga el checkpoint en un motor recien armado con la misma cantidad de
+     * CPUs. Despues de esto motor.ejecutar continua desde el ciclo guardado.
+     */
+    public static void restaurar(MotorSimulacion motor, String archivo) throws IOException {
+        CPU[] cpus = motor.getCpus();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(Paths.get(archivo)), 1 << 16))) {
+            if (in.readInt() != MAGIA) {
+                throw new IOException(archivo + " no es un checkpoint");
+            }
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new IOException(archivo + ": version de checkpoint " + version + " no soportada");
+            }
+            int numCPUs = in.readInt();
+            if (numCPUs != cpus.length) {
+                throw new IOException(archivo + " es de " + numCPUs + " CPUs y esta simulacion tiene " + cpus.length);
+            }
+            long ciclo = in.readLong();
+            long admitidosFuente = in.readLong();
+            ControladorSimulacion controlador = motor.getReloj().getControlador();
+            controlador.setPolitica(in.readInt());
+            controlador.setRelojGlobal(in.readInt());
+            motor.getReloj().setCycle(in.readInt());
+            TablaProcesos procesos = leerProcesos(in);
+            motor.getPlanificador().leerEstado(in, procesos);
+            for (CPU cpu : cpus) {
+                cpu.leerEstado(in, procesos);
+            }
+            cpus[0].getMetrics().leerEstado(in);
+            motor.reanudar(ciclo, admitidosFuente);
+        }
+    }
+
+    private static void escribirProcesos(DataOutputStream out, Planificador planificador, CPU[] cpus) throws IOException {
+        // un proceso puede estar en la tabla, en la lista de todos y en una CPU
+        BitSet vistos = new BitSet();
+        Cola<Proceso> procesos = new Cola<>();
+        TablaProcesos tabla = planificador.getTablaProcesos();
+        for (int id = 0; id < tabla.getCapacidad(); id++) {
+            agregarUnaVez(tabla.getProceso(id), vistos, procesos);
+        }
+        for (Proceso p : planificador.getAllProcessList()) {
+            agregarUnaVez(p, vistos, procesos);
+        }
+        for (Proceso p : planificador.getExitList()) {
+            agregarUnaVez(p, vistos, procesos);
+        }
+        for (CPU cpu : cpus) {
+            agregarUnaVez(cpu.getCurrentProcess(), vistos, procesos);
+        }
+        out.writeInt(procesos.getSize());
+        for (Proceso p : procesos) {
+            escribirProceso(out, p);
+        }
+    }
+
+    private static void agregarUnaVez(Proceso p, BitSet vistos, Cola<Proceso> procesos) {
+        if (p != null && !vistos.get(p.getId())) {
+            vistos.set(p.getId());
+            procesos.agregar(p);
+        }
+    }
+
+    private static TablaProcesos leerProcesos(DataInputStream in) throws IOException {
+        int n = in.readInt();
+        TablaProcesos tabla = new TablaProcesos(n);
+        for (int i = 0; i < n; i++) {
+            tabla.registrar(leerProceso(in));
+        }
+        return tabla;
+    }
+
+    static void escribirProceso(DataOutputStream out, Proceso p) throws IOException {
+        out.writeInt(p.getId());
+        out.writeBoolean(p.getNombre() != null);
+        if (p.getNombre() != null) {
+            out.writeUTF(p.getNombre());
+        }
+        out.writeBoolean("I/O Bound".equals(p.getTipo()));
+        out.writeInt(p.getInstrucciones());
+        out.writeInt(p.getCiclosParaExcepcion());
+        out.writeInt(p.getCiclosParaSatisfacerExcepcion());
+        out.writeInt(p.getPrioridad());
+        out.writeInt(p.getPc());
+        out.writeInt(p.getMar());
+        out.writeByte(p.getEstadoProceso().ordinal());
+        out.writeInt(p.getTiempoEspera());
+        out.writeInt(p.getTiempoRespuesta());
+        out.writeInt(p.getTiempoInicio());
+        out.writeInt(p.getTiempoFinalizacion());
+        out.writeBoolean(p.isPrimerEjecucion());
+        out.writeInt(p.getMemoriaRequerida());
+        out.writeBoolean(p.isInMemory());
+    }
+
+    static Proceso leerProceso(DataInputStream in) throws IOException {
+        Proceso p = new Proceso();
+        p.setId(in.readInt());
+        if (in.readBoolean()) {
+            p.setNombre(in.readUTF());
+        }
+        p.setTipo(in.readBoolean() ? "I/O Bound" : "CPU Bound");
+        p.setInstrucciones(in.readInt());
+        p.setCiclosParaExcepcion(in.readInt());
+        p.setCiclosParaSatisfacerExcepcion(in.readInt());
+        p.setPrioridad(in.readInt());
+        p.setPc(in.readInt());
+        p.setMar(in.readInt());
+        p.setEstadoProceso(ProcessState.desdeCodigo(in.readByte()));
+        p.setTiempoEspera(in.readInt());
+        p.setTiempoRespuesta(in.readInt());
+        p.setTiempoInicio(in.readInt());
+        p.setTiempoFinalizacion(in.readInt());
+        p.setPrimerEjecucion(in.readBoolean());
+        p.setMemoriaRequerida(in.readInt());
+        p.setInMemory(in.readBoolean());
+        return p;
+    }
+
+    static void escribirCola(DataOutputStream out, Cola<Proceso> cola) throws IOException {
+        out.writeInt(cola.getSize());
+        for (Proceso p : cola) {
+            out.writeInt(p.getId());
+        }
+    }
+
+    static void escribirRef(DataOutputStream out, Proceso p) throws IOException {
+        out.writeInt(p != null ? p.getId() : -1);
+    }
+
+    static Proceso leerRef(DataInputStream in, TablaProcesos procesos) throws IOException {
+        int id = in.readInt();
+        return id < 0 ? null : buscar(procesos, id);
+    }
+
+    static Proceso buscar(TablaProcesos procesos, int id) throws IOException {
+        Proceso p = procesos.getProceso(id);
+        if (p == null) {
+            throw new IOException("El checkpoint referencia al proceso " + id + " pero no lo guardo");
+        }
+        return p;
+    }
+}
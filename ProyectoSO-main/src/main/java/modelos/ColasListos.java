@@ -0,0 +1,302 @@
+package modelos;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import micelaneos.*;
+
+/**
+ * Colas de listos, una por CPU, cada una con su propio mutex. Cada cola es un
+ * heap ordenado por el comparador de la politica activa, asi que despachar
+ * cuesta O(log n). Una CPU sin trabajo roba el primero de la cola mas cargada.
+ *
+ * Orden de bloqueo: el mutex global de las CPUs se toma siempre antes que el
+ * de una cola, y nunca se tienen dos colas bloqueadas a la vez.
+ */
+public class ColasListos {
+    private ColaPrioridad<Proceso>[] colas;
+    private Semaphore[] mutexColas;
+    private boolean[] desordenadas;
+    private AtomicInteger total;
+    private AtomicInteger siguiente;
+    private AtomicLong robos;
+    private AtomicLong muestrasDesequilibrio;
+    private AtomicLong sumaDesequilibrio;
+    private volatile int desequilibrioMaximo;
+
+    @SuppressWarnings("unchecked")
+    public ColasListos(int numColas, Comparator<Proceso> comparator) {
+        this.colas = (ColaPrioridad<Proceso>[]) new ColaPrioridad<?>[numColas];
+        this.mutexColas = new Semaphore[numColas];
+        this.desordenadas = new boolean[numColas];
+        for (int i = 0; i < numColas; i++) {
+            colas[i] = new ColaPrioridad<>(comparator);
+            mutexColas[i] = new Semaphore(1);
+        }
+        this.total = new AtomicInteger(0);
+        this.siguiente = new AtomicInteger(0);
+        this.robos = new AtomicLong(0);
+        this.muestrasDesequilibrio = new AtomicLong(0);
+        this.sumaDesequilibrio = new AtomicLong(0);
+        this.desequilibrioMaximo = 0;
+    }
+
+    public int getNumColas() {
+        return colas.length;
+    }
+
+    /**
+     * Acceso directo a una cola para recorrerla; el llamador debe tenerla
+     * bloqueada con bloquear(i) / liberar(i).
+     */
+    public ColaPrioridad<Proceso> getCola(int i) {
+        return colas[i];
+    }
+
+    public void bloquear(int i) {
+        try {
+            mutexColas[i].acquire();
+        } catch (InterruptedException ex) {
+            Logger.getLogger(ColasListos.class.getName()).log(Level.SEVERE, null, ex);
+        }
+    }
+
+    public void liberar(int i) {
+        mutexColas[i].release();
+    }
+
+    public int getSize() {
+        return total.get();
+    }
+
+    public int getSize(int i) {
+        return colas[i].getSize();
+    }
+
+    public boolean hayListos() {
+        return total.get() > 0;
+    }
+
+    public boolean hayListos(int i) {
+        return colas[i].getSize() > 0;
+    }
+
+    /**
+     * Encola en la cola indicada o, si cola < 0, en la menos cargada.
+     */
+    public void encolar(Proceso p, int cola) {
+        int i = cola >= 0 && cola < colas.length ? cola : colaMenosCargada();
+        bloquear(i);
+        colas[i].insertar(p);
+        total.incrementAndGet();
+        liberar(i);
+    }
+
+    /**
+     * Saca el primer proceso de la cola de la CPU; si esta vacia roba de la
+     * cola mas cargada. Devuelve null si no hay procesos listos.
+     */
+    public Proceso sacar(int cola) {
+        registrarDesequilibrio();
+        Proceso p = sacarDe(cola);
+        if (p == null && total.get() > 0) {
+            int victima = colaMasCargada(cola);
+            if (victima >= 0) {
+                p = sacarDe(victima);
+                if (p != null) {
+                    robos.incrementAndGet();
+                }
+            }
+        }
+        return p;
+    }
+
+    private Proceso sacarDe(int i) {
+        bloquear(i);
+        ordenarSiHaceFalta(i);
+        Proceso p = colas[i].extraer();
+        if (p != null) {
+            total.decrementAndGet();
+        }
+        liberar(i);
+        return p;
+    }
+
+    /**
+     * Quita el elemento en la posicion pos del heap de una cola ya bloqueada
+     * por el llamador.
+     */
+    public Proceso quitar(int i, int pos) {
+        Proceso p = colas[i].quitarEn(pos);
+        total.decrementAndGet();
+        return p;
+    }
+
+    /**
+     * Quita de la cola i (ya bloqueada por el llamador) los procesos de las
+     * posiciones indicadas, tomadas en un mismo recorrido de getCola(i).
+     */
+    public void quitarPosiciones(int i, int[] posiciones, int cantidad) {
+        colas[i].quitarPosiciones(posiciones, cantidad);
+        total.addAndGet(-cantidad);
+    }
+
+    /**
+     * Primer proceso de la cola de la CPU segun la politica, sin sacarlo.
+     */
+    public Proceso primero(int i) {
+        bloquear(i);
+        ordenarSiHaceFalta(i);
+        Proceso p = colas[i].peek();
+        liberar(i);
+        return p;
+    }
+
+    /**
+     * Cambia la politica de todas las colas; cada heap se reconstruye en O(n).
+     */
+    public void ordenar(Comparator<Proceso> comparator) {
+        for (int i = 0; i < colas.length; i++) {
+            bloquear(i);
+            colas[i].setComparator(comparator);
+            desordenadas[i] = false;
+            liberar(i);
+        }
+    }
+
+    /**
+     * Las claves de la cola i cambiaron con el tiempo (HRRN al envejecer). El
+     * heap no se reconstruye ahora sino la proxima vez que se saque o se mire
+     * el primero, asi que envejecer en cada ciclo no cuesta O(n) por ciclo.
+     * El llamador debe tener la cola bloqueada.
+     */
+    public void invalidarOrden(int i) {
+        desordenadas[i] = true;
+    }
+
+    private void ordenarSiHaceFalta(int i) {
+        if (desordenadas[i]) {
+            colas[i].reordenar();
+            desordenadas[i] = false;
+        }
+    }
+
+    private int colaMenosCargada() {
+        int n = colas.length;
+        if (n == 1) return 0;
+        int inicio = Math.floorMod(siguiente.getAndIncrement(), n);
+        int mejor = inicio;
+        for (int k = 1; k < n; k++) {
+            int i = (inicio + k) % n;
+            if (colas[i].getSize() < colas[mejor].getSize()) mejor = i;
+        }
+        return mejor;
+    }
+
+    private int colaMasCargada(int excluida) {
+        int mejor = -1;
+        int tamMejor = 0;
+        for (int i = 0; i < colas.length; i++) {
+            int tam = colas[i].getSize();
+            if (i != excluida && tam > tamMejor) {
+                mejor = i;
+                tamMejor = tam;
+            }
+        }
+        return mejor;
+    }
+
+    private void registrarDesequilibrio() {
+        if (colas.length == 1) return;
+        int min = Integer.MAX_VALUE;
+        int max = 0;
+        for (ColaPrioridad<Proceso> cola : colas) {
+            int tam = cola.getSize();
+            if (tam < min) min = tam;
+            if (tam > max) max = tam;
+        }
+        int desequilibrio = max - min;
+        muestrasDesequilibrio.incrementAndGet();
+        sumaDesequilibrio.addAndGet(desequilibrio);
+        if (desequilibrio > desequilibrioMaximo) desequilibrioMaximo = desequilibrio;
+    }
+
+    public long getRobos() {
+        return robos.get();
+    }
+
+    public int getDesequilibrioMaximo() {
+        return desequilibrioMaximo;
+    }
+
+    public double getDesequilibrioPromedio() {
+        long muestras = muestrasDesequilibrio.get();
+        if (muestras == 0) return 0;
+        return (double) sumaDesequilibrio.get() / muestras;
+    }
+
+    /**
+     * Heaps y contadores para un checkpoint; cada heap se guarda en el orden
+     * del arreglo, con su orden de llegada.
+     */
+    void escribirEstado(DataOutputStream out) throws IOException {
+        out.writeInt(colas.length);
+        out.writeInt(siguiente.get());
+        out.writeLong(robos.get());
+        out.writeLong(muestrasDesequilibrio.get());
+        out.writeLong(sumaDesequilibrio.get());
+        out.writeInt(desequilibrioMaximo);
+        for (int i = 0; i < colas.length; i++) {
+            bloquear(i);
+            try {
+                ordenarSiHaceFalta(i);
+                ColaPrioridad<Proceso> cola = colas[i];
+                out.writeInt(cola.getSize());
+                out.writeLong(cola.getSiguienteLlegada());
+                for (int pos = 0; pos < cola.getSize(); pos++) {
+                    out.writeInt(cola.get(pos).getId());
+                    out.writeLong(cola.getLlegada(pos));
+                }
+            } finally {
+                liberar(i);
+            }
+        }
+    }
+
+    void leerEstado(DataInputStream in, TablaProcesos procesos) throws IOException {
+        int n = in.readInt();
+        if (n != colas.length) {
+            throw new IOException("El checkpoint tiene " + n + " colas de listos y esta simulacion " + colas.length);
+        }
+        siguiente.set(in.readInt());
+        robos.set(in.readLong());
+        muestrasDesequilibrio.set(in.readLong());
+        sumaDesequilibrio.set(in.readLong());
+        desequilibrioMaximo = in.readInt();
+        int suma = 0;
+        for (int i = 0; i < colas.length; i++) {
+            int tam = in.readInt();
+            long siguienteLlegada = in.readLong();
+            Proceso[] elementos = new Proceso[tam];
+            long[] llegadas = new long[tam];
+            for (int pos = 0; pos < tam; pos++) {
+                elementos[pos] = Checkpoint.buscar(procesos, in.readInt());
+                llegadas[pos] = in.readLong();
+            }
+            colas[i].restaurar(elementos, llegadas, siguienteLlegada);
+            suma += tam;
+        }
+        total.set(suma);
+    }
+
+    public String getEstadisticasString() {
+        return String.format("Robos de trabajo: %d\nDesequilibrio colas (prom/max): %.2f / %d",
+                getRobos(), getDesequilibrioPromedio(), getDesequilibrioMaximo());
+    }
+}
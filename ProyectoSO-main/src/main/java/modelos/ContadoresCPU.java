@@ -0,0 +1,61 @@
+package modelos;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Ciclos de usuario y de sistema operativo por CPU, para el grafico de
+ * utilizacion. Cada CPU suma solo en su casilla (un unico escritor por
+ * casilla), asi que contar no usa locks ni CAS; quien dibuja lee los totales
+ * cuando quiere. Las casillas de CPUs distintas estan separadas una linea de
+ * cache para que no se pisen entre nucleos.
+ */
+public class ContadoresCPU {
+    private static final int SEPARACION = 8;
+    private static final int USUARIO = 0;
+    private static final int SISTEMA = 1;
+
+    private final int numCPUs;
+    private final AtomicLongArray contadores;
+
+    public ContadoresCPU(int numCPUs) {
+        this.numCPUs = numCPUs;
+        this.contadores = new AtomicLongArray((numCPUs + 1) * SEPARACION);
+    }
+
+    public int getNumCPUs() {
+        return numCPUs;
+    }
+
+    /**
+     * Suma un ciclo a la CPU (de 1 a numCPUs). Solo la llama el hilo de esa
+     * CPU.
+     */
+    public void contar(int cpuId, boolean usuario) {
+        int i = cpuId * SEPARACION + (usuario ? USUARIO : SISTEMA);
+        contadores.setRelease(i, contadores.getPlain(i) + 1);
+    }
+
+    public long getUsuario(int cpuId) {
+        return contadores.getAcquire(cpuId * SEPARACION + USUARIO);
+    }
+
+    public long getSistema(int cpuId) {
+        return contadores.getAcquire(cpuId * SEPARACION + SISTEMA);
+    }
+
+    public long getUsuarioTotal() {
+        long total = 0;
+        for (int id = 1; id <= numCPUs; id++) {
+            total += getUsuario(id);
+        }
+        return total;
+    }
+
+    public long getSistemaTotal() {
+        long total = 0;
+        for (int id = 1; id <= numCPUs; id++) {
+            total += getSistema(id);
+        }
+        return total;
+    }
+}
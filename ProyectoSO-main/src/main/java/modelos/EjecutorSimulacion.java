@@ -0,0 +1,88 @@
+package modelos;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Donde corren las CPUs y el reloj del modo con hilos.
+ * Cada tarea recibe su propio hilo: de plataforma (uno del sistema operativo
+ * por tarea) o virtual (JDK 21, montado sobre unos pocos hilos portadores).
+ * Con hilos virtuales se pueden simular cientos de CPUs sin agotar los hilos
+ * del sistema.
+ */
+public class EjecutorSimulacion {
+    private static EjecutorSimulacion porDefecto;
+
+    private final boolean virtual;
+    private final ExecutorService executor;
+    private final AtomicInteger tareas;
+
+    private EjecutorSimulacion(boolean virtual) {
+        this.virtual = virtual;
+        ThreadFactory factory = virtual
+                ? Thread.ofVirtual().name("sim-virtual-", 0).factory()
+                : Thread.ofPlatform().name("sim-", 0).factory();
+        this.executor = Executors.newThreadPerTaskExecutor(factory);
+        this.tareas = new AtomicInteger(0);
+    }
+
+    public static EjecutorSimulacion plataforma() {
+        return new EjecutorSimulacion(false);
+    }
+
+    public static EjecutorSimulacion virtuales() {
+        return new EjecutorSimulacion(true);
+    }
+
+    public static EjecutorSimulacion crear(boolean virtual) {
+        return new EjecutorSimulacion(virtual);
+    }
+
+    /**
+     * Ejecutor de hilos de plataforma compartido, para las tareas que se
+     * inician sin indicar uno (comportamiento anterior de Thread.start()).
+     */
+    public static synchronized EjecutorSimulacion porDefecto() {
+        if (porDefecto == null) {
+            porDefecto = plataforma();
+        }
+        return porDefecto;
+    }
+
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    public int getTareasIniciadas() {
+        return tareas.get();
+    }
+
+    public void ejecutar(Runnable tarea) {
+        tareas.incrementAndGet();
+        executor.execute(tarea);
+    }
+
+    /**
+     * Deja de aceptar tareas y espera a que terminen las que corren; las
+     * tareas con ciclo infinito deben detenerse antes (CPU.detener()).
+     */
+    public boolean apagar(long esperaMs) {
+        executor.shutdown();
+        try {
+            return executor.awaitTermination(esperaMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Logger.getLogger(EjecutorSimulacion.class.getName()).log(Level.SEVERE, null, ex);
+            return false;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return virtual ? "hilos virtuales" : "hilos de plataforma";
+    }
+}
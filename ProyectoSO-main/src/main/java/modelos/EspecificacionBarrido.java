@@ -0,0 +1,79 @@
+package modelos;
+
+/**
+ * Parametros de un barrido: se corre una simulacion por cada combinacion de
+ * politica x memoria x carga x quantum x CPUs. Se lee de un JSON como:
+ * {"politicas":[0,1,2,3,4,5], "memorias":[250,500], "cargas":["procesos.json"]}
+ */
+public class EspecificacionBarrido {
+    private int[] politicas = {0, 1, 2, 3, 4, 5};
+    private int[] memorias = {Planificador.MEMORIA_POR_DEFECTO};
+    private String[] cargas = {"procesos.json"};
+    private int[] quantums = {5};
+    private int[] cpus = {1};
+    private long maxCiclos = 10000000L;
+    private int hilos = 0;
+
+    public int[] getPoliticas() {
+        return politicas;
+    }
+
+    public void setPoliticas(int[] politicas) {
+        this.politicas = politicas;
+    }
+
+    public int[] getMemorias() {
+        return memorias;
+    }
+
+    public void setMemorias(int[] memorias) {
+        this.memorias = memorias;
+    }
+
+    public String[] getCargas() {
+        return cargas;
+    }
+
+    public void setCargas(String[] cargas) {
+        this.cargas = cargas;
+    }
+
+    public int[] getQuantums() {
+        return quantums;
+    }
+
+    public void setQuantums(int[] quantums) {
+        this.quantums = quantums;
+    }
+
+    public int[] getCpus() {
+        return cpus;
+    }
+
+    public void setCpus(int[] cpus) {
+        this.cpus = cpus;
+    }
+
+    public long getMaxCiclos() {
+        return maxCiclos;
+    }
+
+    public void setMaxCiclos(long maxCiclos) {
+        this.maxCiclos = maxCiclos;
+    }
+
+    /**
+     * Paralelismo del pool; 0 usa todos los nucleos.
+     */
+    public int getHilos() {
+        return hilos;
+    }
+
+    public void setHilos(int hilos) {
+        this.hilos = hilos;
+    }
+
+    public int getCombinaciones() {
+        return politicas.length * memorias.length * cargas.length * quantums.length * cpus.length;
+    }
+}
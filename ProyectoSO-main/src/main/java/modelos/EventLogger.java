@@ -1,41 +1,282 @@
 package modelos;
 
+import java.lang.invoke.VarHandle;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import micelaneos.Proceso;
 
-public class EventLogger {
-    private List<String> events;
-    private static final int MAX_EVENTS = 1000;
+/**
+ * Bitacora de eventos en un buffer circular preasignado de varios
+ * productores; es el suscriptor del Planificador que arma el texto para la
+ * vista. Registrar un evento guarda solo sus campos crudos (tipo, id,
+ * nombre, memoria, hora) en la casilla que le toca, sin locks, sin armar
+ * Strings y sin imprimir; el texto se arma recien cuando alguien lee
+ * (getEvents / getEventsAsString). Se guardan los ultimos "capacidad"
+ * eventos.
+ *
+ * Cada casilla tiene un numero de secuencia publicado: el productor la marca
+ * como ESCRIBIENDO, llena los campos y publica su secuencia. El lector
+ * descarta las casillas que cambiaron mientras las leia (pisadas por una
+ * vuelta completa del buffer).
+ */
+public class EventLogger implements SuscriptorEventos {
+    public static final int CAPACIDAD_POR_DEFECTO = 1024;
+    private static final long ESCRIBIENDO = -1;
+    private static final long LIBRE = -2;
+    private static volatile boolean imprimirPorDefecto = false;
+
+    private static final EnumMap<TipoEvento, String> PLANTILLAS = new EnumMap<>(TipoEvento.class);
+
+    // {id}, {nombre}, {mem}, {disp} y {texto} se reemplazan al leer
+    static {
+        PLANTILLAS.put(TipoEvento.TEXTO, "{texto}");
+        PLANTILLAS.put(TipoEvento.INICIO, "Sistema iniciado. Memoria total: {mem} MB. Memoria disponible: {disp} MB");
+        PLANTILLAS.put(TipoEvento.CARGADO, "{texto}: Proceso {id} ({nombre}) cargado en memoria. Memoria asignada: {mem} MB. Disponible: {disp} MB");
+        PLANTILLAS.put(TipoEvento.SIN_MEMORIA, "{texto}: Proceso {id} ({nombre}) suspendido por falta de memoria. Requiere: {mem} MB. Disponible: {disp} MB");
+        PLANTILLAS.put(TipoEvento.MEMORIA_ASIGNADA, "MEMORIA: Proceso {id} ({nombre}) cargado en memoria");
+        PLANTILLAS.put(TipoEvento.ERROR_MEMORIA, "ERROR: No hay memoria suficiente para el proceso {id}");
+        PLANTILLAS.put(TipoEvento.DESPACHO, "SCHEDULER: Proceso {nombre} (ID: {id}) seleccionado para ejecución");
+        PLANTILLAS.put(TipoEvento.REACTIVADO_LISTO, "REACTIVADO: Proceso {nombre} (ID: {id}) reactivado de Suspendido-Listo. Memoria asignada: {mem} MB. Disponible: {disp} MB");
+        PLANTILLAS.put(TipoEvento.REACTIVADO_BLOQUEADO, "REACTIVADO: Proceso {nombre} (ID: {id}) reactivado de Suspendido-Bloqueado. Memoria asignada: {mem} MB. Disponible: {disp} MB");
+        PLANTILLAS.put(TipoEvento.MEMORIA_BAJA, "=== MEMORIA BAJA: {disp} MB disponibles. Iniciando suspensión... ===");
+        PLANTILLAS.put(TipoEvento.LIBERADO_LISTO, "SUSPENDIDO: Proceso {id} ({nombre}) suspendido (Listo). Liberados {mem} MB. Disponible: {disp} MB");
+        PLANTILLAS.put(TipoEvento.LIBERADO_BLOQUEADO, "SUSPENDIDO: Proceso {id} ({nombre}) suspendido (Bloqueado). Liberados {mem} MB. Disponible: {disp} MB");
+        PLANTILLAS.put(TipoEvento.SUSPENSION_COMPLETADA, "=== Suspensión completada. Memoria disponible: {disp} MB ===");
+        PLANTILLAS.put(TipoEvento.CAMBIO_ALGORITMO, "Cambio de algoritmo a {texto}");
+        PLANTILLAS.put(TipoEvento.SUSPENDIDO_AL_BLOQUEAR, "SUSPENDIDO: Proceso {nombre} (ID: {id}) suspendido al bloquearse por baja memoria");
+        PLANTILLAS.put(TipoEvento.BLOQUEADO, "BLOQUEADO: Proceso {nombre} (ID: {id}) bloqueado por operación I/O");
+        PLANTILLAS.put(TipoEvento.SUSPENDIDO_AL_LISTO, "SUSPENDIDO: Proceso {nombre} (ID: {id}) suspendido al pasar a listo por baja memoria");
+        PLANTILLAS.put(TipoEvento.SUSPENDIDO_LISTO, "SUSPENDIDO: Proceso {nombre} (ID: {id}) suspendido (Listo)");
+        PLANTILLAS.put(TipoEvento.SUSPENDIDO_BLOQUEADO, "SUSPENDIDO: Proceso {nombre} (ID: {id}) suspendido (Bloqueado)");
+        PLANTILLAS.put(TipoEvento.TERMINADO, "TERMINADO: Proceso {nombre} (ID: {id}). Memoria liberada: {mem} MB");
+        PLANTILLAS.put(TipoEvento.ES_SUSPENDIDO, "SUSPENDIDO: Proceso (ID: {id}) I/O completado pero suspendido por baja memoria");
+        PLANTILLAS.put(TipoEvento.DESBLOQUEADO, "DESBLOQUEADO: Proceso (ID: {id}) I/O completado, movido a cola de listos");
+        PLANTILLAS.put(TipoEvento.ES_COMPLETADA_SUSPENDIDO, "I/O COMPLETADO: Proceso (ID: {id}) I/O completado, movido de Suspendido-Bloqueado a Suspendido-Listo");
+    }
+
+    private final int mascara;
+    private final TipoEvento[] eventos;
+    private final String[] textos;
+    private final String[] nombres;
+    private final int[] ids;
+    private final int[] memorias;
+    private final int[] disponibles;
+    private final long[] horas;
+    private final AtomicLongArray publicado;
+    private final AtomicLong siguiente;
+    private volatile long inicio;
+    private volatile boolean imprimir = imprimirPorDefecto;
 
     public EventLogger() {
-        this.events = new ArrayList<>();
+        this(CAPACIDAD_POR_DEFECTO);
     }
 
-    public synchronized void logEvent(String event) {
-        String timestamp = java.time.LocalTime.now().toString();
-        String logEntry = "[" + timestamp + "] " + event;
-        events.add(logEntry);
-        
-        if (events.size() > MAX_EVENTS) {
-            events.remove(0);
+    /**
+     * La capacidad se redondea a la siguiente potencia de dos.
+     */
+    public EventLogger(int capacidad) {
+        int n = Integer.highestOneBit(Math.max(capacidad - 1, 1)) << 1;
+        this.mascara = n - 1;
+        this.eventos = new TipoEvento[n];
+        this.textos = new String[n];
+        this.nombres = new String[n];
+        this.ids = new int[n];
+        this.memorias = new int[n];
+        this.disponibles = new int[n];
+        this.horas = new long[n];
+        this.publicado = new AtomicLongArray(n);
+        for (int i = 0; i < n; i++) {
+            publicado.set(i, LIBRE);
         }
-        
-        System.out.println(logEntry);
+        this.siguiente = new AtomicLong(0);
+        this.inicio = 0;
+    }
+
+    public int getCapacidad() {
+        return mascara + 1;
+    }
+
+    /**
+     * Eventos registrados desde que se creo el logger (incluye los pisados).
+     */
+    public long getRegistrados() {
+        return siguiente.get();
     }
 
-    public synchronized List<String> getEvents() {
-        return new ArrayList<>(events);
+    /**
+     * Reserva la secuencia del proximo evento, para escribir(secuencia, ...).
+     */
+    long reservar() {
+        return siguiente.getAndIncrement();
     }
 
-    public synchronized String getEventsAsString() {
+    /**
+     * Evento de texto libre. El String ya viene armado, asi que en el camino
+     * de planificacion conviene registrar(TipoEvento, ...).
+     */
+    public void logEvent(String event) {
+        registrar(TipoEvento.TEXTO, event, -1, null, 0, 0);
+    }
+
+    /**
+     * Como suscriptor del Planificador: guarda el evento para mostrarlo. La
+     * memoria que se muestra es la del proceso (o la total en INICIO) y la
+     * disponible despues del evento.
+     */
+    @Override
+    public void evento(TipoEvento tipo, long ciclo, int pid, Proceso proceso, int memoriaAntes, int memoriaDespues,
+            String detalle) {
+        registrar(tipo, detalle, pid, proceso != null ? proceso.getNombre() : null,
+                proceso != null ? proceso.getMemoriaRequerida() : memoriaAntes, memoriaDespues);
+    }
+
+    /**
+     * Guarda el evento en su casilla. Sin locks ni asignaciones; solo espera
+     * si otro productor esta escribiendo la misma casilla una vuelta antes.
+     * Si la casilla ya tiene publicada una secuencia mas nueva (este
+     * productor se demoro una vuelta entera del buffer) el evento se
+     * descarta: de todos modos habria quedado pisado.
+     */
+    public void registrar(TipoEvento evento, String texto, int id, String nombre, int memoria, int disponible) {
+        escribir(reservar(), evento, texto, id, nombre, memoria, disponible);
+    }
+
+    /**
+     * Escribe el evento con una secuencia ya reservada en siguiente. Aparte
+     * para poder probar un productor que llega tarde.
+     */
+    void escribir(long secuencia, TipoEvento evento, String texto, int id, String nombre, int memoria,
+            int disponible) {
+        int i = (int) (secuencia & mascara);
+        long previo;
+        do {
+            previo = publicado.get(i);
+            if (previo > secuencia) {
+                return;
+            }
+        } while (previo == ESCRIBIENDO || !publicado.compareAndSet(i, previo, ESCRIBIENDO));
+        VarHandle.storeStoreFence();
+        eventos[i] = evento;
+        textos[i] = texto;
+        ids[i] = id;
+        nombres[i] = nombre;
+        memorias[i] = memoria;
+        disponibles[i] = disponible;
+        horas[i] = System.currentTimeMillis();
+        publicado.set(i, secuencia);
+
+        if (imprimir) {
+            String linea = leer(secuencia);
+            if (linea != null) {
+                System.out.println(linea);
+            }
+        }
+    }
+
+    /**
+     * Valor inicial de imprimir para los loggers que se creen despues. Por
+     * defecto no se imprime.
+     */
+    public static void setImprimirPorDefecto(boolean imprimir) {
+        imprimirPorDefecto = imprimir;
+    }
+
+    /**
+     * Con true cada evento ademas se arma y se imprime en consola al
+     * registrarlo (solo para depurar: vuelve caro el registro).
+     */
+    public void setImprimir(boolean imprimir) {
+        this.imprimir = imprimir;
+    }
+
+    /**
+     * Eventos retenidos, del mas viejo al mas nuevo, ya formateados.
+     */
+    public List<String> getEvents() {
+        long hasta = siguiente.get();
+        long desde = Math.max(inicio, hasta - getCapacidad());
+        List<String> salida = new ArrayList<>((int) (hasta - desde));
+        for (long s = desde; s < hasta; s++) {
+            String linea = leer(s);
+            if (linea != null) {
+                salida.add(linea);
+            }
+        }
+        return salida;
+    }
+
+    public String getEventsAsString() {
         StringBuilder sb = new StringBuilder();
-        for (String event : events) {
+        for (String event : getEvents()) {
             sb.append(event).append("\n");
         }
         return sb.toString();
     }
 
-    public synchronized void clearEvents() {
-        events.clear();
+    /**
+     * Olvida los eventos registrados hasta ahora.
+     */
+    public void clearEvents() {
+        inicio = siguiente.get();
+    }
+
+    /**
+     * Arma el texto del evento de la secuencia indicada, o null si todavia no
+     * se publico o ya fue pisado.
+     */
+    private String leer(long secuencia) {
+        int i = (int) (secuencia & mascara);
+        if (publicado.get(i) != secuencia) {
+            return null;
+        }
+        TipoEvento evento = eventos[i];
+        String texto = textos[i];
+        String nombre = nombres[i];
+        int id = ids[i];
+        int memoria = memorias[i];
+        int disponible = disponibles[i];
+        long hora = horas[i];
+        VarHandle.acquireFence();
+        if (publicado.get(i) != secuencia) {
+            return null;
+        }
+        StringBuilder sb = new StringBuilder(96);
+        sb.append('[').append(LocalTime.ofInstant(Instant.ofEpochMilli(hora), ZoneId.systemDefault())).append("] ");
+        String plantilla = PLANTILLAS.get(evento);
+        int pos = 0;
+        while (pos < plantilla.length()) {
+            int abre = plantilla.indexOf('{', pos);
+            if (abre < 0) {
+                sb.append(plantilla, pos, plantilla.length());
+                break;
+            }
+            int cierra = plantilla.indexOf('}', abre);
+            sb.append(plantilla, pos, abre);
+            switch (plantilla.substring(abre + 1, cierra)) {
+                case "id":
+                    sb.append(id);
+                    break;
+                case "nombre":
+                    sb.append(nombre);
+                    break;
+                case "mem":
+                    sb.append(memoria);
+                    break;
+                case "disp":
+                    sb.append(disponible);
+                    break;
+                case "texto":
+                    sb.append(texto);
+                    break;
+            }
+            pos = cierra + 1;
+        }
+        return sb.toString();
     }
 }
\ No newline at end of file
@@ -0,0 +1,175 @@
+package modelos;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Iterator;
+import micelaneos.*;
+
+/**
+ * Guion para repetir una corrida a partir de su TrazaEventos: cuando llego
+ * cada proceso y cuanto duro cada una de sus E/S. Con el guion puesto el
+ * MotorSimulacion admite los procesos en el ciclo grabado y el Planificador
+ * usa la duracion grabada para la k-esima E/S de cada proceso, asi que la
+ * misma carga se puede comparar con otra politica, otra cantidad de CPUs u
+ * otra memoria sin depender de los tiempos de los hilos de la corrida
+ * original.
+ *
+ * Si un proceso hace mas E/S que las grabadas, las que sobran usan la
+ * duracion de su definicion.
+ */
+public class GuionReproduccion {
+    private int[] pidsLlegada;
+    private long[] ciclosLlegada;
+    private int llegadas;
+    private int siguienteLlegada;
+    private int[][] duracionesES;
+    private int[] cantidadES;
+    private int[] usadasES;
+    private Proceso[] definiciones;
+    private long esGuionadas;
+    private long esSinGuion;
+
+    /**
+     * Lee la traza completa. Falla si el anillo se dio vuelta y se perdieron
+     * eventos, porque faltarian llegadas o E/S.
+     */
+    public GuionReproduccion(String traza) throws IOException {
+        this.pidsLlegada = new int[64];
+        this.ciclosLlegada = new long[64];
+        this.duracionesES = new int[64][];
+        this.cantidadES = new int[64];
+        this.usadasES = new int[64];
+        long[] inicioES = new long[64];
+        try (LectorTraza lector = new LectorTraza(traza)) {
+            if (lector.getCantidad() < lector.getEscritos()) {
+                throw new IOException(traza + " esta incompleta: se pisaron "
+                        + (lector.getEscritos() - lector.getCantidad()) + " eventos; grabala con mas capacidad");
+            }
+            while (lector.siguiente()) {
+                int pid = lector.getPid();
+                if (pid >= cantidadES.length) {
+                    int capacidad = Math.max(pid + 1, cantidadES.length * 2);
+                    duracionesES = Arrays.copyOf(duracionesES, capacidad);
+                    cantidadES = Arrays.copyOf(cantidadES, capacidad);
+                    usadasES = Arrays.copyOf(usadasES, capacidad);
+                    inicioES = Arrays.copyOf(inicioES, capacidad);
+                }
+                ProcessState desde = ProcessState.desdeCodigo(lector.getArgA() >> 8);
+                ProcessState hacia = ProcessState.desdeCodigo(lector.getArgA() & 0xFF);
+                switch (lector.getCodigo()) {
+                    case TrazaEventos.ADMISION:
+                        agregarLlegada(pid, lector.getCiclo());
+                        break;
+                    case TrazaEventos.BLOQUEO:
+                        inicioES[pid] = lector.getCiclo();
+                        break;
+                    case TrazaEventos.SUSPENSION:
+                        // se bloqueo y quedo suspendido en el mismo paso
+                        if (desde == ProcessState.EJECUCION && hacia == ProcessState.SUSPENDIDO_BLOQUEADO) {
+                            inicioES[pid] = lector.getCiclo();
+                        }
+                        break;
+                    case TrazaEventos.DESBLOQUEO:
+                        // el fin de E/S se programo en inicio + duracion + 1
+                        agregarES(pid, (int) Math.max(0, lector.getCiclo() - inicioES[pid] - 1));
+                        break;
+                    default:
+                        break;
+                }
+            }
+        }
+        if (llegadas == 0) {
+            throw new IOException(traza + " no tiene llegadas de procesos");
+        }
+    }
+
+    private void agregarLlegada(int pid, long ciclo) {
+        if (llegadas == pidsLlegada.length) {
+            pidsLlegada = Arrays.copyOf(pidsLlegada, llegadas * 2);
+            ciclosLlegada = Arrays.copyOf(ciclosLlegada, llegadas * 2);
+        }
+        pidsLlegada[llegadas] = pid;
+        ciclosLlegada[llegadas] = ciclo;
+        llegadas++;
+    }
+
+    private void agregarES(int pid, int duracion) {
+        int[] d = duracionesES[pid];
+        if (d == null) {
+            d = new int[4];
+        } else if (cantidadES[pid] == d.length) {
+            d = Arrays.copyOf(d, d.length * 2);
+        }
+        d[cantidadES[pid]++] = duracion;
+        duracionesES[pid] = d;
+    }
+
+    /**
+     * Toma de la carga las definiciones de los procesos que aparecen en la
+     * traza. Falla si la traza admite un proceso que la carga no tiene.
+     */
+    public void cargarDefiniciones(Iterator<Proceso> carga) {
+        int maximo = 0;
+        for (int i = 0; i < llegadas; i++) {
+            maximo = Math.max(maximo, pidsLlegada[i]);
+        }
+        definiciones = new Proceso[maximo + 1];
+        while (carga.hasNext()) {
+            Proceso p = carga.next();
+            if (p.getId() <= maximo) {
+                definiciones[p.getId()] = p;
+            }
+        }
+        for (int i = 0; i < llegadas; i++) {
+            if (definiciones[pidsLlegada[i]] == null) {
+                throw new IllegalStateException("La traza admite el proceso " + pidsLlegada[i]
+                        + " y la carga no lo tiene");
+            }
+        }
+    }
+
+    public int getLlegadas() {
+        return llegadas;
+    }
+
+    public boolean quedanLlegadas() {
+        return siguienteLlegada < llegadas;
+    }
+
+    /**
+     * Siguiente proceso que llega hasta el ciclo indicado, o null si el
+     * proximo llega despues.
+     */
+    public Proceso siguienteLlegada(long ciclo) {
+        if (siguienteLlegada >= llegadas || ciclosLlegada[siguienteLlegada] > ciclo) {
+            return null;
+        }
+        return definiciones[pidsLlegada[siguienteLlegada++]];
+    }
+
+    /**
+     * Duracion de la proxima E/S del proceso: la grabada o, si ya no quedan,
+     * la de su definicion.
+     */
+    public int duracionES(int pid, int definida) {
+        if (pid >= 0 && pid < cantidadES.length && usadasES[pid] < cantidadES[pid]) {
+            esGuionadas++;
+            return duracionesES[pid][usadasES[pid]++];
+        }
+        esSinGuion++;
+        return definida;
+    }
+
+    public long getESGuionadas() {
+        return esGuionadas;
+    }
+
+    public long getESSinGuion() {
+        return esSinGuion;
+    }
+
+    public String getResumen() {
+        return String.format("Reproduccion: %d llegadas, %d E/S de la traza, %d E/S con la duracion definida",
+                llegadas, esGuionadas, esSinGuion);
+    }
+}
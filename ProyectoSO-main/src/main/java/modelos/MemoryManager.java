@@ -1,5 +1,8 @@
 package modelos;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import micelaneos.*;
 
 public class MemoryManager {
@@ -44,6 +47,16 @@ public class MemoryManager {
         return totalMemory;
     }
 
+    synchronized void escribirEstado(DataOutputStream out) throws IOException {
+        out.writeInt(totalMemory);
+        out.writeInt(availableMemory);
+    }
+
+    synchronized void leerEstado(DataInputStream in) throws IOException {
+        totalMemory = in.readInt();
+        availableMemory = in.readInt();
+    }
+
     public synchronized double getMemoryUtilization() {
         return ((double)(totalMemory - availableMemory) / totalMemory) * 100;
     }
@@ -0,0 +1,214 @@
+package modelos;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import micelaneos.*;
+
+/**
+ * Motor de eventos discretos. Avanza la simulacion ciclo a ciclo sacando
+ * eventos de una cola ordenada por ciclo, sin ningun sleep: las CPUs y el
+ * reloj son eventos y no hilos. Los fines de E/S vienen de la rueda de
+ * temporizadores del Planificador.
+ *
+ * Dentro de un ciclo el orden es: E/S completadas, CPUs (por id) y por
+ * ultimo el reloj, igual que en el modo con hilos.
+ *
+ * Con una fuente de procesos (setFuente) los procesos se admiten a medida que
+ * hay lugar: al empezar y al inicio de cada ciclo se admiten hasta tener
+ * "ventana" procesos activos. Con un GuionReproduccion (setGuion) cada
+ * proceso se admite en el ciclo en que llego en la corrida grabada.
+ */
+public class MotorSimulacion {
+    private static final int EVENTO_CPU = 1;
+    private static final int EVENTO_RELOJ = 2;
+
+    private Planificador planificador;
+    private Reloj reloj;
+    private CPU[] cpus;
+    private ColaEventos eventos;
+    private long ciclo;
+    private boolean iniciado;
+    private Iterator<Proceso> fuente;
+    private int ventana;
+    private long admitidosFuente;
+    private GuionReproduccion guion;
+    private String archivoCheckpoint;
+    private long cadaCheckpoint;
+
+    public MotorSimulacion(Planificador planificador, Reloj reloj, CPU... cpus) {
+        this.planificador = planificador;
+        this.reloj = reloj;
+        this.cpus = cpus;
+        this.eventos = new ColaEventos();
+        this.ciclo = 0;
+        this.iniciado = false;
+        for (CPU cpu : cpus) {
+            cpu.setMotor(this);
+        }
+    }
+
+    public Planificador getPlanificador() {
+        return planificador;
+    }
+
+    public CPU[] getCpus() {
+        return cpus;
+    }
+
+    public Reloj getReloj() {
+        return reloj;
+    }
+
+    /**
+     * Procesos tomados de la fuente hasta ahora.
+     */
+    public long getAdmitidosFuente() {
+        return admitidosFuente;
+    }
+
+    /**
+     * Guarda un checkpoint en el archivo cada tantos ciclos (0 para no
+     * guardar). Se escribe al terminar el ciclo, despues del reloj.
+     */
+    public void setCheckpoints(String archivo, long cada) {
+        this.archivoCheckpoint = archivo;
+        this.cadaCheckpoint = cada;
+    }
+
+    /**
+     * Deja el motor listo para seguir desde el fin del ciclo indicado; lo usa
+     * Checkpoint despues de restaurar el resto del estado. Descarta de la
+     * fuente los procesos que ya se habian admitido.
+     */
+    void reanudar(long ciclo, long admitidosFuente) {
+        if (guion != null) {
+            throw new IllegalStateException("No se puede reanudar un checkpoint durante una reproduccion");
+        }
+        for (long i = 0; i < admitidosFuente; i++) {
+            if (fuente == null || !fuente.hasNext()) {
+                throw new IllegalStateException("El checkpoint admitio " + admitidosFuente
+                        + " procesos de la carga y la fuente actual tiene " + i);
+            }
+            fuente.next();
+        }
+        this.admitidosFuente = admitidosFuente;
+        this.ciclo = ciclo;
+        this.eventos = new ColaEventos();
+        for (int i = 0; i < cpus.length; i++) {
+            eventos.insertar(ciclo + 1, EVENTO_CPU, i, 0);
+        }
+        eventos.insertar(ciclo + 1, EVENTO_RELOJ, 0, 0);
+        this.iniciado = true;
+    }
+
+    public long getCiclo() {
+        return ciclo;
+    }
+
+    public int getEventosPendientes() {
+        return eventos.getSize();
+    }
+
+    /**
+     * Admite los procesos de la fuente de a poco, con a lo sumo ventana
+     * procesos activos (admitidos y no terminados) a la vez.
+     */
+    public void setFuente(Iterator<Proceso> fuente, int ventana) {
+        this.fuente = fuente;
+        this.ventana = Math.max(1, ventana);
+    }
+
+    /**
+     * Reproduce las llegadas y las E/S de una traza grabada; reemplaza a la
+     * fuente.
+     */
+    public void setGuion(GuionReproduccion guion) {
+        this.guion = guion;
+        this.fuente = null;
+        planificador.setGuion(guion);
+    }
+
+    public boolean terminado() {
+        if (fuente != null && fuente.hasNext()) {
+            return false;
+        }
+        if (guion != null && guion.quedanLlegadas()) {
+            return false;
+        }
+        long admitidos = planificador.getAdmitidos();
+        return admitidos > 0 && planificador.getTerminados() >= admitidos;
+    }
+
+    private void admitir() {
+        if (guion != null) {
+            Proceso p = guion.siguienteLlegada(ciclo);
+            while (p != null) {
+                planificador.admitir(p);
+                p = guion.siguienteLlegada(ciclo);
+            }
+            return;
+        }
+        if (fuente == null) {
+            return;
+        }
+        while (fuente.hasNext() && planificador.getAdmitidos() - planificador.getTerminados() < ventana) {
+            planificador.admitir(fuente.next());
+            admitidosFuente++;
+        }
+    }
+
+    /**
+     * Ejecuta hasta que todos los procesos terminen o se alcance maxCiclos.
+     * Se puede volver a llamar para continuar una simulacion detenida.
+     *
+     * @return ciclos simulados en esta llamada
+     */
+    public long ejecutar(long maxCiclos) {
+        if (!iniciado) {
+            admitir();
+            for (int i = 0; i < cpus.length; i++) {
+                eventos.insertar(ciclo + 1, EVENTO_CPU, i, 0);
+            }
+            eventos.insertar(ciclo + 1, EVENTO_RELOJ, 0, 0);
+            iniciado = true;
+        }
+
+        long inicio = ciclo;
+        long limite = inicio + maxCiclos;
+        while (!eventos.isEmpty() && eventos.cicloSiguiente() <= limite) {
+            eventos.extraer();
+            if (eventos.getCiclo() > ciclo) {
+                ciclo = eventos.getCiclo();
+                planificador.completarES(ciclo);
+                admitir();
+            }
+            switch (eventos.getTipo()) {
+                case EVENTO_CPU:
+                    cpus[eventos.getDatoA()].ciclo();
+                    eventos.insertar(ciclo + 1, EVENTO_CPU, eventos.getDatoA(), 0);
+                    break;
+                case EVENTO_RELOJ:
+                    reloj.tick();
+                    eventos.insertar(ciclo + 1, EVENTO_RELOJ, 0, 0);
+                    if (terminado()) {
+                        return ciclo - inicio;
+                    }
+                    if (cadaCheckpoint > 0 && ciclo % cadaCheckpoint == 0) {
+                        guardarCheckpoint();
+                    }
+                    break;
+            }
+        }
+        return ciclo - inicio;
+    }
+
+    private void guardarCheckpoint() {
+        try {
+            Checkpoint.guardar(this, archivoCheckpoint);
+        } catch (IOException ex) {
+            Logger.getLogger(MotorSimulacion.class.getName()).log(Level.SEVERE, null, ex);
+        }
+    }
+}
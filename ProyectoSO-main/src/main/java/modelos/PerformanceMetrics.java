@@ -1,5 +1,8 @@
 package modelos;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import micelaneos.*;
 
 public class PerformanceMetrics {
@@ -9,8 +12,18 @@ public class PerformanceMetrics {
     private double totalWaitTime;
     private double totalResponseTime;
     private int totalCycles;
+    private int numCPUs;
+    private int[] cpuTimePorCPU;
+    private int[] systemTimePorCPU;
 
     public PerformanceMetrics() {
+        this(1);
+    }
+
+    public PerformanceMetrics(int numCPUs) {
+        this.numCPUs = numCPUs;
+        this.cpuTimePorCPU = new int[numCPUs];
+        this.systemTimePorCPU = new int[numCPUs];
         this.totalCpuTime = 0;
         this.totalSystemTime = 0;
         this.processesCompleted = 0;
@@ -29,15 +42,26 @@ public class PerformanceMetrics {
         this.totalCycles++;
     }
 
+    public synchronized void incrementCpuTime(int cpuId) {
+        this.cpuTimePorCPU[cpuId - 1]++;
+        incrementCpuTime();
+    }
+
+    public synchronized void incrementSystemTime(int cpuId) {
+        this.systemTimePorCPU[cpuId - 1]++;
+        incrementSystemTime();
+    }
+
     public synchronized void recordProcessCompletion(Proceso proceso) {
         this.processesCompleted++;
         this.totalWaitTime += proceso.getTiempoEspera();
         this.totalResponseTime += proceso.getTiempoRespuesta();
     }
 
+    // totalCycles suma los ciclos de todas las CPUs; el throughput es por ciclo de reloj
     public double getThroughput() {
         if (totalCycles == 0) return 0;
-        return (double) processesCompleted / totalCycles;
+        return (double) processesCompleted * numCPUs / totalCycles;
     }
 
     public double getCpuUtilization() {
@@ -45,6 +69,16 @@ public class PerformanceMetrics {
         return (double) totalCpuTime / totalCycles * 100;
     }
 
+    public synchronized double getCpuUtilization(int cpuId) {
+        int total = cpuTimePorCPU[cpuId - 1] + systemTimePorCPU[cpuId - 1];
+        if (total == 0) return 0;
+        return (double) cpuTimePorCPU[cpuId - 1] / total * 100;
+    }
+
+    public int getNumCPUs() {
+        return numCPUs;
+    }
+
     public double getAverageWaitTime() {
         if (processesCompleted == 0) return 0;
         return totalWaitTime / processesCompleted;
@@ -55,30 +89,24 @@ public class PerformanceMetrics {
         return totalResponseTime / processesCompleted;
     }
 
-    public double getFairness(List allProcesses) {
+    public double getFairness(Cola<Proceso> allProcesses) {
         if (allProcesses.getSize() == 0) return 1.0;
         
         double sumWaitTimes = 0;
         double sumSquaredDiff = 0;
         int count = 0;
         
-        Nodo current = allProcesses.getHead();
-        while (current != null) {
-            Proceso p = (Proceso) current.getValue();
+        for (Proceso p : allProcesses) {
             sumWaitTimes += p.getTiempoEspera();
             count++;
-            current = current.getpNext();
         }
         
         if (count == 0) return 1.0;
         double avgWaitTime = sumWaitTimes / count;
         
-        current = allProcesses.getHead();
-        while (current != null) {
-            Proceso p = (Proceso) current.getValue();
+        for (Proceso p : allProcesses) {
             double diff = p.getTiempoEspera() - avgWaitTime;
             sumSquaredDiff += diff * diff;
-            current = current.getpNext();
         }
         
         double variance = sumSquaredDiff / count;
@@ -97,8 +125,39 @@ public class PerformanceMetrics {
         return totalCycles;
     }
 
+    synchronized void escribirEstado(DataOutputStream out) throws IOException {
+        out.writeInt(numCPUs);
+        out.writeInt(totalCpuTime);
+        out.writeInt(totalSystemTime);
+        out.writeInt(processesCompleted);
+        out.writeDouble(totalWaitTime);
+        out.writeDouble(totalResponseTime);
+        out.writeInt(totalCycles);
+        for (int i = 0; i < numCPUs; i++) {
+            out.writeInt(cpuTimePorCPU[i]);
+            out.writeInt(systemTimePorCPU[i]);
+        }
+    }
+
+    synchronized void leerEstado(DataInputStream in) throws IOException {
+        int n = in.readInt();
+        if (n != numCPUs) {
+            throw new IOException("Las metricas guardadas son de " + n + " CPUs y esta simulacion tiene " + numCPUs);
+        }
+        totalCpuTime = in.readInt();
+        totalSystemTime = in.readInt();
+        processesCompleted = in.readInt();
+        totalWaitTime = in.readDouble();
+        totalResponseTime = in.readDouble();
+        totalCycles = in.readInt();
+        for (int i = 0; i < numCPUs; i++) {
+            cpuTimePorCPU[i] = in.readInt();
+            systemTimePorCPU[i] = in.readInt();
+        }
+    }
+
     public String getMetricsString() {
-        return String.format(
+        String metrics = String.format(
             "Throughput: %.4f procesos/ciclo\n" +
             "Utilización CPU: %.2f%%\n" +
             "Tiempo Espera Promedio: %.2f ciclos\n" +
@@ -112,5 +171,13 @@ public class PerformanceMetrics {
             processesCompleted,
             totalCycles
         );
+        if (numCPUs > 1) {
+            StringBuilder porCPU = new StringBuilder(metrics);
+            for (int i = 1; i <= numCPUs; i++) {
+                porCPU.append(String.format("\nCPU %d: %.2f%%", i, getCpuUtilization(i)));
+            }
+            metrics = porCPU.toString();
+        }
+        return metrics;
     }
 }
\ No newline at end of file
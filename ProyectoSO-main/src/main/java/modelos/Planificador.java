@@ -1,78 +1,222 @@
 package modelos;
 
 import controlador.ControladorSimulacion;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import micelaneos.*;
 
 public class Planificador {
-    private List readyList;
-    private List blockedList;
-    private List exitList;
-    private List allProcessList;
-    private List suspendedReadyList;
-    private List suspendedBlockedList;
+    private ColasListos readyList;
+    private Cola<Proceso> blockedList;
+    private Cola<Proceso> exitList;
+    private Cola<Proceso> allProcessList;
+    private Cola<Proceso> suspendedReadyList;
+    private Cola<Proceso> suspendedBlockedList;
     private ControladorSimulacion controlador;
     private EventLogger logger;
-    public int selectedAlgorithm;
+    private volatile int selectedAlgorithm;
+    private final Object cambioPolitica = new Object();
     private MemoryManager memoryManager;
+    private TablaProcesos tabla;
+    private TablaTransiciones transiciones;
+    private RuedaTemporizadores ruedaES;
+    private Semaphore mutexES;
+    private boolean retenerTerminados;
+    private TrazaEventos traza;
+    private GuionReproduccion guion;
+    private volatile long cicloActual;
+    private long admitidosSueltos;
+    private long descartados;
+    private volatile SuscriptorEventos[] suscriptores;
+    private final AtomicInteger vistasSucias = new AtomicInteger(0);
     
+    public static final int MEMORIA_POR_DEFECTO = 500;
+    public static final int VISTA_LISTOS = 1;
+    public static final int VISTA_BLOQUEADOS = 2;
+    public static final int VISTA_SUSPENDIDOS = 4;
+    public static final int VISTA_SALIDA = 8;
+    public static final int VISTA_PCBS = 16;
+    public static final int VISTA_TODAS = 31;
     private static final int LOW_MEMORY_THRESHOLD = 50;
     private static final int RESUME_MEMORY_THRESHOLD = 100;
 
     public Planificador(List readyList, List blockedList, List exitList, List allProcess, 
                        List suspReadyList, List suspBlockList, ControladorSimulacion controlador) {
+        this(readyList, blockedList, exitList, allProcess, suspReadyList, suspBlockList, controlador, 1);
+    }
+
+    public Planificador(List readyList, List blockedList, List exitList, List allProcess, 
+                       List suspReadyList, List suspBlockList, ControladorSimulacion controlador, int numCPUs) {
+        this(readyList, blockedList, exitList, allProcess, suspReadyList, suspBlockList, controlador, numCPUs, MEMORIA_POR_DEFECTO);
+    }
+
+    public Planificador(List readyList, List blockedList, List exitList, List allProcess, 
+                       List suspReadyList, List suspBlockList, ControladorSimulacion controlador, int numCPUs,
+                       int memoriaTotal) {
         this.controlador = controlador;
-        this.readyList = new List();
-        this.blockedList = blockedList;
-        this.exitList = exitList;
-        this.allProcessList = allProcess;
-        this.suspendedReadyList = suspReadyList;
-        this.suspendedBlockedList = suspBlockList;
+        this.readyList = new ColasListos(numCPUs, comparadorPolitica(0));
+        this.blockedList = new Cola<>();
+        this.exitList = new Cola<>();
+        this.allProcessList = new Cola<>();
+        this.suspendedReadyList = new Cola<>();
+        this.suspendedBlockedList = new Cola<>();
         this.logger = new EventLogger();
-        this.memoryManager = new MemoryManager(500);
+        this.suscriptores = new SuscriptorEventos[] {logger};
+        this.memoryManager = new MemoryManager(memoriaTotal);
+        this.tabla = new TablaProcesos(Math.max(allProcess.getSize(), 1));
+        this.transiciones = new TablaTransiciones();
+        this.ruedaES = new RuedaTemporizadores();
+        this.mutexES = new Semaphore(1);
+        this.retenerTerminados = true;
+        this.admitidosSueltos = 0;
+        this.descartados = 0;
         
+        copiar(allProcess, allProcessList);
+        copiarEnTabla(blockedList, this.blockedList);
+        copiarEnTabla(exitList, this.exitList);
+        copiarEnTabla(suspReadyList, this.suspendedReadyList);
+        copiarEnTabla(suspBlockList, this.suspendedBlockedList);
         initializeProcessMemory(readyList);
-        logger.logEvent("Sistema iniciado. Memoria total: " + memoryManager.getTotalMemory() + 
-                       " MB. Memoria disponible: " + memoryManager.getAvailableMemory() + " MB");
+        publicar(TipoEvento.INICIO, null, memoryManager.getTotalMemory(), null);
+    }
+
+    private static void copiar(List origen, Cola<Proceso> destino) {
+        Nodo current = origen.getHead();
+        while (current != null) {
+            destino.agregar((Proceso) current.getValue());
+            current = current.getpNext();
+        }
+    }
+
+    private void copiarEnTabla(List origen, Cola<Proceso> destino) {
+        Nodo current = origen.getHead();
+        while (current != null) {
+            tabla.agregar(destino, (Proceso) current.getValue());
+            current = current.getpNext();
+        }
     }
 
     private void initializeProcessMemory(List initialReadyList) {
         Nodo current = initialReadyList.getHead();
         while (current != null) {
-            Proceso p = (Proceso) current.getValue();
-            Nodo next = current.getpNext();
-            
-            if (memoryManager.canAllocate(p.getMemoriaRequerida())) {
-                memoryManager.allocate(p.getMemoriaRequerida());
-                p.setInMemory(true);
-                p.setEstado("Listo");
-                readyList.appendLast(p);
-                logger.logEvent("INICIALIZACIÓN: Proceso " + p.getId() + " (" + p.getNombre() + 
-                              ") cargado en memoria. Memoria asignada: " + p.getMemoriaRequerida() + 
-                              " MB. Disponible: " + memoryManager.getAvailableMemory() + " MB");
-            } else {
-                p.suspender();
-                p.setInMemory(false);
-                suspendedReadyList.appendLast(p);
-                logger.logEvent("INICIALIZACIÓN: Proceso " + p.getId() + " (" + p.getNombre() + 
-                              ") suspendido por falta de memoria. Requiere: " + p.getMemoriaRequerida() + 
-                              " MB. Disponible: " + memoryManager.getAvailableMemory() + " MB");
-            }
-            
-            current = next;
+            cargar((Proceso) current.getValue(), "INICIALIZACIÓN");
+            current = current.getpNext();
         }
         
         updateAllLists();
     }
 
+    private void cargar(Proceso p, String evento) {
+        tabla.registrar(p);
+        p.setEstadoProceso(ProcessState.NUEVO);
+        
+        if (memoryManager.canAllocate(p.getMemoriaRequerida())) {
+            int antes = asignarMemoria(p);
+            p.setInMemory(true);
+            transicion(p, ProcessState.LISTO, 0);
+            readyList.encolar(p, -1);
+            publicar(TipoEvento.CARGADO, p, antes, evento);
+        } else {
+            transicion(p, ProcessState.SUSPENDIDO_LISTO, 0);
+            p.setInMemory(false);
+            tabla.agregar(suspendedReadyList, p);
+            publicar(TipoEvento.SIN_MEMORIA, p, evento);
+        }
+    }
+
+    /**
+     * Admite un proceso nuevo con la simulacion en marcha: pasa a listos o,
+     * si no hay memoria, a Suspendido-Listo. El llamador debe tener el mutex
+     * de las CPUs.
+     */
+    public void admitir(Proceso p) {
+        if (retenerTerminados) {
+            allProcessList.agregar(p);
+        } else {
+            admitidosSueltos++;
+        }
+        cargar(p, "ADMISIÓN");
+        this.updateReadyList();
+        this.updateSuspendedLists();
+        this.updateProcessList();
+    }
+
+    /**
+     * Con false los procesos que terminan solo se cuentan y no pasan a la
+     * lista de salida, y los que se admitan despues no se guardan en la de
+     * todos los procesos. Asi la memoria depende de los procesos activos y
+     * no del largo de la carga.
+     */
+    public void setRetenerTerminados(boolean retenerTerminados) {
+        this.retenerTerminados = retenerTerminados;
+    }
+
+    public boolean isRetenerTerminados() {
+        return retenerTerminados;
+    }
+
+    /**
+     * Procesos admitidos en total, se hayan guardado o no.
+     */
+    public long getAdmitidos() {
+        return allProcessList.getSize() + admitidosSueltos;
+    }
+
+    /**
+     * Procesos terminados en total, se hayan guardado o no.
+     */
+    public long getTerminados() {
+        return exitList.getSize() + descartados;
+    }
+
     public int getSelectedAlgorithm() {
         return selectedAlgorithm;
     }
 
-    public List getReadyList() {
+    public ColasListos getReadyList() {
         return readyList;
     }
 
+    /**
+     * Hay procesos listos en alguna cola. Es la misma condicion con la que
+     * una CPU roba trabajo, asi que alcanza para desalojar por quantum aunque
+     * la cola propia este vacia.
+     */
+    public boolean hayProcesosListos() {
+        return readyList.hayListos();
+    }
+
+    public boolean haySuspendidos() {
+        return suspendedReadyList.getSize() > 0 || suspendedBlockedList.getSize() > 0;
+    }
+
+    public Cola<Proceso> getBlockedList() {
+        return blockedList;
+    }
+
+    public Cola<Proceso> getSuspendedReadyList() {
+        return suspendedReadyList;
+    }
+
+    public Cola<Proceso> getSuspendedBlockedList() {
+        return suspendedBlockedList;
+    }
+
+    public Cola<Proceso> getExitList() {
+        return exitList;
+    }
+
+    public Cola<Proceso> getAllProcessList() {
+        return allProcessList;
+    }
+
     public void setSelectedAlgorithm(int selectedAlgorithm) {
         this.selectedAlgorithm = selectedAlgorithm;
     }
@@ -84,33 +228,149 @@ public class Planificador {
     public MemoryManager getMemoryManager() {
         return memoryManager;
     }
+
+    public TablaProcesos getTablaProcesos() {
+        return tabla;
+    }
+
+    public TablaTransiciones getTransiciones() {
+        return transiciones;
+    }
+
+    public TrazaEventos getTraza() {
+        return traza;
+    }
+
+    public GuionReproduccion getGuion() {
+        return guion;
+    }
+
+    /**
+     * Con un guion las E/S duran lo que duraron en la corrida grabada.
+     */
+    public void setGuion(GuionReproduccion guion) {
+        this.guion = guion;
+    }
+
+    /**
+     * Registra cada cambio de estado en la traza (null para no registrar).
+     * Los procesos ya admitidos (los de la lista inicial) se registran como
+     * admitidos ahora, para que la traza tenga todas las llegadas.
+     */
+    public void setTraza(TrazaEventos traza) {
+        this.traza = traza;
+        if (traza == null) return;
+        for (Proceso p : allProcessList) {
+            ProcessState estado = p.getEstadoProceso();
+            if (estado != ProcessState.NUEVO) {
+                traza.registrar(cicloActual, 0, p.getId(), TrazaEventos.ADMISION,
+                        ProcessState.NUEVO.ordinal() << 8 | estado.ordinal(), p.getPc());
+            }
+        }
+    }
+    
+    /**
+     * Agrega un suscriptor a los eventos del planificador. El EventLogger
+     * (getLogger) ya esta suscrito.
+     */
+    public synchronized void suscribir(SuscriptorEventos suscriptor) {
+        SuscriptorEventos[] actuales = suscriptores;
+        SuscriptorEventos[] nuevos = Arrays.copyOf(actuales, actuales.length + 1);
+        nuevos[actuales.length] = suscriptor;
+        suscriptores = nuevos;
+    }
+
+    public synchronized void desuscribir(SuscriptorEventos suscriptor) {
+        SuscriptorEventos[] actuales = suscriptores;
+        for (int i = 0; i < actuales.length; i++) {
+            if (actuales[i] == suscriptor) {
+                SuscriptorEventos[] nuevos = new SuscriptorEventos[actuales.length - 1];
+                System.arraycopy(actuales, 0, nuevos, 0, i);
+                System.arraycopy(actuales, i + 1, nuevos, i, nuevos.length - i);
+                suscriptores = nuevos;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Evento sin cambio de memoria.
+     */
+    private void publicar(TipoEvento tipo, Proceso p, String detalle) {
+        if (suscriptores.length == 0) return;
+        int disponible = memoryManager.getAvailableMemory();
+        publicar(tipo, p, disponible, disponible, detalle);
+    }
+
+    private void publicar(TipoEvento tipo, Proceso p, int memoriaAntes, String detalle) {
+        if (suscriptores.length == 0) return;
+        publicar(tipo, p, memoriaAntes, memoryManager.getAvailableMemory(), detalle);
+    }
+
+    private void publicar(TipoEvento tipo, Proceso p, int memoriaAntes, int memoriaDespues, String detalle) {
+        int pid = p != null ? p.getId() : -1;
+        for (SuscriptorEventos s : suscriptores) {
+            s.evento(tipo, cicloActual, pid, p, memoriaAntes, memoriaDespues, detalle);
+        }
+    }
+
+    /**
+     * Asigna la memoria del proceso y devuelve la disponible antes.
+     */
+    private int asignarMemoria(Proceso p) {
+        synchronized (memoryManager) {
+            int antes = memoryManager.getAvailableMemory();
+            memoryManager.allocate(p.getMemoriaRequerida());
+            return antes;
+        }
+    }
+
+    private int liberarMemoria(Proceso p) {
+        synchronized (memoryManager) {
+            int antes = memoryManager.getAvailableMemory();
+            memoryManager.deallocate(p.getMemoriaRequerida());
+            return antes;
+        }
+    }
     
     public Proceso getProcess(){
-        Proceso output = null;
-        
         checkMemoryAndResume();
+        return getProcess(1);
+    }
+
+    /**
+     * Despacha para la CPU indicada sin tomar el mutex global: solo se
+     * bloquean las colas de listos. La reactivacion de suspendidos
+     * (checkMemoryAndResume) si requiere el mutex global y la hace la CPU.
+     */
+    public Proceso getProcess(int cpu){
+        Proceso output = null;
         
-        if(this.readyList.isEmpty()){
-            if(selectedAlgorithm != controlador.getPolitica()){
-                selectedAlgorithm = controlador.getPolitica();
-                sortReadyQueue(selectedAlgorithm);
-            }
+        if(this.readyList.hayListos()){
+            aplicarPolitica();
             
-            Nodo pAux = this.readyList.getHead();
-            this.readyList.delete(pAux);
-            output = (Proceso) pAux.getValue();
-            output.setEstado("Ejecucion");
+            output = this.readyList.sacar(cpu - 1);
+        }
+        
+        if(output != null){
+            transicion(output, ProcessState.EJECUCION, cpu);
             
             if (!output.isInMemory()) {
-                if (memoryManager.allocate(output.getMemoriaRequerida())) {
+                int antes;
+                boolean asignada;
+                synchronized (memoryManager) {
+                    antes = memoryManager.getAvailableMemory();
+                    asignada = memoryManager.allocate(output.getMemoriaRequerida());
+                }
+                if (asignada) {
                     output.setInMemory(true);
-                    logger.logEvent("MEMORIA: Proceso " + output.getId() + " (" + output.getNombre() + ") cargado en memoria");
+                    publicar(TipoEvento.MEMORIA_ASIGNADA, output, antes, null);
                 } else {
-                    logger.logEvent("ERROR: No hay memoria suficiente para el proceso " + output.getId());
+                    publicar(TipoEvento.ERROR_MEMORIA, output, null);
                 }
             }
             
-            logger.logEvent("SCHEDULER: Proceso " + output.getNombre() + " (ID: " + output.getId() + ") seleccionado para ejecución");
+            publicar(TipoEvento.DESPACHO, output, null);
         }
         
         this.updateReadyList();
@@ -119,41 +379,31 @@ public class Planificador {
         return output;    
     }
 
-    private void checkMemoryAndResume() {
-        Nodo current = suspendedReadyList.getHead();
+    public void checkMemoryAndResume() {
+        NodoCola<Proceso> current = suspendedReadyList.getPrimero();
         while (current != null) {
-            Proceso p = (Proceso) current.getValue();
-            Nodo next = current.getpNext();
+            Proceso p = current.getValue();
+            NodoCola<Proceso> next = current.getSiguiente();
             
             if (memoryManager.canAllocate(p.getMemoriaRequerida())) {
-                suspendedReadyList.delete(current);
-                p.reactivar();
-                p.setInMemory(true);
-                readyList.appendLast(p);
-                memoryManager.allocate(p.getMemoriaRequerida());
-                logger.logEvent("REACTIVADO: Proceso " + p.getNombre() + " (ID: " + p.getId() + 
-                              ") reactivado de Suspendido-Listo. Memoria asignada: " + 
-                              p.getMemoriaRequerida() + " MB. Disponible: " + 
-                              memoryManager.getAvailableMemory() + " MB");
+                tabla.quitar(p.getId());
+                reactivar(p);
+                readyList.encolar(p, -1);
+                publicar(TipoEvento.REACTIVADO_LISTO, p, asignarMemoria(p), null);
             }
             current = next;
         }
 
-        current = suspendedBlockedList.getHead();
+        current = suspendedBlockedList.getPrimero();
         while (current != null) {
-            Proceso p = (Proceso) current.getValue();
-            Nodo next = current.getpNext();
+            Proceso p = current.getValue();
+            NodoCola<Proceso> next = current.getSiguiente();
             
             if (memoryManager.canAllocate(p.getMemoriaRequerida())) {
-                suspendedBlockedList.delete(current);
-                p.reactivar();
-                p.setInMemory(true);
-                blockedList.appendLast(p);
-                memoryManager.allocate(p.getMemoriaRequerida());
-                logger.logEvent("REACTIVADO: Proceso " + p.getNombre() + " (ID: " + p.getId() + 
-                              ") reactivado de Suspendido-Bloqueado. Memoria asignada: " + 
-                              p.getMemoriaRequerida() + " MB. Disponible: " + 
-                              memoryManager.getAvailableMemory() + " MB");
+                tabla.quitar(p.getId());
+                reactivar(p);
+                tabla.agregar(blockedList, p);
+                publicar(TipoEvento.REACTIVADO_BLOQUEADO, p, asignarMemoria(p), null);
             }
             current = next;
         }
@@ -161,231 +411,276 @@ public class Planificador {
 
     private void checkMemoryAndSuspend() {
         if (memoryManager.getAvailableMemory() < LOW_MEMORY_THRESHOLD) {
-            logger.logEvent("=== MEMORIA BAJA: " + memoryManager.getAvailableMemory() + 
-                          " MB disponibles. Iniciando suspensión... ===");
+            publicar(TipoEvento.MEMORIA_BAJA, null, null);
             
-            Nodo pAux = readyList.getHead();
-            while (pAux != null && memoryManager.getAvailableMemory() < RESUME_MEMORY_THRESHOLD) {
-                Proceso process = (Proceso) pAux.getValue();
-                Nodo next = pAux.getpNext();
-                
-                if (process.getMemoriaRequerida() > 0 && process.isInMemory()) {
-                    readyList.delete(pAux);
-                    process.suspender();
-                    process.setInMemory(false);
-                    suspendedReadyList.appendLast(process);
-                    memoryManager.deallocate(process.getMemoriaRequerida());
-                    logger.logEvent("SUSPENDIDO: Proceso " + process.getId() + " (" + process.getNombre() + 
-                                  ") suspendido (Listo). Liberados " + process.getMemoriaRequerida() + 
-                                  " MB. Disponible: " + memoryManager.getAvailableMemory() + " MB");
+            // Primero se eligen las victimas recorriendo el heap y despues se
+            // quitan todas juntas: quitar durante el recorrido mueve el ultimo
+            // elemento a una posicion ya vista y se lo saltea.
+            for (int i = 0; i < readyList.getNumColas(); i++) {
+                readyList.bloquear(i);
+                ColaPrioridad<Proceso> cola = readyList.getCola(i);
+                int[] posiciones = new int[cola.getSize()];
+                Proceso[] victimas = new Proceso[cola.getSize()];
+                int n = 0;
+                int disponible = memoryManager.getAvailableMemory();
+                int total = memoryManager.getTotalMemory();
+                for (int pos = 0; pos < cola.getSize() && disponible < RESUME_MEMORY_THRESHOLD; pos++) {
+                    Proceso process = cola.get(pos);
+                    if (process.getMemoriaRequerida() > 0 && process.isInMemory()) {
+                        posiciones[n] = pos;
+                        victimas[n++] = process;
+                        disponible = Math.min(disponible + process.getMemoriaRequerida(), total);
+                    }
                 }
-                pAux = next;
+                readyList.quitarPosiciones(i, posiciones, n);
+                for (int k = 0; k < n; k++) {
+                    Proceso process = victimas[k];
+                    suspender(process, 0);
+                    tabla.agregar(suspendedReadyList, process);
+                    publicar(TipoEvento.LIBERADO_LISTO, process, liberarMemoria(process), null);
+                }
+                readyList.liberar(i);
             }
             
-            pAux = blockedList.getHead();
+            NodoCola<Proceso> pAux = blockedList.getPrimero();
             while (pAux != null && memoryManager.getAvailableMemory() < RESUME_MEMORY_THRESHOLD) {
-                Proceso process = (Proceso) pAux.getValue();
-                Nodo next = pAux.getpNext();
+                Proceso process = pAux.getValue();
+                NodoCola<Proceso> next = pAux.getSiguiente();
                 
                 if (process.getMemoriaRequerida() > 0 && process.isInMemory()) {
-                    blockedList.delete(pAux);
-                    process.suspender();
-                    process.setInMemory(false);
-                    suspendedBlockedList.appendLast(process);
-                    memoryManager.deallocate(process.getMemoriaRequerida());
-                    logger.logEvent("SUSPENDIDO: Proceso " + process.getId() + " (" + process.getNombre() + 
-                                  ") suspendido (Bloqueado). Liberados " + process.getMemoriaRequerida() + 
-                                  " MB. Disponible: " + memoryManager.getAvailableMemory() + " MB");
+                    tabla.quitar(process.getId());
+                    suspender(process, 0);
+                    tabla.agregar(suspendedBlockedList, process);
+                    publicar(TipoEvento.LIBERADO_BLOQUEADO, process, liberarMemoria(process), null);
                 }
                 pAux = next;
             }
             
-            logger.logEvent("=== Suspensión completada. Memoria disponible: " + 
-                          memoryManager.getAvailableMemory() + " MB ===");
+            publicar(TipoEvento.SUSPENSION_COMPLETADA, null, null);
             updateSuspendedLists();
         }
     }
     
+    /**
+     * Si el controlador cambio de politica, reordena todas las colas de
+     * listos con el comparador nuevo y publica el cambio. Lo llaman el reloj
+     * (con el mutex global) y las CPUs al despachar (sin el), asi que se hace
+     * bajo cambioPolitica: el primero que llega lo aplica y los demas ya ven
+     * selectedAlgorithm al dia. selectedAlgorithm se actualiza despues de
+     * reordenar, y si la politica vuelve a cambiar mientras tanto el
+     * siguiente llamador reordena de nuevo.
+     *
+     * @return si aplico un cambio
+     */
+    private boolean aplicarPolitica() {
+        if (selectedAlgorithm == controlador.getPolitica()) {
+            return false;
+        }
+        synchronized (cambioPolitica) {
+            int politica = controlador.getPolitica();
+            if (selectedAlgorithm == politica) {
+                return false;
+            }
+            sortReadyQueue(politica);
+            selectedAlgorithm = politica;
+            return true;
+        }
+    }
+    
     private void sortReadyQueue(int schedulingAlgorithm) {
+        readyList.ordenar(comparadorPolitica(schedulingAlgorithm));
         switch (schedulingAlgorithm) {
             case 0:
-                readyList = sortByWaitingTime(readyList);
-                logger.logEvent("Cambio de algoritmo a FCFS");
+                publicar(TipoEvento.CAMBIO_ALGORITMO, null, "FCFS");
                 break;
             case 1:
-                readyList = sortByWaitingTime(readyList);
-                logger.logEvent("Cambio de algoritmo a Round Robin");
+                publicar(TipoEvento.CAMBIO_ALGORITMO, null, "Round Robin");
                 break;
             case 2:
-                readyList = sortByDuration(readyList);
-                logger.logEvent("Cambio de algoritmo a SPN");
+                publicar(TipoEvento.CAMBIO_ALGORITMO, null, "SPN");
                 break;
             case 3:
-                readyList = sortByRemainingTime(readyList);
-                logger.logEvent("Cambio de algoritmo a SRT");
+                publicar(TipoEvento.CAMBIO_ALGORITMO, null, "SRT");
                 break;
             case 4:
-                readyList = sortByHRR(readyList);
-                logger.logEvent("Cambio de algoritmo a HRRN");
+                publicar(TipoEvento.CAMBIO_ALGORITMO, null, "HRRN");
                 break;
             case 5:
-                readyList = sortByPriority(readyList);
-                logger.logEvent("Cambio de algoritmo a Prioridad");
+                publicar(TipoEvento.CAMBIO_ALGORITMO, null, "Prioridad");
                 break;
         }
     }
 
-    private List sortByWaitingTime(List list) {
-        return bubbleSort(list, (p1, p2) -> Integer.compare(((Proceso) p2).getTiempoEspera(), ((Proceso) p1).getTiempoEspera()));
-    }
-    
-    private List sortByDuration(List list) {
-        return bubbleSort(list, (p1, p2) -> Integer.compare(((Proceso) p1).getInstrucciones(), ((Proceso) p2).getInstrucciones()));
-    }
-
-    private List sortByRemainingTime(List list) {
-        return bubbleSort(list, (p1, p2) -> Integer.compare(
-                ((Proceso) p1).getInstrucciones() - ((Proceso) p1).getPc(),
-                ((Proceso) p2).getInstrucciones() - ((Proceso) p2).getPc()
-        ));
-    }
-
-    private List sortByHRR(List list) {
-        return bubbleSort(list, (p1, p2) -> Double.compare(getHRR((Proceso) p2), getHRR((Proceso) p1)));
-    }
-
-    private List sortByPriority(List list) {
-        return bubbleSort(list, (p1, p2) -> Integer.compare(
-            ((Proceso) p1).getPrioridad(),
-            ((Proceso) p2).getPrioridad()
-        ));
+    /**
+     * Orden de la cola de listos para cada politica: el menor sale primero.
+     */
+    static Comparator<Proceso> comparadorPolitica(int schedulingAlgorithm) {
+        switch (schedulingAlgorithm) {
+            case 2:
+                return (p1, p2) -> Integer.compare(p1.getInstrucciones(), p2.getInstrucciones());
+            case 3:
+                return (p1, p2) -> Integer.compare(
+                        p1.getInstrucciones() - p1.getPc(),
+                        p2.getInstrucciones() - p2.getPc());
+            case 4:
+                return (p1, p2) -> Double.compare(getHRR(p2), getHRR(p1));
+            case 5:
+                return (p1, p2) -> Integer.compare(p1.getPrioridad(), p2.getPrioridad());
+            default:
+                // FCFS y RR: mayor tiempo de espera primero
+                return (p1, p2) -> Integer.compare(p2.getTiempoEspera(), p1.getTiempoEspera());
+        }
     }
 
-    private double getHRR(Proceso p) {
+    private static double getHRR(Proceso p) {
         int tiempoServicio = p.getInstrucciones();
         if(tiempoServicio == 0) return 0;
         return (p.getTiempoEspera() + tiempoServicio) / (double) tiempoServicio;
     }
 
-    private List bubbleSort(List list, Comparator comparator) {
-        if (list.getSize() <= 1) return list;
-
-        boolean swapped;
-        do {
-            swapped = false;
-            Nodo current = list.getHead();
-            while (current != null && current.getpNext() != null) {
-                if (comparator.compare(current.getValue(), current.getpNext().getValue()) > 0) {
-                    Object temp = current.getValue();
-                    current.setValue(current.getpNext().getValue());
-                    current.getpNext().setValue(temp);
-                    swapped = true;
-                }
-                current = current.getpNext();
-            }
-        } while (swapped);
-
-        return list;
+    public boolean ifSRT(Proceso process){
+        return ifSRT(process, 1);
     }
 
-    public boolean ifSRT(Proceso process){
-        if(controlador.getPolitica() == 3 && this.readyList.isEmpty()){
+    /**
+     * SRT por CPU: con la cola ordenada por tiempo restante basta mirar el
+     * primero de la cola de esa CPU.
+     */
+    public boolean ifSRT(Proceso process, int cpu){
+        if(controlador.getPolitica() == 3 && selectedAlgorithm == 3 && this.readyList.hayListos(cpu - 1)){
             int currentRemainingTime = process.getInstrucciones() - process.getMar();
-            
-            Nodo current = this.readyList.getHead();
-            while (current != null) {
-                Proceso readyProcess = (Proceso) current.getValue();
-                int readyRemainingTime = readyProcess.getInstrucciones() - readyProcess.getMar();
-                
-                if (readyRemainingTime < currentRemainingTime) {
-                    return true;
-                }
-                current = current.getpNext();
-            }    
+            Proceso readyProcess = readyList.primero(cpu - 1);
+            return readyProcess != null
+                    && readyProcess.getInstrucciones() - readyProcess.getMar() < currentRemainingTime;
         }
         return false;
     }
 
     public void updatePCB(Proceso process, int programCounter, int memoryAddressRegister, String state) {
-        process.setEstado(state);
+        updatePCB(process, programCounter, memoryAddressRegister, estado(state), 0);
+    }
+
+    public void updatePCB(Proceso process, String state) {
+        updatePCB(process, estado(state), 0);
+    }
+
+    public void updatePCB(Proceso process, int programCounter, int memoryAddressRegister, String state, int cpu) {
+        updatePCB(process, programCounter, memoryAddressRegister, estado(state), cpu);
+    }
+
+    public void updatePCB(Proceso process, String state, int cpu) {
+        updatePCB(process, estado(state), cpu);
+    }
+
+    /**
+     * cpu es la CPU que libera el proceso (1..N); si vuelve a listos se
+     * encola en su cola. Con 0 se usa la cola menos cargada.
+     */
+    public void updatePCB(Proceso process, int programCounter, int memoryAddressRegister, ProcessState state, int cpu) {
+        transicion(process, state, cpu);
         process.setPc(programCounter);
         process.setMar(memoryAddressRegister);
         process.setTiempoEspera(0);
 
-        handleStateTransition(process, state);
+        handleStateTransition(process, state, cpu);
     }
 
-    public void updatePCB(Proceso process, String state) {
-        process.setEstado(state);
+    public void updatePCB(Proceso process, ProcessState state, int cpu) {
+        transicion(process, state, cpu);
         process.setTiempoEspera(0);
 
-        handleStateTransition(process, state);
+        handleStateTransition(process, state, cpu);
     }
 
-    private void handleStateTransition(Proceso process, String state) {
+    private static ProcessState estado(String etiqueta) {
+        ProcessState state = ProcessState.desdeEtiqueta(etiqueta);
+        if (state == null) {
+            throw new IllegalArgumentException("Estado no reconocido: " + etiqueta);
+        }
+        return state;
+    }
+
+    /**
+     * Aplica el cambio de estado y, si hay traza, lo registra. En la traza
+     * argA lleva los estados (desde << 8 | hacia) y argB el PC del proceso;
+     * cpu es 0 cuando el cambio no lo hace una CPU.
+     */
+    private void transicion(Proceso p, ProcessState hacia, int cpu) {
+        ProcessState desde = p.getEstadoProceso();
+        transiciones.aplicar(p, hacia);
+        if (traza != null) {
+            traza.registrar(cicloActual, cpu, p.getId(), TrazaEventos.codigo(desde, hacia),
+                    desde.ordinal() << 8 | hacia.ordinal(), p.getPc());
+        }
+    }
+
+    private void suspender(Proceso p, int cpu) {
+        transicion(p, p.getEstadoProceso().suspendido(), cpu);
+        p.setInMemory(false);
+    }
+
+    private void reactivar(Proceso p) {
+        transicion(p, p.getEstadoProceso().reactivado(), 0);
+        p.setInMemory(true);
+    }
+
+    private void handleStateTransition(Proceso process, ProcessState state, int cpu) {
         switch (state) {
-            case "Bloqueado":
+            case BLOQUEADO:
                 checkMemoryAndSuspend();
                 
                 if (!memoryManager.canAllocate(process.getMemoriaRequerida()) || 
                     memoryManager.getAvailableMemory() < LOW_MEMORY_THRESHOLD) {
-                    process.suspender();
-                    process.setInMemory(false);
-                    suspendedBlockedList.appendLast(process);
-                    memoryManager.deallocate(process.getMemoriaRequerida());
-                    logger.logEvent("SUSPENDIDO: Proceso " + process.getNombre() + " (ID: " + process.getId() + 
-                                  ") suspendido al bloquearse por baja memoria");
+                    suspender(process, cpu);
+                    tabla.agregar(suspendedBlockedList, process);
+                    publicar(TipoEvento.SUSPENDIDO_AL_BLOQUEAR, process, liberarMemoria(process), null);
                 } else {
-                    blockedList.appendLast(process);
-                    logger.logEvent("BLOQUEADO: Proceso " + process.getNombre() + " (ID: " + process.getId() + 
-                                  ") bloqueado por operación I/O");
+                    tabla.agregar(blockedList, process);
+                    publicar(TipoEvento.BLOQUEADO, process, null);
                 }
                 break;
                 
-            case "Listo":
+            case LISTO:
                 checkMemoryAndSuspend();
                 
                 if (!memoryManager.canAllocate(process.getMemoriaRequerida()) || 
                     memoryManager.getAvailableMemory() < LOW_MEMORY_THRESHOLD) {
-                    process.suspender();
-                    process.setInMemory(false);
-                    suspendedReadyList.appendLast(process);
-                    memoryManager.deallocate(process.getMemoriaRequerida());
-                    logger.logEvent("SUSPENDIDO: Proceso " + process.getNombre() + " (ID: " + process.getId() + 
-                                  ") suspendido al pasar a listo por baja memoria");
+                    suspender(process, cpu);
+                    tabla.agregar(suspendedReadyList, process);
+                    publicar(TipoEvento.SUSPENDIDO_AL_LISTO, process, liberarMemoria(process), null);
                 } else {
-                    readyList.appendLast(process);
+                    readyList.encolar(process, cpu - 1);
                 }
                 break;
                 
-            case "Suspendido-Listo":
-                suspendedReadyList.appendLast(process);
+            case SUSPENDIDO_LISTO:
+                tabla.agregar(suspendedReadyList, process);
                 process.setInMemory(false);
-                memoryManager.deallocate(process.getMemoriaRequerida());
-                logger.logEvent("SUSPENDIDO: Proceso " + process.getNombre() + " (ID: " + process.getId() + 
-                              ") suspendido (Listo)");
+                publicar(TipoEvento.SUSPENDIDO_LISTO, process, liberarMemoria(process), null);
                 break;
                 
-            case "Suspendido-Bloqueado":
-                suspendedBlockedList.appendLast(process);
+            case SUSPENDIDO_BLOQUEADO:
+                tabla.agregar(suspendedBlockedList, process);
                 process.setInMemory(false);
-                memoryManager.deallocate(process.getMemoriaRequerida());
-                logger.logEvent("SUSPENDIDO: Proceso " + process.getNombre() + " (ID: " + process.getId() + 
-                              ") suspendido (Bloqueado)");
+                publicar(TipoEvento.SUSPENDIDO_BLOQUEADO, process, liberarMemoria(process), null);
                 break;
                 
-            case "Terminado":
-                exitList.appendLast(process);
+            case TERMINADO:
+                if (retenerTerminados) {
+                    tabla.agregar(exitList, process);
+                } else {
+                    descartar(process);
+                }
+                int antes = memoryManager.getAvailableMemory();
                 if (process.isInMemory()) {
-                    memoryManager.deallocate(process.getMemoriaRequerida());
+                    antes = liberarMemoria(process);
                     process.setInMemory(false);
                 }
-                logger.logEvent("TERMINADO: Proceso " + process.getNombre() + " (ID: " + process.getId() + 
-                              "). Memoria liberada: " + process.getMemoriaRequerida() + " MB");
+                publicar(TipoEvento.TERMINADO, process, antes, null);
                 break;
                 
             default:
-                exitList.appendLast(process);
+                tabla.agregar(exitList, process);
                 if (process.isInMemory()) {
                     memoryManager.deallocate(process.getMemoriaRequerida());
                     process.setInMemory(false);
@@ -396,168 +691,280 @@ public class Planificador {
         updateAllLists();
     }
 
-    public void updateAllLists() {
-        updateReadyList();
-        updateBlockedList();
-        updateSuspendedLists();
-        updateexitList();
-        updateProcessList();
+    private void descartar(Proceso process) {
+        tabla.olvidar(process.getId());
+        descartados++;
     }
-    
-    private void updateSuspendedLists() {
-        StringBuilder displayReady = new StringBuilder();
-        StringBuilder displayBlocked = new StringBuilder();
 
-        Nodo pAux = suspendedReadyList.getHead();
-        while (pAux != null) {
-            Proceso p = (Proceso) pAux.getValue();
-            displayReady.append("\n ----------------------------------\n ")
-                .append("ID: ").append(p.getId())
-                .append("\n Nombre: ").append(p.getNombre())
-                .append("\n WT: ").append(p.getTiempoEspera())
-                .append("\n Memoria: ").append(p.getMemoriaRequerida()).append(" MB");
-            pAux = pAux.getpNext();
+    /**
+     * Colas, memoria, contadores y E/S pendientes para un checkpoint. Los
+     * procesos se guardan aparte (Checkpoint) y aca solo van sus ids.
+     */
+    void escribirEstado(DataOutputStream out) throws IOException {
+        out.writeInt(selectedAlgorithm);
+        out.writeBoolean(retenerTerminados);
+        out.writeLong(admitidosSueltos);
+        out.writeLong(descartados);
+        memoryManager.escribirEstado(out);
+        long[] conteos = transiciones.getConteos();
+        out.writeInt(conteos.length);
+        for (long c : conteos) {
+            out.writeLong(c);
+        }
+        out.writeLong(transiciones.getRechazadas());
+        readyList.escribirEstado(out);
+        Checkpoint.escribirCola(out, blockedList);
+        Checkpoint.escribirCola(out, exitList);
+        Checkpoint.escribirCola(out, allProcessList);
+        Checkpoint.escribirCola(out, suspendedReadyList);
+        Checkpoint.escribirCola(out, suspendedBlockedList);
+        bloquearES();
+        try {
+            Temporizador[] pendientes = ruedaES.getPendientes();
+            out.writeLong(ruedaES.getAhora());
+            out.writeInt(pendientes.length);
+            for (Temporizador t : pendientes) {
+                out.writeLong(t.getVencimiento());
+                out.writeInt(t.getDatoA());
+                out.writeInt(t.getDatoB());
+            }
+        } finally {
+            mutexES.release();
         }
+    }
 
-        pAux = suspendedBlockedList.getHead();
-        while (pAux != null) {
-            Proceso p = (Proceso) pAux.getValue();
-            displayBlocked.append("\n ----------------------------------\n ")
-                .append("ID: ").append(p.getId())
-                .append("\n Nombre: ").append(p.getNombre())
-                .append("\n Memoria: ").append(p.getMemoriaRequerida()).append(" MB");
-            pAux = pAux.getpNext();
+    /**
+     * Reemplaza todo el estado por el de un checkpoint. procesos ya tiene
+     * registrados los procesos guardados y pasa a ser la tabla de procesos.
+     */
+    void leerEstado(DataInputStream in, TablaProcesos procesos) throws IOException {
+        selectedAlgorithm = in.readInt();
+        retenerTerminados = in.readBoolean();
+        admitidosSueltos = in.readLong();
+        descartados = in.readLong();
+        memoryManager.leerEstado(in);
+        long[] conteos = new long[in.readInt()];
+        for (int i = 0; i < conteos.length; i++) {
+            conteos[i] = in.readLong();
+        }
+        transiciones.restaurar(conteos, in.readLong());
+        tabla = procesos;
+        readyList = new ColasListos(readyList.getNumColas(), comparadorPolitica(selectedAlgorithm));
+        readyList.leerEstado(in, procesos);
+        blockedList = leerCola(in, true);
+        exitList = leerCola(in, true);
+        allProcessList = leerCola(in, false);
+        suspendedReadyList = leerCola(in, true);
+        suspendedBlockedList = leerCola(in, true);
+        bloquearES();
+        try {
+            ruedaES.reiniciar(in.readLong());
+            for (int n = in.readInt(); n > 0; n--) {
+                long vencimiento = in.readLong();
+                int cpu = in.readInt();
+                int pid = in.readInt();
+                ruedaES.insertar(vencimiento, cpu, pid);
+            }
+        } finally {
+            mutexES.release();
         }
+        updateAllLists();
+    }
 
-        controlador.setListosSuspendidosText(displayReady.toString());
-        controlador.setBloqueadosSuspendidosText(displayBlocked.toString());
+    private Cola<Proceso> leerCola(DataInputStream in, boolean enTabla) throws IOException {
+        Cola<Proceso> cola = new Cola<>();
+        for (int n = in.readInt(); n > 0; n--) {
+            Proceso p = Checkpoint.buscar(tabla, in.readInt());
+            if (enTabla) {
+                tabla.agregar(cola, p);
+            } else {
+                cola.agregar(p);
+            }
+        }
+        return cola;
+    }
+
+    public void updateAllLists() {
+        marcarVistas(VISTA_TODAS);
+    }
+    
+    private void updateSuspendedLists() {
+        marcarVistas(VISTA_SUSPENDIDOS);
     }
 
     public void updateWaitingTime(){
-        if(selectedAlgorithm != controlador.getPolitica()){
-            selectedAlgorithm = controlador.getPolitica();
-            sortReadyQueue(selectedAlgorithm);
+        if (aplicarPolitica()) {
             this.updateReadyList();
         }
         
-        Nodo pAux = this.readyList.getHead();
-        while(pAux!=null){
-            Proceso process = (Proceso)pAux.getValue();
-            int time = process.getTiempoEspera();
-            process.setTiempoEspera(time+1);
-            pAux = pAux.getpNext();
+        // FCFS/RR: todos envejecen igual y el orden del heap se mantiene.
+        // HRRN: la razon de respuesta cambia distinto para cada proceso; el
+        // heap se reconstruye recien al despachar.
+        for (int i = 0; i < readyList.getNumColas(); i++) {
+            readyList.bloquear(i);
+            ColaPrioridad<Proceso> cola = this.readyList.getCola(i);
+            for (int pos = 0; pos < cola.getSize(); pos++) {
+                Proceso process = cola.get(pos);
+                int time = process.getTiempoEspera();
+                process.setTiempoEspera(time+1);
+            }
+            if (selectedAlgorithm == 4 && cola.getSize() > 1) {
+                readyList.invalidarOrden(i);
+            }
+            readyList.liberar(i);
         }
         
-        pAux = this.suspendedReadyList.getHead();
-        while(pAux!=null){
-            Proceso process = (Proceso)pAux.getValue();
+        for (Proceso process : this.suspendedReadyList) {
             int time = process.getTiempoEspera();
             process.setTiempoEspera(time+1);
-            pAux = pAux.getpNext();
         }
         
         this.updateProcessList();
     }
     
-    public void updateBlockToReady(int id){
-        Nodo pAux = this.blockedList.getHead();
-        while(pAux!=null){
-            if(id== ((Proceso)pAux.getValue()).getId()){
-                Proceso p = (Proceso)pAux.getValue();
-                p.setEstado("Listo");
-                p.setTiempoEspera(0);
-                blockedList.delete(pAux);
-                
-                checkMemoryAndSuspend();
-                
-                if (!memoryManager.canAllocate(p.getMemoriaRequerida()) || 
-                    memoryManager.getAvailableMemory() < LOW_MEMORY_THRESHOLD) {
-                    p.suspender();
-                    p.setInMemory(false);
-                    suspendedReadyList.appendLast(pAux);
-                    memoryManager.deallocate(p.getMemoriaRequerida());
-                    logger.logEvent("SUSPENDIDO: Proceso (ID: " + id + ") I/O completado pero suspendido por baja memoria");
-                } else {
-                    readyList.appendLast(pAux);
-                    logger.logEvent("DESBLOQUEADO: Proceso (ID: " + id + ") I/O completado, movido a cola de listos");
-                }
-                break;                
-            }
-            pAux = pAux.getpNext();
+    /**
+     * Programa el fin de una E/S: el proceso vuelve a listos ciclosES + 1
+     * ciclos despues. Una E/S pendiente es solo un temporizador en la rueda,
+     * no un hilo, en cualquier modo.
+     */
+    public Temporizador programarES(int cpu, int ciclosES, int processId) {
+        bloquearES();
+        if (guion != null) {
+            ciclosES = guion.duracionES(processId, ciclosES);
+        }
+        Temporizador t = ruedaES.insertar(ruedaES.getAhora() + ciclosES + 1, cpu, processId);
+        mutexES.release();
+        return t;
+    }
+
+    public boolean cancelarES(Temporizador t) {
+        bloquearES();
+        boolean cancelado = ruedaES.cancelar(t);
+        mutexES.release();
+        return cancelado;
+    }
+
+    public int getESPendientes() {
+        return ruedaES.getProgramados();
+    }
+
+    /**
+     * Avanza la rueda de E/S hasta el ciclo indicado y pasa a listos, en
+     * lote, los procesos cuya E/S termino. El llamador debe tener el mutex
+     * global de las CPUs.
+     *
+     * @return cantidad de E/S completadas
+     */
+    public int completarES(long ciclo) {
+        cicloActual = ciclo;
+        bloquearES();
+        ruedaES.avanzar(ciclo);
+        int completadas = 0;
+        Temporizador t = ruedaES.sacarVencido();
+        while (t != null) {
+            desbloquear(t.getDatoB(), t.getDatoA());
+            completadas++;
+            t = ruedaES.sacarVencido();
+        }
+        mutexES.release();
+        if (completadas > 0) {
+            updateAfterUnblock();
+        }
+        return completadas;
+    }
+
+    private void bloquearES() {
+        try {
+            mutexES.acquire();
+        } catch (InterruptedException ex) {
+            Logger.getLogger(Planificador.class.getName()).log(Level.SEVERE, null, ex);
         }
+    }
+
+    public void updateBlockToReady(int id){
+        desbloquear(id, 0);
+        updateAfterUnblock();
+    }
+
+    /**
+     * Fin de E/S: la tabla de procesos dice en que lista esta el proceso,
+     * asi que ubicarlo y sacarlo cuesta O(1).
+     */
+    private void desbloquear(int id, int cpu){
+        Cola<Proceso> lista = tabla.getCola(id);
+        Proceso p = tabla.getProceso(id);
         
-        pAux = this.suspendedBlockedList.getHead();
-        while(pAux!=null){
-            if(id== ((Proceso)pAux.getValue()).getId()){
-                Proceso p = (Proceso)pAux.getValue();
-                p.setEstado("Suspendido-Listo");
-                p.setTiempoEspera(0);
-                suspendedBlockedList.delete(pAux);
-                suspendedReadyList.appendLast(pAux);
-                logger.logEvent("I/O COMPLETADO: Proceso (ID: " + id + ") I/O completado, movido de Suspendido-Bloqueado a Suspendido-Listo");
-                break;                
+        if (lista == blockedList) {
+            tabla.quitar(id);
+            transicion(p, ProcessState.LISTO, cpu);
+            p.setTiempoEspera(0);
+            
+            checkMemoryAndSuspend();
+            
+            if (!memoryManager.canAllocate(p.getMemoriaRequerida()) || 
+                memoryManager.getAvailableMemory() < LOW_MEMORY_THRESHOLD) {
+                suspender(p, cpu);
+                tabla.agregar(suspendedReadyList, p);
+                publicar(TipoEvento.ES_SUSPENDIDO, p, liberarMemoria(p), null);
+            } else {
+                readyList.encolar(p, -1);
+                publicar(TipoEvento.DESBLOQUEADO, p, null);
             }
-            pAux = pAux.getpNext();
+        } else if (lista == suspendedBlockedList) {
+            tabla.quitar(id);
+            transicion(p, ProcessState.SUSPENDIDO_LISTO, cpu);
+            p.setTiempoEspera(0);
+            tabla.agregar(suspendedReadyList, p);
+            publicar(TipoEvento.ES_COMPLETADA_SUSPENDIDO, p, null);
         }
-        
-        this.updateBlockedList();
-        this.updateReadyList();
-        this.updateSuspendedLists();
-        this.updateProcessList();
+    }
+
+    private void updateAfterUnblock() {
+        marcarVistas(VISTA_BLOQUEADOS | VISTA_LISTOS | VISTA_SUSPENDIDOS | VISTA_PCBS);
     }
     
+    /*
+     * Los update* ya no arman texto: marcan la vista como sucia y el
+     * RenderizadorListas la redibuja en el EDT a lo sumo unas veces por
+     * segundo.
+     */
     public void updateProcessList(){
-        Nodo pAux = allProcessList.getHead();
-        String display = "";
-        while(pAux!=null){
-            Proceso process=(Proceso) pAux.getValue();
-            display += this.stringInterfaz(process);
-            pAux = pAux.getpNext();
-        }
-        controlador.setPcbs(display);
+        marcarVistas(VISTA_PCBS);
     }
     
     public void updateReadyList(){
-        Nodo pAux = readyList.getHead();
-        String display = "";
-        while(pAux!=null){
-            Proceso process=(Proceso) pAux.getValue();
-            
-            display += "\n ----------------------------------\n "
-                    + "ID: " + process.getId() +
-                      "\n Nombre: " + process.getNombre() +
-                      "\n WT: " + process.getTiempoEspera();
-            pAux = pAux.getpNext();
-        }
-        controlador.setListosText(display);
+        marcarVistas(VISTA_LISTOS);
     }
 
     public void updateBlockedList(){
-        Nodo pAux = blockedList.getHead();
-        String display = "";
-        while(pAux!=null){
-            Proceso process=(Proceso) pAux.getValue();
-            
-            display += "\n ----------------------------------\n "
-                    + "ID: " + process.getId() +
-                      "\n Nombre: " + process.getNombre();
-            pAux = pAux.getpNext();
-        }
-        controlador.setBloqueadosText(display);
+        marcarVistas(VISTA_BLOQUEADOS);
     }
     
     public void updateexitList(){
-        Nodo pAux = exitList.getHead();
-        String display = "";
-        while(pAux!=null){
-            Proceso process=(Proceso) pAux.getValue();
-            
-            display += "\n ----------------------------------\n "
-                    + "Id: " + process.getId() +
-                      "\n Nombre: " + process.getNombre();
-            pAux = pAux.getpNext();
+        marcarVistas(VISTA_SALIDA);
+    }
+
+    private void marcarVistas(int vistas) {
+        if (!controlador.tieneVista()) return;
+        int actuales = vistasSucias.get();
+        while ((actuales & vistas) != vistas && !vistasSucias.compareAndSet(actuales, actuales | vistas)) {
+            actuales = vistasSucias.get();
         }
-        controlador.setSalidaText(display);
+    }
+
+    /**
+     * Vistas marcadas desde la ultima llamada (bits VISTA_*); las deja
+     * limpias.
+     */
+    public int tomarVistasSucias() {
+        return vistasSucias.getAndSet(0);
+    }
+
+    /**
+     * Vuelve a marcar vistas que se tomaron y no se pudieron redibujar.
+     */
+    public void devolverVistasSucias(int vistas) {
+        marcarVistas(vistas);
     }
     
     public String stringInterfaz(Proceso currentProcess){
@@ -6,11 +6,13 @@ import java.util.logging.Level;
 import java.util.logging.Logger;
 import controlador.*;
 
-public class Reloj extends Thread {
+public class Reloj implements Runnable {
     private Semaphore mutex;
     private ControladorSimulacion controlador;
     private Planificador planificador;
     private int ciclo;
+    private EjecutorSimulacion ejecutor;
+    private volatile boolean activo;
     
     public Reloj(Semaphore mutex, Planificador dispatcher, ControladorSimulacion controlador) {
         this.mutex = mutex;
@@ -51,19 +53,65 @@ public class Reloj extends Thread {
         this.ciclo = cycle;
     }
     
+    public void start() {
+        if (ejecutor == null) {
+            ejecutor = EjecutorSimulacion.porDefecto();
+        }
+        activo = true;
+        ejecutor.ejecutar(this);
+    }
+
+    public void detener() {
+        activo = false;
+    }
+
+    public EjecutorSimulacion getEjecutor() {
+        return ejecutor;
+    }
+
+    public void setEjecutor(EjecutorSimulacion ejecutor) {
+        this.ejecutor = ejecutor;
+    }
+
     @Override
     public void run() {
-        while(true){
+        while(activo){
             try {
                 sleep(controlador.getTiempo());
-                mutex.acquire();
             } catch (InterruptedException ex) {
-                Logger.getLogger(Interrupcion.class.getName()).log(Level.SEVERE, null, ex);
+                Logger.getLogger(Reloj.class.getName()).log(Level.SEVERE, null, ex);
             }
-            this.planificador.updateWaitingTime();
-            mutex.release();
-            ciclo++;
-            controlador.actulizarCiclo(ciclo);
+            this.tick();
+            this.completarES();
+        }
+    }
+
+    /**
+     * En el modo con hilos el reloj avanza la rueda de E/S; el
+     * MotorSimulacion lo hace por su cuenta.
+     */
+    private void completarES() {
+        try {
+            mutex.acquire();
+        } catch (InterruptedException ex) {
+            Logger.getLogger(Reloj.class.getName()).log(Level.SEVERE, null, ex);
+        }
+        this.planificador.completarES(ciclo);
+        mutex.release();
+    }
+    
+    /**
+     * Un ciclo del reloj global: envejece las colas y publica el nuevo ciclo.
+     */
+    public void tick() {
+        try {
+            mutex.acquire();
+        } catch (InterruptedException ex) {
+            Logger.getLogger(Reloj.class.getName()).log(Level.SEVERE, null, ex);
         }
+        this.planificador.updateWaitingTime();
+        mutex.release();
+        ciclo++;
+        controlador.actulizarCiclo(ciclo);
     }
 }
\ No newline at end of file
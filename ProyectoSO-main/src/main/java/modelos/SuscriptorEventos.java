@@ -0,0 +1,35 @@
+package modelos;
+
+import java.util.Set;
+import micelaneos.Proceso;
+
+/**
+ * Recibe los eventos del Planificador ya tipados, sin Strings que parsear.
+ * Se llama en el hilo que produjo el evento (una CPU, el reloj o el motor),
+ * asi que tiene que ser rapido y, en el modo con hilos, thread-safe.
+ */
+public interface SuscriptorEventos {
+
+    /**
+     * @param tipo tipo de evento
+     * @param ciclo ciclo de la simulacion en que ocurrio
+     * @param pid id del proceso, o -1 si el evento no es de un proceso
+     * @param proceso el proceso, o null
+     * @param memoriaAntes memoria disponible antes del evento (en INICIO, la total)
+     * @param memoriaDespues memoria disponible despues del evento
+     * @param detalle texto extra de algunos tipos (ver TipoEvento), o null
+     */
+    void evento(TipoEvento tipo, long ciclo, int pid, Proceso proceso, int memoriaAntes, int memoriaDespues,
+            String detalle);
+
+    /**
+     * Suscriptor que solo deja pasar los tipos indicados (conviene un EnumSet).
+     */
+    static SuscriptorEventos filtrar(Set<TipoEvento> tipos, SuscriptorEventos destino) {
+        return (tipo, ciclo, pid, proceso, antes, despues, detalle) -> {
+            if (tipos.contains(tipo)) {
+                destino.evento(tipo, ciclo, pid, proceso, antes, despues, detalle);
+            }
+        };
+    }
+}
@@ -0,0 +1,36 @@
+package modelos;
+
+/**
+ * Eventos que publica el Planificador a sus SuscriptorEventos. El texto de
+ * cada uno lo arma solo quien lo muestra (EventLogger).
+ */
+public enum TipoEvento {
+    /** Mensaje libre; el texto viene en el detalle. */
+    TEXTO,
+    /** Arranque: memoria antes = total, despues = disponible. */
+    INICIO,
+    /** Proceso cargado en memoria al iniciar o al admitirlo (detalle). */
+    CARGADO,
+    /** Proceso admitido directo a Suspendido-Listo por falta de memoria. */
+    SIN_MEMORIA,
+    MEMORIA_ASIGNADA,
+    ERROR_MEMORIA,
+    DESPACHO,
+    REACTIVADO_LISTO,
+    REACTIVADO_BLOQUEADO,
+    MEMORIA_BAJA,
+    LIBERADO_LISTO,
+    LIBERADO_BLOQUEADO,
+    SUSPENSION_COMPLETADA,
+    /** Cambio de politica; el detalle es el nombre de la nueva. */
+    CAMBIO_ALGORITMO,
+    SUSPENDIDO_AL_BLOQUEAR,
+    BLOQUEADO,
+    SUSPENDIDO_AL_LISTO,
+    SUSPENDIDO_LISTO,
+    SUSPENDIDO_BLOQUEADO,
+    TERMINADO,
+    ES_SUSPENDIDO,
+    DESBLOQUEADO,
+    ES_COMPLETADA_SUSPENDIDO
+}
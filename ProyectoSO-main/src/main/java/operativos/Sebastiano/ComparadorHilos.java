@@ -0,0 +1,109 @@
+package operativos.Sebastiano;
+
+import controlador.ControladorSimulacion;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.concurrent.Semaphore;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import micelaneos.*;
+import modelos.*;
+
+/**
+ * Compara el modo con hilos usando hilos de plataforma y hilos virtuales:
+ * arranca N CPUs y el reloj sobre una carga generada de M procesos de E/S y
+ * mide cuantos hilos del sistema y cuanta memoria usa cada modo. Las E/S en
+ * curso son temporizadores del Planificador, no hilos, asi que la diferencia
+ * entre los modos sale solo de las CPUs y el reloj; la columna E/S cuenta
+ * las pendientes al medir.
+ * Uso: --comparar-hilos [cpus] [procesos] [ms]
+ */
+public class ComparadorHilos {
+
+    public static void main(String[] args) {
+        int numCPUs = args.length > 0 ? Integer.parseInt(args[0]) : 256;
+        int procesos = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+        int ms = args.length > 2 ? Integer.parseInt(args[2]) : 2000;
+
+        System.out.println(String.format("CPUs: %d, procesos: %d, medicion: %d ms",
+                numCPUs, procesos, ms));
+        System.out.println(String.format("%-22s %12s %12s %12s %8s %12s %12s", "Modo", "Arranque ms", "Hilos SO",
+                "Pico hilos", "E/S", "Heap (MB)", "RSS (MB)"));
+        medir(false, numCPUs, procesos, ms);
+        medir(true, numCPUs, procesos, ms);
+    }
+
+    private static void medir(boolean virtuales, int numCPUs, int procesos, int ms) {
+        ThreadMXBean hilos = ManagementFactory.getThreadMXBean();
+        int tiempo = 10;
+
+        ControladorSimulacion controlador = new ControladorSimulacion(0);
+        controlador.setTiempo(tiempo);
+        GeneradorCargas generador = new GeneradorCargas(1, procesos);
+        generador.setFraccionIO(1.0);
+        List<Proceso> listos = new List<>();
+        List<Proceso> todos = new List<>();
+        for (Proceso p : generador) {
+            listos.appendLast(p);
+            todos.appendLast(p);
+        }
+        Semaphore mutex = new Semaphore(1);
+        Planificador planificador = new Planificador(listos, new List(), new List(), todos,
+                new List(), new List(), controlador, numCPUs);
+        planificador.getLogger().setImprimir(false);
+        CPU[] cpus = Sebastiano.crearCPUs(numCPUs, controlador, planificador, mutex, new PerformanceMetrics(numCPUs));
+        Reloj reloj = new Reloj(mutex, planificador, controlador);
+
+        EjecutorSimulacion ejecutor = EjecutorSimulacion.crear(virtuales);
+        Sebastiano.asignarEjecutor(ejecutor, reloj, cpus);
+        hilos.resetPeakThreadCount();
+
+        long inicio = System.nanoTime();
+        for (CPU cpu : cpus) {
+            cpu.start();
+        }
+        reloj.start();
+        long arranque = (System.nanoTime() - inicio) / 1000000;
+
+        dormir(ms);
+        int hilosSO = hilos.getThreadCount();
+        int pendientesES = planificador.getESPendientes();
+        System.gc();
+        long heap = Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory();
+        long rss = rssKB();
+
+        for (CPU cpu : cpus) {
+            cpu.detener();
+        }
+        reloj.detener();
+        controlador.setTiempo(0);
+        ejecutor.apagar(ms * 60L);
+
+        System.out.println(String.format("%-22s %12d %12d %12d %8d %12.1f %12s", ejecutor, arranque, hilosSO,
+                hilos.getPeakThreadCount(), pendientesES, heap / 1048576.0, rss < 0 ? "n/d" : String.format("%.1f", rss / 1024.0)));
+    }
+
+    private static long rssKB() {
+        try {
+            for (String linea : Files.readAllLines(Paths.get("/proc/self/status"))) {
+                if (linea.startsWith("VmRSS:")) {
+                    return Long.parseLong(linea.replaceAll("[^0-9]", ""));
+                }
+            }
+        } catch (IOException | NumberFormatException ex) {
+            // fuera de Linux no hay /proc
+        }
+        return -1;
+    }
+
+    private static void dormir(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException ex) {
+            Logger.getLogger(ComparadorHilos.class.getName()).log(Level.SEVERE, null, ex);
+        }
+    }
+}
@@ -1,5 +1,15 @@
 package operativos.Sebastiano;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.Iterator;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import modelos.*;
 import java.util.concurrent.Semaphore;
 import micelaneos.*;
@@ -7,8 +17,49 @@ import vistas.*;
 import controlador.*;
 
 public class Sebastiano {
+    private static final int MAX_CPUS = 64;
+    private static final int VENTANA = 10000;
+    private static final long CADA_CHECKPOINT = 100000;
+    private static final int CAPACIDAD_TRAZA = 1 << 22;
+    private static final String USO_SIN_VISTA =
+            "Uso: --headless [procesos.json|gen:semilla:cantidad] [politica] [cpus] [maxCiclos] [opciones...]\n"
+            + "  opciones: compacta descartar ventana=N checkpoint=ruta cada=N reanudar=ruta\n"
+            + "            traza=ruta[:capacidad] reproducir=ruta memoria=N eventos=ruta[:MB]";
+    private static final String USO_RENDIMIENTO =
+            "Uso: --rendimiento [salida.json] [procesos=N,N...] [cpus=N,N...] [politica=N] [semilla=N]\n"
+            + "                  [memoria=N] [ventana=N] [max=N] [sin-calentar]\n"
+            + "  por defecto procesos=1000,100000,1000000 cpus=1,2,4,8,16,32 ventana=64 (unos 10 min)";
+    private static final String USO_BARRIDO = "Uso: --barrido [barrido.json] [salida.csv]";
 
     public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("--headless")) {
+            ejecutarSinVista(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--barrido")) {
+            ejecutarBarrido(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--rendimiento")) {
+            ejecutarRendimiento(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--generar")) {
+            generarCarga(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--convertir")) {
+            convertirCarga(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--ver-traza")) {
+            verTraza(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--comparar-hilos")) {
+            ComparadorHilos.main(java.util.Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
         System.out.println("Iniciando Simulador de Sistema Operativo...");
         
         String filepath = "procesos.json";
@@ -16,6 +67,9 @@ public class Sebastiano {
         
         String filepath1 = "numbers.json";
         int[] preferencias = ProcesoJsonHandler.readFromJson(filepath1);
+        int numCPUs = preferencias.length > 2 ? limitarCPUs(preferencias[2]) : 1;
+        boolean hilosVirtuales = (preferencias.length > 3 && preferencias[3] == 1)
+                || java.util.Arrays.asList(args).contains("--hilos-virtuales");
         
         List todos = new List();
         List salida = new List();
@@ -29,20 +83,505 @@ public class Sebastiano {
             pw = pw.getpNext();
         }
         
-        VistaSimulacion vista = new VistaSimulacion(preferencias[0], preferencias[1], listos, todos);
+        VistaSimulacion vista = new VistaSimulacion(preferencias[0], preferencias[1], numCPUs, listos, todos);
         Semaphore mutex = new Semaphore(1);
         ControladorSimulacion controlador = new ControladorSimulacion(vista);
         
-        PerformanceMetrics metrics = new PerformanceMetrics();
+        PerformanceMetrics metrics = new PerformanceMetrics(numCPUs);
         
-        Planificador planificador = new Planificador(listos, bloqueados, salida, todos, listossSuspendidos, bloqueadosSuspendidos, controlador);
+        Planificador planificador = new Planificador(listos, bloqueados, salida, todos, listossSuspendidos, bloqueadosSuspendidos, controlador, numCPUs);
+        grabarTraza(args, planificador);
         
-        CPU cpu = new CPU(controlador, planificador, 1, mutex, metrics);
+        CPU[] cpus = crearCPUs(numCPUs, controlador, planificador, mutex, metrics);
         Reloj reloj = new Reloj(mutex, planificador, controlador);
+        asignarEjecutor(EjecutorSimulacion.crear(hilosVirtuales), reloj, cpus);
         
+        vista.setHilosVirtuales(hilosVirtuales);
         vista.setReloj(reloj);
-        vista.setCpu(cpu);
+        vista.setCpus(cpus);
         vista.setMetrics(metrics);
         vista.setPlanificador(planificador);
+        new RenderizadorListas(planificador, controlador, mutex).iniciar();
+    }
+    
+    /**
+     * Corre la simulacion en lote con el MotorSimulacion, sin interfaz.
+     * Uso: --headless [procesos.json] [politica] [cpus] [maxCiclos] [opciones...]
+     * El archivo puede ser JSON o binario (.bin, ver ArchivoProcesosBinario).
+     * Los procesos se leen del archivo a medida que se admiten, con a lo sumo
+     * VENTANA procesos activos. Opciones:
+     *   ventana=N  cambia el maximo de procesos activos
+     *   descartar  no guarda los procesos terminados (memoria acotada)
+     *   compacta   lee todo el archivo a una TablaProcesosCompacta y admite
+     *              desde ahi (los Proceso se crean recien al admitirlos)
+     *   checkpoint=ruta  guarda un Checkpoint cada 100000 ciclos
+     *   cada=N     cambia cada cuantos ciclos se guarda el checkpoint
+     *   reanudar=ruta    sigue desde un checkpoint (con la misma carga y CPUs;
+     *              la politica sale del checkpoint)
+     *   traza=ruta[:capacidad]  graba los eventos de planificacion en una
+     *              TrazaEventos (por defecto guarda los ultimos 4M eventos)
+     *   reproducir=ruta  toma las llegadas y las duraciones de E/S de una traza
+     *              grabada (GuionReproduccion); la carga da las definiciones
+     *   memoria=N  memoria total en MB
+     *   eventos=ruta[:MB]  escribe todos los eventos del planificador en CSV
+     *              (ArchivoEventos), rotando y comprimiendo cada tantos MB
+     * En lugar del archivo se puede pasar gen:semilla:cantidad para usar una
+     * carga generada con los valores por defecto de GeneradorCargas.
+     * Un numero mal escrito o una opcion desconocida muestran el uso y no
+     * corren nada.
+     */
+    private static void ejecutarSinVista(String[] args) {
+        String filepath = args.length > 1 ? args[1] : "procesos.json";
+        boolean compacta = false;
+        boolean descartar = false;
+        int ventana = VENTANA;
+        String checkpoint = null;
+        long cada = CADA_CHECKPOINT;
+        String reanudar = null;
+        String traza = null;
+        String reproducir = null;
+        int memoria = Planificador.MEMORIA_POR_DEFECTO;
+        String eventos = null;
+        int politica;
+        int numCPUs;
+        long maxCiclos;
+        try {
+            politica = args.length > 2 ? Integer.parseInt(args[2]) : 0;
+            numCPUs = args.length > 3 ? limitarCPUs(Integer.parseInt(args[3])) : 1;
+            maxCiclos = args.length > 4 ? Long.parseLong(args[4]) : Long.MAX_VALUE / 2;
+            for (int i = 5; i < args.length; i++) {
+                if (args[i].equals("compacta")) {
+                    compacta = true;
+                } else if (args[i].equals("descartar")) {
+                    descartar = true;
+                } else if (args[i].startsWith("ventana=")) {
+                    ventana = Integer.parseInt(args[i].substring("ventana=".length()));
+                } else if (args[i].startsWith("checkpoint=")) {
+                    checkpoint = args[i].substring("checkpoint=".length());
+                } else if (args[i].startsWith("cada=")) {
+                    cada = Long.parseLong(args[i].substring("cada=".length()));
+                } else if (args[i].startsWith("reanudar=")) {
+                    reanudar = args[i].substring("reanudar=".length());
+                } else if (args[i].startsWith("traza=")) {
+                    traza = args[i].substring("traza=".length());
+                } else if (args[i].startsWith("reproducir=")) {
+                    reproducir = args[i].substring("reproducir=".length());
+                } else if (args[i].startsWith("memoria=")) {
+                    memoria = Integer.parseInt(args[i].substring("memoria=".length()));
+                } else if (args[i].startsWith("eventos=")) {
+                    eventos = args[i].substring("eventos=".length());
+                } else {
+                    uso(USO_SIN_VISTA, "opcion desconocida: " + args[i]);
+                    return;
+                }
+            }
+        } catch (NumberFormatException ex) {
+            uso(USO_SIN_VISTA, "numero invalido: " + ex.getMessage());
+            return;
+        }
+        
+        Iterator<Proceso> fuente;
+        Closeable archivo = null;
+        if (filepath.startsWith("gen:")) {
+            String[] partes = filepath.split(":");
+            try {
+                fuente = new GeneradorCargas(Long.parseLong(partes[1]), Integer.parseInt(partes[2])).iterator();
+            } catch (NumberFormatException | ArrayIndexOutOfBoundsException ex) {
+                uso(USO_SIN_VISTA, "carga generada invalida: " + filepath);
+                return;
+            } catch (IllegalArgumentException ex) {
+                uso(USO_SIN_VISTA, ex.getMessage());
+                return;
+            }
+        } else {
+            try {
+                if (filepath.endsWith(".bin")) {
+                    ArchivoProcesosBinario binario = new ArchivoProcesosBinario(filepath);
+                    archivo = binario;
+                    fuente = binario;
+                } else {
+                    LectorProcesosJson lector = new LectorProcesosJson(filepath);
+                    archivo = lector;
+                    fuente = lector;
+                }
+            } catch (IOException | CargaInvalidaException ex) {
+                System.err.println("No se pudieron cargar los procesos: " + ex.getMessage());
+                return;
+            }
+        }
+        if (compacta) {
+            TablaProcesosCompacta tabla = new TablaProcesosCompacta();
+            tabla.agregarTodos(fuente);
+            cerrar(archivo);
+            archivo = null;
+            fuente = tabla.iterator();
+        }
+        
+        Semaphore mutex = new Semaphore(1);
+        ControladorSimulacion controlador = new ControladorSimulacion(politica);
+        PerformanceMetrics metrics = new PerformanceMetrics(numCPUs);
+        Planificador planificador = new Planificador(new List(), new List(), new List(), new List(), new List(), new List(), controlador, numCPUs, memoria);
+        CPU[] cpus = crearCPUs(numCPUs, controlador, planificador, mutex, metrics);
+        Reloj reloj = new Reloj(mutex, planificador, controlador);
+        MotorSimulacion motor = new MotorSimulacion(planificador, reloj, cpus);
+        planificador.setRetenerTerminados(!descartar);
+        GuionReproduccion guion = null;
+        if (reproducir != null) {
+            try {
+                guion = new GuionReproduccion(reproducir);
+                guion.cargarDefiniciones(fuente);
+            } catch (IOException | IllegalStateException | CargaInvalidaException ex) {
+                System.err.println("No se pudo reproducir " + reproducir + ": " + ex.getMessage());
+                cerrar(archivo);
+                return;
+            }
+            motor.setGuion(guion);
+        } else {
+            motor.setFuente(fuente, ventana);
+        }
+        if (checkpoint != null) {
+            motor.setCheckpoints(checkpoint, cada);
+        }
+        TrazaEventos grabador = null;
+        if (traza != null) {
+            int separador = separadorTamano(traza);
+            int capacidad = CAPACIDAD_TRAZA;
+            if (separador > 0) {
+                capacidad = Integer.parseInt(traza.substring(separador + 1));
+                traza = traza.substring(0, separador);
+            }
+            try {
+                grabador = new TrazaEventos(traza, capacidad);
+            } catch (IOException ex) {
+                System.err.println("No se pudo crear la traza " + traza + ": " + ex.getMessage());
+                cerrar(archivo);
+                return;
+            }
+            planificador.setTraza(grabador);
+        }
+        ArchivoEventos historia = null;
+        if (eventos != null) {
+            int separador = separadorTamano(eventos);
+            long segmento = ArchivoEventos.SEGMENTO_POR_DEFECTO;
+            if (separador > 0) {
+                segmento = Long.parseLong(eventos.substring(separador + 1)) << 20;
+                eventos = eventos.substring(0, separador);
+            }
+            try {
+                historia = new ArchivoEventos(eventos, ArchivoEventos.CAPACIDAD_POR_DEFECTO, segmento);
+            } catch (IOException ex) {
+                System.err.println("No se pudo crear " + eventos + ": " + ex.getMessage());
+                cerrar(archivo);
+                cerrar(grabador);
+                return;
+            }
+            planificador.suscribir(historia);
+        }
+        if (reanudar != null) {
+            try {
+                Checkpoint.restaurar(motor, reanudar);
+            } catch (IOException | IllegalStateException ex) {
+                System.err.println("No se pudo reanudar desde " + reanudar + ": " + ex.getMessage());
+                cerrar(archivo);
+                cerrar(grabador);
+                cerrar(historia);
+                return;
+            }
+            System.err.println("Reanudando en el ciclo " + motor.getCiclo());
+        }
+        
+        long inicio = System.nanoTime();
+        long ciclos;
+        try {
+            ciclos = motor.ejecutar(maxCiclos);
+        } catch (CargaInvalidaException ex) {
+            System.err.println("Carga interrumpida en el ciclo " + motor.getCiclo() + ": " + ex.getMessage());
+            return;
+        } finally {
+            cerrar(archivo);
+            cerrar(grabador);
+            cerrar(historia);
+        }
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+        
+        System.out.println(metrics.getMetricsString());
+        System.out.println(String.format("Equidad: %.2f", metrics.getFairness(planificador.getAllProcessList())));
+        System.out.println(planificador.getReadyList().getEstadisticasString());
+        System.out.println(planificador.getTransiciones().getResumen());
+        System.out.println(String.format("Ciclos simulados: %d en %.3f s (%.0f ciclos/s)",
+                ciclos, segundos, segundos > 0 ? ciclos / segundos : 0));
+        if (guion != null) {
+            System.out.println(guion.getResumen());
+        }
+        if (grabador != null) {
+            System.out.println(String.format("Traza: %d eventos (%d pisados) en %s",
+                    grabador.getEscritos(), grabador.getPerdidos(), traza));
+        }
+        if (historia != null) {
+            System.out.println(String.format("Eventos: %d escritos (%d descartados) en %d segmentos de %s",
+                    historia.getEscritos(), historia.getPerdidos(), historia.getSegmentos(), eventos));
+        }
+    }
+    
+    /**
+     * Con --traza=ruta la corrida con hilos graba sus eventos, para despues
+     * repetirla sin ruido con --headless ... reproducir=ruta. Con
+     * --eventos=ruta guarda la historia completa de eventos en CSV
+     * (ArchivoEventos). Los archivos se cierran al salir del programa.
+     */
+    private static void grabarTraza(String[] args, Planificador planificador) {
+        for (String arg : args) {
+            if (arg.startsWith("--eventos=")) {
+                try {
+                    ArchivoEventos historia = new ArchivoEventos(arg.substring("--eventos=".length()));
+                    planificador.suscribir(historia);
+                    Runtime.getRuntime().addShutdownHook(new Thread(() -> cerrar(historia)));
+                } catch (IOException ex) {
+                    Logger.getLogger(Sebastiano.class.getName()).log(Level.SEVERE, null, ex);
+                }
+            }
+            if (arg.startsWith("--traza=")) {
+                String ruta = arg.substring("--traza=".length());
+                try {
+                    TrazaEventos traza = new TrazaEventos(ruta, CAPACIDAD_TRAZA);
+                    planificador.setTraza(traza);
+                    Runtime.getRuntime().addShutdownHook(new Thread(() -> cerrar(traza)));
+                } catch (IOException ex) {
+                    Logger.getLogger(Sebastiano.class.getName()).log(Level.SEVERE, null, ex);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Imprime una traza binaria como CSV.
+     * Uso: --ver-traza traza.bin [maximo]
+     */
+    private static void verTraza(String[] args) {
+        if (args.length < 2) {
+            System.err.println("Uso: --ver-traza traza.bin [maximo]");
+            return;
+        }
+        long maximo = args.length > 2 ? Long.parseLong(args[2]) : Long.MAX_VALUE;
+        try (LectorTraza lector = new LectorTraza(args[1])) {
+            PrintStream out = new PrintStream(new BufferedOutputStream(System.out, 1 << 16), false);
+            out.println("indice,ciclo,cpu,pid,evento,desde,hacia,pc");
+            for (long n = 0; n < maximo && lector.siguiente(); n++) {
+                out.println(lector.getIndice() + "," + lector.getCiclo() + "," + lector.getCpu() + ","
+                        + lector.getPid() + "," + TrazaEventos.nombre(lector.getCodigo()) + ","
+                        + ProcessState.desdeCodigo(lector.getArgA() >> 8) + ","
+                        + ProcessState.desdeCodigo(lector.getArgA() & 0xFF) + "," + lector.getArgB());
+            }
+            out.flush();
+        } catch (IOException ex) {
+            System.err.println("No se pudo leer la traza " + args[1] + ": " + ex.getMessage());
+        }
+    }
+    
+    /**
+     * Corre un barrido de parametros en paralelo y escribe el CSV.
+     * Uso: --barrido [barrido.json] [salida.csv]
+     */
+    private static void ejecutarBarrido(String[] args) {
+        if (args.length > 3) {
+            uso(USO_BARRIDO, "argumento de mas: " + args[3]);
+            return;
+        }
+        String specPath = args.length > 1 ? args[1] : "barrido.json";
+        EspecificacionBarrido spec;
+        try {
+            spec = new ObjectMapper().readValue(new File(specPath), EspecificacionBarrido.class);
+        } catch (IOException ex) {
+            System.err.println("No se pudo leer el barrido " + specPath + ": " + ex.getMessage());
+            return;
+        }
+        EventLogger.setImprimirPorDefecto(false);
+        long inicio = System.nanoTime();
+        int corridas;
+        if (args.length > 2) {
+            try (PrintStream salida = new PrintStream(new FileOutputStream(args[2]), false, "UTF-8")) {
+                corridas = new BarridoParametros(spec).ejecutar(salida);
+            } catch (IOException ex) {
+                System.err.println("No se pudo escribir " + args[2] + ": " + ex.getMessage());
+                return;
+            }
+        } else {
+            corridas = new BarridoParametros(spec).ejecutar(System.out);
+        }
+        System.err.println(String.format("%d corridas en %.2f s", corridas, (System.nanoTime() - inicio) / 1e9));
+    }
+    
+    /**
+     * Corre el banco de rendimiento de punta a punta y escribe el JSON.
+     * Uso: --rendimiento [salida.json] [opciones...]
+     *   procesos=1000,100000,1000000  cantidades de procesos
+     *   cpus=1,2,4,8,16,32             cantidades de CPUs
+     *   politica=N  semilla=N  memoria=N  ventana=N (64)  max=N (ciclos por corrida)
+     *   sin-calentar  no hace la corrida previa de calentamiento
+     * Con los valores por defecto tarda unos 10 min; procesos=1000,100000
+     * alrededor de 1 min.
+     */
+    private static void ejecutarRendimiento(String[] args) {
+        boolean conSalida = args.length > 1 && !args[1].contains("=") && !args[1].equals("sin-calentar");
+        String salida = conSalida ? args[1] : "rendimiento.json";
+        int[] procesos = BancoRendimiento.PROCESOS_POR_DEFECTO;
+        int[] cpus = BancoRendimiento.CPUS_POR_DEFECTO.clone();
+        BancoRendimiento banco;
+        try {
+            for (String arg : args) {
+                if (arg.startsWith("procesos=")) {
+                    procesos = enteros(arg.substring("procesos=".length()));
+                } else if (arg.startsWith("cpus=")) {
+                    cpus = enteros(arg.substring("cpus=".length()));
+                }
+            }
+            for (int i = 0; i < cpus.length; i++) {
+                cpus[i] = limitarCPUs(cpus[i]);
+            }
+            banco = new BancoRendimiento(procesos, cpus);
+            for (int i = conSalida ? 2 : 1; i < args.length; i++) {
+                String arg = args[i];
+                if (arg.startsWith("procesos=") || arg.startsWith("cpus=")) {
+                    // ya leidos
+                } else if (arg.startsWith("politica=")) {
+                    banco.setPolitica(Integer.parseInt(arg.substring("politica=".length())));
+                } else if (arg.startsWith("semilla=")) {
+                    banco.setSemilla(Long.parseLong(arg.substring("semilla=".length())));
+                } else if (arg.startsWith("memoria=")) {
+                    banco.setMemoria(Integer.parseInt(arg.substring("memoria=".length())));
+                } else if (arg.startsWith("ventana=")) {
+                    banco.setVentana(Integer.parseInt(arg.substring("ventana=".length())));
+                } else if (arg.startsWith("max=")) {
+                    banco.setMaxCiclos(Long.parseLong(arg.substring("max=".length())));
+                } else if (arg.equals("sin-calentar")) {
+                    banco.setCalentar(false);
+                } else {
+                    uso(USO_RENDIMIENTO, "opcion desconocida: " + arg);
+                    return;
+                }
+            }
+        } catch (NumberFormatException ex) {
+            uso(USO_RENDIMIENTO, "numero invalido: " + ex.getMessage());
+            return;
+        }
+        long inicio = System.nanoTime();
+        try {
+            int corridas = banco.ejecutar(salida);
+            System.err.println(String.format("%d corridas en %.2f s, resultados en %s",
+                    corridas, (System.nanoTime() - inicio) / 1e9, salida));
+        } catch (IOException ex) {
+            System.err.println("No se pudo escribir " + salida + ": " + ex.getMessage());
+        }
+    }
+    
+    private static void uso(String uso, String problema) {
+        System.err.println("Argumentos invalidos: " + problema);
+        System.err.println(uso);
+    }
+    
+    private static int[] enteros(String lista) {
+        String[] partes = lista.split(",");
+        int[] valores = new int[partes.length];
+        for (int i = 0; i < partes.length; i++) {
+            valores[i] = Integer.parseInt(partes[i].trim());
+        }
+        return valores;
+    }
+    
+    /**
+     * Genera una carga sintetica reproducible y la escribe en JSON, o en
+     * binario si la salida termina en .bin.
+     * Uso: --generar semilla cantidad salida.json [instrucciones] [periodoES] [duracionES] [fraccionIO]
+     * Las distribuciones se escriben como en Distribucion.parse, por ejemplo
+     * exp:50, bimodal:10:400:0.9 o pareto:20:1.5.
+     */
+    private static void generarCarga(String[] args) {
+        if (args.length < 4) {
+            System.err.println("Uso: --generar semilla cantidad salida.json [instrucciones] [periodoES] [duracionES] [fraccionIO]");
+            return;
+        }
+        GeneradorCargas generador = new GeneradorCargas(Long.parseLong(args[1]), Integer.parseInt(args[2]));
+        if (args.length > 4) generador.setInstrucciones(Distribucion.parse(args[4]));
+        if (args.length > 5) generador.setPeriodoES(Distribucion.parse(args[5]));
+        if (args.length > 6) generador.setDuracionES(Distribucion.parse(args[6]));
+        if (args.length > 7) generador.setFraccionIO(Double.parseDouble(args[7]));
+        long inicio = System.nanoTime();
+        try {
+            if (args[3].endsWith(".bin")) {
+                ArchivoProcesosBinario.escribir(generador.iterator(), args[3]);
+            } else {
+                ProcesoJsonHandler.writeProcesosToJson(generador, args[3]);
+            }
+        } catch (IOException ex) {
+            System.err.println("No se pudo escribir " + args[3] + ": " + ex.getMessage());
+            return;
+        }
+        System.err.println(String.format("%d procesos en %.2f s", generador.getCantidad(), (System.nanoTime() - inicio) / 1e9));
+    }
+    
+    /**
+     * Convierte un archivo de procesos JSON al formato binario.
+     * Uso: --convertir procesos.json procesos.bin
+     */
+    private static void convertirCarga(String[] args) {
+        if (args.length < 3) {
+            System.err.println("Uso: --convertir procesos.json procesos.bin");
+            return;
+        }
+        long inicio = System.nanoTime();
+        try {
+            int cantidad = ArchivoProcesosBinario.convertir(args[1], args[2]);
+            System.err.println(String.format("%d procesos convertidos en %.2f s", cantidad, (System.nanoTime() - inicio) / 1e9));
+        } catch (IOException | CargaInvalidaException ex) {
+            System.err.println("No se pudo convertir " + args[1] + ": " + ex.getMessage());
+        }
+    }
+    
+    /**
+     * Posicion del ':' de un argumento ruta:n, o -1 si no termina en ':' y
+     * solo digitos. Asi una ruta de Windows como C:\t.trc no se toma como
+     * ruta "C" con tamano "\t.trc".
+     */
+    static int separadorTamano(String argumento) {
+        int separador = argumento.lastIndexOf(':');
+        if (separador <= 0 || separador == argumento.length() - 1) {
+            return -1;
+        }
+        for (int i = separador + 1; i < argumento.length(); i++) {
+            char c = argumento.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+        }
+        return separador;
+    }
+    
+    private static void cerrar(Closeable archivo) {
+        if (archivo == null) return;
+        try {
+            archivo.close();
+        } catch (IOException ex) {
+            Logger.getLogger(Sebastiano.class.getName()).log(Level.SEVERE, null, ex);
+        }
+    }
+    
+    public static void asignarEjecutor(EjecutorSimulacion ejecutor, Reloj reloj, CPU... cpus) {
+        reloj.setEjecutor(ejecutor);
+        for (CPU cpu : cpus) {
+            cpu.setEjecutor(ejecutor);
+        }
+    }
+    
+    public static CPU[] crearCPUs(int numCPUs, ControladorSimulacion controlador, Planificador planificador,
+                                  Semaphore mutex, PerformanceMetrics metrics) {
+        CPU[] cpus = new CPU[numCPUs];
+        for (int i = 0; i < numCPUs; i++) {
+            cpus[i] = new CPU(controlador, planificador, i + 1, mutex, metrics);
+        }
+        return cpus;
+    }
+    
+    private static int limitarCPUs(int numCPUs) {
+        return Math.max(1, Math.min(MAX_CPUS, numCPUs));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,253 @@
+package vistas;
+
+import java.util.Arrays;
+import javax.swing.RowFilter;
+import javax.swing.table.AbstractTableModel;
+import micelaneos.ProcessState;
+import micelaneos.Proceso;
+
+/**
+ * Modelo de tabla para listas de procesos (PCBs, listos, bloqueados). La
+ * JTable solo le pide los valores de las filas visibles, asi que mostrar
+ * 100000 procesos no arma texto de ninguno que no se vea.
+ *
+ * Cada actualizacion copia los campos de los procesos a arreglos (en el EDT)
+ * y avisa solo las filas que cambiaron; si cambio la lista (otros procesos u
+ * otro orden) avisa la tabla entera. Las columnas ordenan y filtran sobre esa
+ * copia, no sobre el proceso que los hilos de las CPUs siguen modificando.
+ */
+public class ModeloTablaProcesos extends AbstractTableModel {
+
+    public enum Columna {
+        CPU("CPU", Integer.class),
+        ID("Id", Integer.class),
+        NOMBRE("Nombre", String.class),
+        ESTADO("Estado", String.class),
+        PC("PC", Integer.class),
+        MAR("MAR", Integer.class),
+        RT("RT", Integer.class),
+        ESPERA("Espera", Integer.class),
+        PRIORIDAD("Prioridad", Integer.class),
+        MEMORIA("Memoria (MB)", Integer.class),
+        EN_MEMORIA("En memoria", Boolean.class);
+
+        private final String titulo;
+        private final Class<?> clase;
+
+        Columna(String titulo, Class<?> clase) {
+            this.titulo = titulo;
+            this.clase = clase;
+        }
+    }
+
+    public static final Columna[] COLUMNAS_PCB = {Columna.ID, Columna.NOMBRE, Columna.ESTADO, Columna.PC,
+        Columna.MAR, Columna.RT, Columna.ESPERA, Columna.PRIORIDAD, Columna.MEMORIA, Columna.EN_MEMORIA};
+
+    private static final int MAX_AVISOS = 32;
+
+    private final Columna[] columnas;
+    private final int[] desdes = new int[MAX_AVISOS];
+    private final int[] hastas = new int[MAX_AVISOS];
+    private int filas;
+    private Proceso[] procesos = new Proceso[0];
+    private int[] colas = new int[0];
+    private ProcessState[] estados = new ProcessState[0];
+    private int[] pcs = new int[0];
+    private int[] mars = new int[0];
+    private int[] rts = new int[0];
+    private int[] esperas = new int[0];
+    private int[] prioridades = new int[0];
+    private int[] memorias = new int[0];
+    private boolean[] enMemoria = new boolean[0];
+
+    public ModeloTablaProcesos(Columna... columnas) {
+        this.columnas = columnas;
+        this.filas = 0;
+    }
+
+    /**
+     * Reemplaza el contenido por los procesos indicados, en ese orden.
+     */
+    public void setProcesos(Object[] lista) {
+        setColas(new Object[][]{lista});
+    }
+
+    /**
+     * Contenido de varias colas seguidas (una por CPU); la columna CPU indica
+     * de cual salio cada fila.
+     */
+    public void setColas(Object[][] listas) {
+        int n = 0;
+        for (Object[] lista : listas) {
+            n += lista.length;
+        }
+        if (n > procesos.length) {
+            reservar(Math.max(n, procesos.length * 2));
+        }
+        int anteriores = filas;
+        int primerDistinto = n;
+        int fila = 0;
+        for (int c = 0; c < listas.length; c++) {
+            for (Object o : listas[c]) {
+                Proceso p = (Proceso) o;
+                if (procesos[fila] != p || colas[fila] != c + 1) {
+                    primerDistinto = Math.min(primerDistinto, fila);
+                    procesos[fila] = p;
+                    colas[fila] = c + 1;
+                }
+                fila++;
+            }
+        }
+        Arrays.fill(procesos, n, Math.max(n, anteriores), null);
+        filas = n;
+
+        // Si las filas que quedaron son las mismas de antes solo se avisan
+        // las que cambiaron y lo agregado o quitado al final.
+        int comunes = Math.min(n, anteriores);
+        if (primerDistinto < comunes) {
+            for (int i = 0; i < n; i++) {
+                copiar(i);
+            }
+            fireTableDataChanged();
+            return;
+        }
+        // Pocos tramos cambiados se avisan uno por uno (el sorter los
+        // reubica sin reordenar todo); con muchos, un solo aviso que los cubre.
+        int tramos = 0;
+        int primero = -1;
+        int ultimo = -1;
+        for (int i = 0; i < comunes; i++) {
+            if (copiar(i)) {
+                if (ultimo != i - 1 || primero < 0) {
+                    if (tramos < MAX_AVISOS) {
+                        desdes[tramos] = i;
+                    }
+                    tramos++;
+                }
+                if (tramos <= MAX_AVISOS) {
+                    hastas[tramos - 1] = i;
+                }
+                if (primero < 0) {
+                    primero = i;
+                }
+                ultimo = i;
+            }
+        }
+        if (tramos > MAX_AVISOS) {
+            fireTableRowsUpdated(primero, ultimo);
+        } else {
+            for (int k = 0; k < tramos; k++) {
+                fireTableRowsUpdated(desdes[k], hastas[k]);
+            }
+        }
+        if (n > anteriores) {
+            for (int i = anteriores; i < n; i++) {
+                copiar(i);
+            }
+            fireTableRowsInserted(anteriores, n - 1);
+        } else if (n < anteriores) {
+            fireTableRowsDeleted(n, anteriores - 1);
+        }
+    }
+
+    public Proceso getProceso(int fila) {
+        return procesos[fila];
+    }
+
+    @Override
+    public int getRowCount() {
+        return filas;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columnas.length;
+    }
+
+    @Override
+    public String getColumnName(int columna) {
+        return columnas[columna].titulo;
+    }
+
+    @Override
+    public Class<?> getColumnClass(int columna) {
+        return columnas[columna].clase;
+    }
+
+    @Override
+    public Object getValueAt(int fila, int columna) {
+        switch (columnas[columna]) {
+            case CPU: return colas[fila];
+            case ID: return procesos[fila].getId();
+            case NOMBRE: return procesos[fila].getNombre();
+            case ESTADO: return estados[fila].getEtiqueta();
+            case PC: return pcs[fila];
+            case MAR: return mars[fila];
+            case RT: return rts[fila];
+            case ESPERA: return esperas[fila];
+            case PRIORIDAD: return prioridades[fila];
+            case MEMORIA: return memorias[fila];
+            case EN_MEMORIA: return enMemoria[fila];
+            default: return null;
+        }
+    }
+
+    /**
+     * Filtro para un TableRowSorter de este modelo. estado null, prioridad
+     * negativa o memoria negativa dejan pasar cualquier valor en ese campo.
+     */
+    public static RowFilter<ModeloTablaProcesos, Integer> filtro(ProcessState estado, int prioridad,
+            int memoriaMin, int memoriaMax) {
+        return new RowFilter<ModeloTablaProcesos, Integer>() {
+            @Override
+            public boolean include(Entry<? extends ModeloTablaProcesos, ? extends Integer> entry) {
+                ModeloTablaProcesos m = entry.getModel();
+                int i = entry.getIdentifier();
+                return (estado == null || m.estados[i] == estado)
+                        && (prioridad < 0 || m.prioridades[i] == prioridad)
+                        && (memoriaMin < 0 || m.memorias[i] >= memoriaMin)
+                        && (memoriaMax < 0 || m.memorias[i] <= memoriaMax);
+            }
+        };
+    }
+
+    /**
+     * Copia los campos del proceso de la fila; devuelve si alguno cambio.
+     */
+    private boolean copiar(int i) {
+        Proceso p = procesos[i];
+        ProcessState estado = p.getEstadoProceso();
+        int pc = p.getPc();
+        int mar = p.getMar();
+        int rt = p.getInstrucciones() - mar;
+        int espera = p.getTiempoEspera();
+        int prioridad = p.getPrioridad();
+        int memoria = p.getMemoriaRequerida();
+        boolean dentro = p.isInMemory();
+        boolean cambio = estado != estados[i] || pc != pcs[i] || mar != mars[i] || rt != rts[i]
+                || espera != esperas[i] || prioridad != prioridades[i] || memoria != memorias[i]
+                || dentro != enMemoria[i];
+        estados[i] = estado;
+        pcs[i] = pc;
+        mars[i] = mar;
+        rts[i] = rt;
+        esperas[i] = espera;
+        prioridades[i] = prioridad;
+        memorias[i] = memoria;
+        enMemoria[i] = dentro;
+        return cambio;
+    }
+
+    private void reservar(int n) {
+        procesos = Arrays.copyOf(procesos, n);
+        colas = Arrays.copyOf(colas, n);
+        estados = Arrays.copyOf(estados, n);
+        pcs = Arrays.copyOf(pcs, n);
+        mars = Arrays.copyOf(mars, n);
+        rts = Arrays.copyOf(rts, n);
+        esperas = Arrays.copyOf(esperas, n);
+        prioridades = Arrays.copyOf(prioridades, n);
+        memorias = Arrays.copyOf(memorias, n);
+        enMemoria = Arrays.copyOf(enMemoria, n);
+    }
+}
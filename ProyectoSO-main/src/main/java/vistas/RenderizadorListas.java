@@ -0,0 +1,135 @@
+package vistas;
+
+import controlador.ControladorSimulacion;
+import java.util.concurrent.Semaphore;
+import javax.swing.Timer;
+import micelaneos.*;
+import modelos.*;
+
+/**
+ * Redibuja las tablas de procesos de la vista (listos, bloqueados,
+ * suspendidos, salida y PCBs) desde el EDT, a lo sumo "frecuencia" veces por
+ * segundo y solo las que el Planificador marco como sucias. El Planificador
+ * ya no arma texto en cada transicion.
+ *
+ * Con el mutex global de las CPUs tomado solo se copian las referencias de
+ * cada lista y los arreglos de cada heap de listos (O(n)); ordenar las copias
+ * de los heaps y actualizar las tablas se hace despues, sin frenar la
+ * planificacion. Si el mutex esta ocupado no se espera: las vistas quedan
+ * sucias para el proximo tick.
+ */
+public class RenderizadorListas {
+    public static final int FRECUENCIA_POR_DEFECTO = 10;
+
+    private final Planificador planificador;
+    private final ControladorSimulacion controlador;
+    private final Semaphore mutex;
+    private final Timer timer;
+
+    public RenderizadorListas(Planificador planificador, ControladorSimulacion controlador, Semaphore mutex) {
+        this(planificador, controlador, mutex, FRECUENCIA_POR_DEFECTO);
+    }
+
+    public RenderizadorListas(Planificador planificador, ControladorSimulacion controlador, Semaphore mutex,
+                              int frecuencia) {
+        this.planificador = planificador;
+        this.controlador = controlador;
+        this.mutex = mutex;
+        this.timer = new Timer(1000 / Math.max(1, frecuencia), e -> refrescar());
+        this.timer.setCoalesce(true);
+    }
+
+    public void iniciar() {
+        planificador.devolverVistasSucias(Planificador.VISTA_TODAS);
+        timer.start();
+    }
+
+    public void detener() {
+        timer.stop();
+    }
+
+    private void refrescar() {
+        int sucias = planificador.tomarVistasSucias();
+        if (sucias == 0) {
+            return;
+        }
+        if (!mutex.tryAcquire()) {
+            planificador.devolverVistasSucias(sucias);
+            return;
+        }
+        ColaPrioridad<Proceso>[] heaps = null;
+        Object[] bloqueados = null;
+        Object[] suspListos = null;
+        Object[] suspBloqueados = null;
+        Object[] salida = null;
+        Object[] todos = null;
+        try {
+            if ((sucias & Planificador.VISTA_LISTOS) != 0) {
+                ColasListos colas = planificador.getReadyList();
+                heaps = copiarHeaps(colas);
+            }
+            if ((sucias & Planificador.VISTA_BLOQUEADOS) != 0) {
+                bloqueados = copiar(planificador.getBlockedList());
+            }
+            if ((sucias & Planificador.VISTA_SUSPENDIDOS) != 0) {
+                suspListos = copiar(planificador.getSuspendedReadyList());
+                suspBloqueados = copiar(planificador.getSuspendedBlockedList());
+            }
+            if ((sucias & Planificador.VISTA_SALIDA) != 0) {
+                salida = copiar(planificador.getExitList());
+            }
+            if ((sucias & Planificador.VISTA_PCBS) != 0) {
+                todos = copiar(planificador.getAllProcessList());
+            }
+        } finally {
+            mutex.release();
+        }
+
+        if (heaps != null) {
+            Object[][] listos = new Object[heaps.length][];
+            for (int i = 0; i < heaps.length; i++) {
+                listos[i] = heaps[i].vaciarEnOrden();
+            }
+            controlador.setListos(listos);
+        }
+        if (bloqueados != null) {
+            controlador.setBloqueados(bloqueados);
+        }
+        if (suspListos != null) {
+            controlador.setListosSuspendidos(suspListos);
+            controlador.setBloqueadosSuspendidos(suspBloqueados);
+        }
+        if (salida != null) {
+            controlador.setSalida(salida);
+        }
+        if (todos != null) {
+            controlador.setPcbs(todos);
+        }
+    }
+
+    /**
+     * Copia cada heap de listos con su cola bloqueada, sin ordenarlo.
+     */
+    @SuppressWarnings("unchecked")
+    private static ColaPrioridad<Proceso>[] copiarHeaps(ColasListos colas) {
+        ColaPrioridad<Proceso>[] copias = (ColaPrioridad<Proceso>[]) new ColaPrioridad<?>[colas.getNumColas()];
+        for (int i = 0; i < copias.length; i++) {
+            colas.bloquear(i);
+            try {
+                copias[i] = colas.getCola(i).copia();
+            } finally {
+                colas.liberar(i);
+            }
+        }
+        return copias;
+    }
+
+    private static Object[] copiar(Cola<Proceso> cola) {
+        Object[] copia = new Object[cola.getSize()];
+        int n = 0;
+        for (Proceso p : cola) {
+            copia[n++] = p;
+        }
+        return copia;
+    }
+}
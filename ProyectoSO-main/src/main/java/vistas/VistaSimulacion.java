@@ -14,8 +14,9 @@ import modelos.*;
 import java.util.Random;
 
 public class VistaSimulacion extends javax.swing.JFrame {
+    private static final int CUADROS_GRAFICO = 10;
     DefaultPieDataset dataset1;
-    CPU cpu;
+    CPU[] cpus;
     Reloj reloj;
     List<Proceso> listolista;
     List<Proceso> todos;
@@ -24,13 +25,42 @@ public class VistaSimulacion extends javax.swing.JFrame {
     private int relojGlobal;
     private ChartPanel chartPanel;
     private boolean chartVisible = false;
+    private int numCPUs;
+    private int hilosVirtuales;
+    private javax.swing.JTextArea[] cpuAreas;
+    private ContadoresCPU contadoresCPU;
+    private javax.swing.Timer timerGrafico;
+    private long usuarioGraficado;
+    private long sistemaGraficado;
+    private ModeloTablaProcesos modeloPcbs;
+    private ModeloTablaProcesos modeloListos;
+    private ModeloTablaProcesos modeloBloqueados;
+    private ModeloTablaProcesos modeloSuspListos;
+    private ModeloTablaProcesos modeloSuspBloqueados;
+    private ModeloTablaProcesos modeloSalida;
+    private javax.swing.table.TableRowSorter<ModeloTablaProcesos> ordenPcbs;
+    private javax.swing.JComboBox<Object> filtroEstado;
+    private javax.swing.JTextField filtroPrioridad;
+    private javax.swing.JTextField filtroMemoriaMin;
+    private javax.swing.JTextField filtroMemoriaMax;
 
     public VistaSimulacion(int tiempo, int politica, List listo, List todos) {
+        this(tiempo, politica, 1, listo, todos);
+    }
+
+    public VistaSimulacion(int tiempo, int politica, int numCPUs, List listo, List todos) {
         initComponents();
+        this.numCPUs = numCPUs;
+        crearPanelesCPU(numCPUs);
+        crearTablas(numCPUs);
         dataset1 = new DefaultPieDataset();
         
         chartPanel = createPieChart(dataset1, "Utilización del CPU");
         chartPanel.setPreferredSize(new Dimension(700, 400));
+        contadoresCPU = new ContadoresCPU(numCPUs);
+        timerGrafico = new javax.swing.Timer(1000 / CUADROS_GRAFICO, e -> refrescarGrafico());
+        timerGrafico.setCoalesce(true);
+        timerGrafico.start();
         
         this.politica.setSelectedIndex(politica);
         this.tiempoinstruccion.setValue(tiempo);
@@ -61,12 +91,156 @@ public class VistaSimulacion extends javax.swing.JFrame {
         }).start();
     }
 
-    public CPU getCpu() {
-        return cpu;
+    public CPU[] getCpus() {
+        return cpus;
+    }
+
+    public void setCpus(CPU[] cpus) {
+        this.cpus = cpus;
+    }
+
+    public int getNumCPUs() {
+        return numCPUs;
+    }
+
+    /**
+     * 1 si las CPUs y el reloj corren en hilos virtuales; se guarda en
+     * numbers.json junto con las demas preferencias.
+     */
+    public void setHilosVirtuales(boolean virtuales) {
+        this.hilosVirtuales = virtuales ? 1 : 0;
+    }
+
+    /**
+     * Un area de texto por CPU, apiladas dentro del panel de CPU original.
+     */
+    private void crearPanelesCPU(int n) {
+        cpuAreas = new javax.swing.JTextArea[n];
+        if (n == 1) {
+            cpuAreas[0] = cpu1;
+            return;
+        }
+        javax.swing.JPanel contenedor = new javax.swing.JPanel(new java.awt.GridLayout(n, 1, 0, 4));
+        for (int i = 0; i < n; i++) {
+            javax.swing.JTextArea area = new javax.swing.JTextArea();
+            area.setEditable(false);
+            area.setColumns(20);
+            area.setRows(5);
+            area.setBorder(javax.swing.BorderFactory.createTitledBorder("CPU " + (i + 1)));
+            contenedor.add(area);
+            cpuAreas[i] = area;
+        }
+        jScrollPane4.setVerticalScrollBarPolicy(javax.swing.ScrollPaneConstants.VERTICAL_SCROLLBAR_AS_NEEDED);
+        jScrollPane4.setViewportView(contenedor);
+        jLabel8.setText("CPUs (" + n + ")");
+    }
+
+    /**
+     * Tablas en lugar de las areas de texto de PCBs, listos, bloqueados,
+     * suspendidos y salida. La
+     * de PCBs lleva arriba los filtros por estado, prioridad y memoria; todas
+     * se ordenan con un click en el encabezado.
+     */
+    private void crearTablas(int n) {
+        modeloPcbs = new ModeloTablaProcesos(ModeloTablaProcesos.COLUMNAS_PCB);
+        if (n > 1) {
+            modeloListos = new ModeloTablaProcesos(ModeloTablaProcesos.Columna.CPU, ModeloTablaProcesos.Columna.ID,
+                    ModeloTablaProcesos.Columna.NOMBRE, ModeloTablaProcesos.Columna.ESPERA);
+        } else {
+            modeloListos = new ModeloTablaProcesos(ModeloTablaProcesos.Columna.ID,
+                    ModeloTablaProcesos.Columna.NOMBRE, ModeloTablaProcesos.Columna.ESPERA);
+        }
+        modeloBloqueados = new ModeloTablaProcesos(ModeloTablaProcesos.Columna.ID,
+                ModeloTablaProcesos.Columna.NOMBRE);
+        modeloSuspListos = new ModeloTablaProcesos(ModeloTablaProcesos.Columna.ID,
+                ModeloTablaProcesos.Columna.NOMBRE, ModeloTablaProcesos.Columna.ESPERA,
+                ModeloTablaProcesos.Columna.MEMORIA);
+        modeloSuspBloqueados = new ModeloTablaProcesos(ModeloTablaProcesos.Columna.ID,
+                ModeloTablaProcesos.Columna.NOMBRE, ModeloTablaProcesos.Columna.MEMORIA);
+        modeloSalida = new ModeloTablaProcesos(ModeloTablaProcesos.Columna.ID,
+                ModeloTablaProcesos.Columna.NOMBRE);
+
+        javax.swing.JTable tablaPcbs = crearTabla(modeloPcbs);
+        tablaPcbs.setAutoResizeMode(javax.swing.JTable.AUTO_RESIZE_OFF);
+        ordenPcbs = new javax.swing.table.TableRowSorter<>(modeloPcbs);
+        ordenPcbs.setSortsOnUpdates(true);
+        tablaPcbs.setRowSorter(ordenPcbs);
+        jScrollPane2.setViewportView(tablaPcbs);
+        jScrollPane6.setViewportView(crearTabla(modeloListos));
+        jScrollPane7.setViewportView(crearTabla(modeloBloqueados));
+        jScrollPane9.setViewportView(crearTabla(modeloSuspListos));
+        jScrollPane8.setViewportView(crearTabla(modeloSuspBloqueados));
+        jScrollPane1.setViewportView(crearTabla(modeloSalida));
+
+        Object[] estados = new Object[ProcessState.values().length + 1];
+        estados[0] = "Todos";
+        for (ProcessState e : ProcessState.values()) {
+            estados[e.ordinal() + 1] = e;
+        }
+        filtroEstado = new javax.swing.JComboBox<>(estados);
+        filtroEstado.setRenderer(new javax.swing.DefaultListCellRenderer() {
+            @Override
+            public java.awt.Component getListCellRendererComponent(javax.swing.JList<?> list, Object value,
+                    int index, boolean isSelected, boolean cellHasFocus) {
+                Object texto = value instanceof ProcessState ? ((ProcessState) value).getEtiqueta() : value;
+                return super.getListCellRendererComponent(list, texto, index, isSelected, cellHasFocus);
+            }
+        });
+        filtroEstado.addActionListener(e -> aplicarFiltroPcbs());
+        filtroPrioridad = new javax.swing.JTextField(2);
+        filtroMemoriaMin = new javax.swing.JTextField(3);
+        filtroMemoriaMax = new javax.swing.JTextField(3);
+        javax.swing.event.DocumentListener cambio = new javax.swing.event.DocumentListener() {
+            public void insertUpdate(javax.swing.event.DocumentEvent e) { aplicarFiltroPcbs(); }
+            public void removeUpdate(javax.swing.event.DocumentEvent e) { aplicarFiltroPcbs(); }
+            public void changedUpdate(javax.swing.event.DocumentEvent e) { aplicarFiltroPcbs(); }
+        };
+        filtroPrioridad.getDocument().addDocumentListener(cambio);
+        filtroMemoriaMin.getDocument().addDocumentListener(cambio);
+        filtroMemoriaMax.getDocument().addDocumentListener(cambio);
+
+        javax.swing.JPanel valores = new javax.swing.JPanel(new java.awt.FlowLayout(java.awt.FlowLayout.LEFT, 2, 0));
+        valores.add(new javax.swing.JLabel("Prio"));
+        valores.add(filtroPrioridad);
+        valores.add(new javax.swing.JLabel("MB"));
+        valores.add(filtroMemoriaMin);
+        valores.add(new javax.swing.JLabel("-"));
+        valores.add(filtroMemoriaMax);
+        javax.swing.JPanel filtros = new javax.swing.JPanel(new java.awt.GridLayout(2, 1, 0, 2));
+        filtros.add(filtroEstado);
+        filtros.add(valores);
+
+        javax.swing.JPanel panelPcbs = new javax.swing.JPanel(new BorderLayout(0, 2));
+        panelPcbs.add(filtros, BorderLayout.NORTH);
+        jPanel4.remove(jScrollPane2);
+        panelPcbs.add(jScrollPane2, BorderLayout.CENTER);
+        jPanel4.add(panelPcbs, new org.netbeans.lib.awtextra.AbsoluteConstraints(30, 20, 220, 480));
+    }
+
+    private static javax.swing.JTable crearTabla(ModeloTablaProcesos modelo) {
+        javax.swing.JTable tabla = new javax.swing.JTable(modelo);
+        tabla.setAutoCreateRowSorter(true);
+        tabla.setFillsViewportHeight(true);
+        tabla.setSelectionMode(javax.swing.ListSelectionModel.SINGLE_SELECTION);
+        return tabla;
     }
 
-    public void setCpu(CPU cpu) {
-        this.cpu = cpu;
+    private void aplicarFiltroPcbs() {
+        Object estado = filtroEstado.getSelectedItem();
+        ordenPcbs.setRowFilter(ModeloTablaProcesos.filtro(
+                estado instanceof ProcessState ? (ProcessState) estado : null,
+                leerFiltro(filtroPrioridad), leerFiltro(filtroMemoriaMin), leerFiltro(filtroMemoriaMax)));
+    }
+
+    /**
+     * Valor de un campo de filtro; vacio o invalido es -1 (sin filtro).
+     */
+    private static int leerFiltro(javax.swing.JTextField campo) {
+        try {
+            return Math.max(Integer.parseInt(campo.getText().trim()), -1);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
     }
 
     public Reloj getReloj() {
@@ -91,6 +265,9 @@ public class VistaSimulacion extends javax.swing.JFrame {
 
     public VistaSimulacion(){
         initComponents();
+        this.numCPUs = 1;
+        crearPanelesCPU(1);
+        crearTablas(1);
         this.setResizable(false);
         this.setLocationRelativeTo(null);
     }
@@ -127,13 +304,18 @@ public class VistaSimulacion extends javax.swing.JFrame {
        this.cpu1.setText(t);
     }
 
+    public void setCPU(int id, String t){
+        if (id >= 1 && id <= cpuAreas.length) {
+            cpuAreas[id - 1].setText(t);
+        }
+    }
+
     public void uPcbs(){
-        String d = "";
+        Object[] d = new Object[todos.getSize()];
+        int n = 0;
         Nodo p = todos.getHead();
-        while(p != null){
-           if (planificador != null) {
-                d += planificador.stringInterfaz((Proceso) p.getValue());
-            }
+        while(p != null && n < d.length){
+            d[n++] = p.getValue();
             p = p.getpNext();
         }
         this.setPcbs(d);
@@ -148,20 +330,20 @@ public class VistaSimulacion extends javax.swing.JFrame {
         }
     }
 
-    public void setListos(String t) {
-        this.listos.setText(t);
+    public void setListos(Object[][] colas) {
+        modeloListos.setColas(colas);
     }
 
-    public void setBloqueados(String t) {
-        this.bloqueados.setText(t);
+    public void setBloqueados(Object[] procesos) {
+        modeloBloqueados.setProcesos(procesos);
     }
 
-    public void setSalida(String t) {
-        this.salida.setText(t);
+    public void setSalida(Object[] procesos) {
+        modeloSalida.setProcesos(procesos);
     }
 
-    public void setPcbs(String t){
-        this.pcbs.setText(t);
+    public void setPcbs(Object[] procesos){
+        modeloPcbs.setProcesos(procesos);
     }
 
     public void setTiempoInstruccion(String i){
@@ -192,33 +374,46 @@ public class VistaSimulacion extends javax.swing.JFrame {
         return chartPanel;
     }
 
-    public void updateDataset(int chartNumber, String category, int value) {
-        SwingUtilities.invokeLater(() -> {
-            Number existingValue = dataset1.getValue(category);
-            int newValue = (existingValue == null ? 0 : existingValue.intValue()) + value;
-            dataset1.setValue(category, newValue);
-            if (chartPanel != null) {
-                chartPanel.repaint();
-            }
-        });
-    }
-
     /**
-     * NEW: Update suspended ready list display
+     * Cuenta un ciclo de la CPU para el grafico. Se llama desde el hilo de la
+     * CPU en cada ciclo: solo suma en ContadoresCPU, el grafico lo toma el
+     * timer del grafico.
      */
-    public void setListosSuspendidosText(String t) {
-        SwingUtilities.invokeLater(() -> {
-            this.listosSuspendidos.setText(t);
-        });
+    public void contarCiclo(int cpuId, boolean usuario) {
+        contadoresCPU.contar(cpuId, usuario);
     }
 
     /**
-     * NEW: Update suspended blocked list display
+     * Pasa al dataset lo que sumaron las CPUs desde el ultimo cuadro. Corre
+     * en el EDT con el timer del grafico.
      */
-    public void setBloqueadosSuspendidosText(String t) {
-        SwingUtilities.invokeLater(() -> {
-            this.bloqueadosSuspendidos.setText(t);
-        });
+    private void refrescarGrafico() {
+        long usuario = contadoresCPU.getUsuarioTotal();
+        long sistema = contadoresCPU.getSistemaTotal();
+        if (usuario == usuarioGraficado && sistema == sistemaGraficado) {
+            return;
+        }
+        sumarAlDataset("Usuario", usuario - usuarioGraficado);
+        sumarAlDataset("Sistema Operativo", sistema - sistemaGraficado);
+        usuarioGraficado = usuario;
+        sistemaGraficado = sistema;
+    }
+
+    private void sumarAlDataset(String category, long value) {
+        if (value == 0) {
+            return;
+        }
+        Number existingValue = dataset1.getValue(category);
+        long newValue = (existingValue == null ? 0 : existingValue.longValue()) + value;
+        dataset1.setValue(category, newValue);
+    }
+
+    public void setListosSuspendidos(Object[] procesos) {
+        modeloSuspListos.setProcesos(procesos);
+    }
+
+    public void setBloqueadosSuspendidos(Object[] procesos) {
+        modeloSuspBloqueados.setProcesos(procesos);
     }
     
     public void updateMetrics(String metricsText) {
@@ -239,9 +434,13 @@ public class VistaSimulacion extends javax.swing.JFrame {
         if (metrics != null) {
             String metricsText = metrics.getMetricsString();
             if (planificador != null) {
-                double fairness = metrics.getFairness(todos);
+                double fairness = metrics.getFairness(planificador.getAllProcessList());
                 metricsText += String.format("\nEquidad: %.2f", fairness);
                 
+                if (planificador.getReadyList().getNumColas() > 1) {
+                    metricsText += "\n" + planificador.getReadyList().getEstadisticasString();
+                }
+                
                 if (planificador.getMemoryManager() != null) {
                     metricsText += String.format("\n\nMemoria Disponible: %d MB", 
                         planificador.getMemoryManager().getAvailableMemory());
@@ -281,32 +480,9 @@ public class VistaSimulacion extends javax.swing.JFrame {
     }
     
     private void generarProcesosAleatorios() {
-        Random rand = new Random();
-
-        for (int i = 0; i < 10; i++) {
-            int id = todos.getSize();
-            String nombreProceso = "Proceso " + id;
-
-            int instrucciones = 20 + rand.nextInt(180); // 20-200 instructions
-            boolean isIOBound = rand.nextBoolean();
-            String tipo = isIOBound ? "I/O Bound" : "CPU Bound";
-
-            int ciclosExcepcion = isIOBound ? (5 + rand.nextInt(20)) : 1;
-            int duracionExcepcion = isIOBound ? (3 + rand.nextInt(10)) : 1;
-            
-            // Random priority between 0 (highest) and 4 (lowest)
-            int prioridad = rand.nextInt(5);
-
-            Proceso p = new Proceso(
-                id,
-                nombreProceso,
-                tipo,
-                instrucciones,
-                ciclosExcepcion,
-                duracionExcepcion,
-                prioridad
-            );
-
+        GeneradorCargas generador = new GeneradorCargas(new Random().nextLong(), 10);
+        generador.setPrimerId(todos.getSize());
+        for (Proceso p : generador) {
             listolista.appendLast(p);
             todos.appendLast(p);
         }
@@ -658,8 +834,10 @@ public class VistaSimulacion extends javax.swing.JFrame {
     
     private void jButton2ActionPerformed(java.awt.event.ActionEvent evt) {                                         
         try {
-            if (cpu != null && reloj != null) {
-                cpu.start();
+            if (cpus != null && reloj != null) {
+                for (CPU cpu : cpus) {
+                    cpu.start();
+                }
                 reloj.start();
 
                 ProcesoJsonHandler.writeProcesosToJson(todos, "procesos.json");
@@ -741,12 +919,12 @@ public class VistaSimulacion extends javax.swing.JFrame {
 
     private void tiempoinstruccionStateChanged(javax.swing.event.ChangeEvent evt) {                                               
         this.jLabel16.setText(this.tiempoinstruccion.getValue()+" ms");
-        int[] h = {this.tiempoinstruccion.getValue(),this.politica.getSelectedIndex()};
+        int[] h = {this.tiempoinstruccion.getValue(),this.politica.getSelectedIndex(),this.numCPUs,this.hilosVirtuales};
         ProcesoJsonHandler.saveToJson(h, "numbers.json");
     }                                              
 
     private void politicaActionPerformed(java.awt.event.ActionEvent evt) {                                         
-        int[] h = {this.tiempoinstruccion.getValue(),this.politica.getSelectedIndex()};
+        int[] h = {this.tiempoinstruccion.getValue(),this.politica.getSelectedIndex(),this.numCPUs,this.hilosVirtuales};
         ProcesoJsonHandler.saveToJson(h, "numbers.json");
     }                                        
 
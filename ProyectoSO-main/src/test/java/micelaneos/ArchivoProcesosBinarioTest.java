@@ -0,0 +1,124 @@
+package micelaneos;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ArchivoProcesosBinarioTest {
+
+    @TempDir
+    Path carpeta;
+
+    private String escribir(Proceso... procesos) throws IOException {
+        String ruta = carpeta.resolve("procesos.bin").toString();
+        assertEquals(procesos.length, ArchivoProcesosBinario.escribir(Arrays.asList(procesos).iterator(), ruta));
+        return ruta;
+    }
+
+    /**
+     * Pisa un int little-endian del registro i en el desplazamiento indicado.
+     */
+    private static void pisar(String ruta, int i, int desplazamiento, int valor) throws IOException {
+        try (RandomAccessFile f = new RandomAccessFile(ruta, "rw")) {
+            f.seek(ArchivoProcesosBinario.TAM_CABECERA + (long) i * ArchivoProcesosBinario.TAM_REGISTRO + desplazamiento);
+            f.writeInt(Integer.reverseBytes(valor));
+        }
+    }
+
+    private static CargaInvalidaException leerHastaError(String ruta) {
+        return assertThrows(CargaInvalidaException.class, () -> {
+            try (ArchivoProcesosBinario archivo = new ArchivoProcesosBinario(ruta)) {
+                while (archivo.hasNext()) {
+                    archivo.next();
+                }
+            }
+        });
+    }
+
+    @Test
+    public void idaYVueltaConservaLaDefinicion() throws IOException {
+        GeneradorCargas generador = new GeneradorCargas(11, 3000);
+        generador.setPrimerId(40);
+        ArrayList<Proceso> originales = new ArrayList<>();
+        generador.forEach(originales::add);
+        String ruta = escribir(originales.toArray(new Proceso[0]));
+        try (ArchivoProcesosBinario archivo = new ArchivoProcesosBinario(ruta)) {
+            assertEquals(originales.size(), archivo.getCantidad());
+            for (Proceso p : originales) {
+                Proceso q = archivo.next();
+                assertEquals(p.getId(), q.getId());
+                assertEquals(p.getNombre(), q.getNombre());
+                assertEquals(p.getTipo(), q.getTipo());
+                assertEquals(p.getInstrucciones(), q.getInstrucciones());
+                assertEquals(p.getCiclosParaExcepcion(), q.getCiclosParaExcepcion());
+                assertEquals(p.getCiclosParaSatisfacerExcepcion(), q.getCiclosParaSatisfacerExcepcion());
+                assertEquals(p.getPrioridad(), q.getPrioridad());
+                assertEquals(p.getMemoriaRequerida(), q.getMemoriaRequerida());
+            }
+            assertFalse(archivo.hasNext());
+            assertEquals(originales.get(1234).getId(), archivo.get(1234).getId());
+        }
+    }
+
+    @Test
+    public void instruccionesNegativas() throws IOException {
+        String ruta = escribir(new Proceso(0, "a", "CPU Bound", 10, 1, 1, 0), new Proceso(1, "b", "CPU Bound", 10, 1, 1, 0));
+        pisar(ruta, 1, 4, -5);
+        CargaInvalidaException ex = leerHastaError(ruta);
+        assertEquals(1, ex.getIndice());
+        assertTrue(ex.getMessage().contains("no tiene instrucciones"), ex.getMessage());
+    }
+
+    @Test
+    public void memoriaNegativa() throws IOException {
+        String ruta = escribir(new Proceso(0, "a", "CPU Bound", 10, 1, 1, 0));
+        pisar(ruta, 0, 20, -1);
+        CargaInvalidaException ex = leerHastaError(ruta);
+        assertEquals(0, ex.getIndice());
+        assertTrue(ex.getMessage().contains("memoria negativa"), ex.getMessage());
+    }
+
+    @Test
+    public void tipoDesconocidoYReservados() throws IOException {
+        String ruta = escribir(new Proceso(0, "a", "CPU Bound", 10, 1, 1, 0), new Proceso(1, "b", "I/O Bound", 10, 4, 2, 0),
+                new Proceso(2, "c", "CPU Bound", 10, 1, 1, 0));
+        pisar(ruta, 2, 24, 7);
+        CargaInvalidaException ex = leerHastaError(ruta);
+        assertEquals(2, ex.getIndice());
+        assertTrue(ex.getMessage().contains("tipo desconocido"), ex.getMessage());
+        pisar(ruta, 2, 24, 1 << 8);
+        assertTrue(leerHastaError(ruta).getMessage().contains("reservados"));
+    }
+
+    @Test
+    public void idRepetidoEIdNegativo() throws IOException {
+        String ruta = escribir(new Proceso(3, "a", "CPU Bound", 10, 1, 1, 0), new Proceso(3, "b", "CPU Bound", 10, 1, 1, 0));
+        CargaInvalidaException ex = leerHastaError(ruta);
+        assertEquals(1, ex.getIndice());
+        assertTrue(ex.getMessage().contains("id repetido"), ex.getMessage());
+        pisar(ruta, 0, 0, -3);
+        assertTrue(leerHastaError(ruta).getMessage().contains("id negativo"));
+    }
+
+    @Test
+    public void cabeceraInvalida() throws IOException {
+        Path ruta = carpeta.resolve("otro.bin");
+        Files.write(ruta, new byte[]{1, 2, 3});
+        assertThrows(IOException.class, () -> new ArchivoProcesosBinario(ruta.toString()));
+        String truncado = escribir(new Proceso(0, "a", "CPU Bound", 10, 1, 1, 0));
+        try (RandomAccessFile f = new RandomAccessFile(truncado, "rw")) {
+            f.setLength(f.length() - 1);
+        }
+        assertThrows(IOException.class, () -> new ArchivoProcesosBinario(truncado));
+    }
+}
@@ -0,0 +1,171 @@
+package micelaneos;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Comparator;
+import org.junit.jupiter.api.Test;
+
+class ColaPrioridadTest {
+
+    /**
+     * Elemento con clave y una etiqueta para distinguir empates.
+     */
+    private static class Item {
+        int clave;
+        final String etiqueta;
+
+        Item(int clave, String etiqueta) {
+            this.clave = clave;
+            this.etiqueta = etiqueta;
+        }
+    }
+
+    private static final Comparator<Item> POR_CLAVE = Comparator.comparingInt(i -> i.clave);
+
+    @Test
+    void extraeEnOrdenDelComparador() {
+        ColaPrioridad<Item> cola = new ColaPrioridad<>(POR_CLAVE, 2);
+        int[] claves = {7, 3, 9, 1, 5, 8, 2, 6, 4, 0};
+        for (int c : claves) {
+            cola.insertar(new Item(c, "i" + c));
+        }
+        assertEquals(claves.length, cola.getSize());
+        for (int esperado = 0; esperado < claves.length; esperado++) {
+            assertEquals(esperado, cola.extraer().clave);
+        }
+        assertNull(cola.extraer());
+        assertTrue(cola.isEmpty());
+    }
+
+    @Test
+    void empatesSalenPorOrdenDeLlegada() {
+        ColaPrioridad<Item> cola = new ColaPrioridad<>(POR_CLAVE);
+        for (int i = 0; i < 20; i++) {
+            cola.insertar(new Item(i % 2, "n" + i));
+        }
+        for (int i = 0; i < 20; i += 2) {
+            assertEquals("n" + i, cola.extraer().etiqueta);
+        }
+        for (int i = 1; i < 20; i += 2) {
+            assertEquals("n" + i, cola.extraer().etiqueta);
+        }
+    }
+
+    @Test
+    void conComparadorConstanteSeComportaComoFifo() {
+        ColaPrioridad<Item> cola = new ColaPrioridad<>((a, b) -> 0);
+        for (int i = 0; i < 50; i++) {
+            cola.insertar(new Item(50 - i, "n" + i));
+        }
+        for (int i = 0; i < 50; i++) {
+            assertEquals("n" + i, cola.extraer().etiqueta);
+        }
+    }
+
+    @Test
+    void cambiarComparadorReconstruyeElHeap() {
+        ColaPrioridad<Item> cola = new ColaPrioridad<>(POR_CLAVE);
+        for (int c = 0; c < 10; c++) {
+            cola.insertar(new Item(c, "i" + c));
+        }
+        cola.setComparator(POR_CLAVE.reversed());
+        for (int esperado = 9; esperado >= 0; esperado--) {
+            assertEquals(esperado, cola.extraer().clave);
+        }
+    }
+
+    @Test
+    void reordenarDespuesDeCambiarClaves() {
+        ColaPrioridad<Item> cola = new ColaPrioridad<>(POR_CLAVE);
+        Item[] items = new Item[10];
+        for (int c = 0; c < items.length; c++) {
+            items[c] = new Item(c, "i" + c);
+            cola.insertar(items[c]);
+        }
+        for (Item item : items) {
+            item.clave = 100 - item.clave;
+        }
+        cola.reordenar();
+        for (int c = items.length - 1; c >= 0; c--) {
+            assertSame(items[c], cola.extraer());
+        }
+    }
+
+    @Test
+    void quitarEnMantieneElOrden() {
+        ColaPrioridad<Item> cola = new ColaPrioridad<>(POR_CLAVE);
+        for (int c = 0; c < 10; c++) {
+            cola.insertar(new Item(c, "i" + c));
+        }
+        for (int pos = 0; pos < cola.getSize(); pos++) {
+            if (cola.get(pos).clave == 4) {
+                assertEquals(4, cola.quitarEn(pos).clave);
+                break;
+            }
+        }
+        int anterior = -1;
+        while (!cola.isEmpty()) {
+            int clave = cola.extraer().clave;
+            assertNotEquals(4, clave);
+            assertTrue(clave > anterior);
+            anterior = clave;
+        }
+    }
+
+    @Test
+    void quitarPosicionesQuitaTodasLasMarcadas() {
+        ColaPrioridad<Item> cola = new ColaPrioridad<>(POR_CLAVE);
+        for (int c = 0; c < 31; c++) {
+            cola.insertar(new Item((c * 7) % 31, "i" + c));
+        }
+        // quita todas las claves pares, marcadas en un solo recorrido
+        int[] posiciones = new int[cola.getSize()];
+        int n = 0;
+        for (int pos = 0; pos < cola.getSize(); pos++) {
+            if (cola.get(pos).clave % 2 == 0) {
+                posiciones[n++] = pos;
+            }
+        }
+        cola.quitarPosiciones(posiciones, n);
+        assertEquals(15, cola.getSize());
+        for (int esperado = 1; esperado < 31; esperado += 2) {
+            assertEquals(esperado, cola.extraer().clave);
+        }
+        assertTrue(cola.isEmpty());
+    }
+
+    @Test
+    void toArrayOrdenadoNoModificaLaCola() {
+        ColaPrioridad<Item> cola = new ColaPrioridad<>(POR_CLAVE);
+        cola.insertar(new Item(2, "a"));
+        cola.insertar(new Item(1, "b"));
+        cola.insertar(new Item(2, "c"));
+        Object[] orden = cola.toArrayOrdenado();
+        assertEquals("b", ((Item) orden[0]).etiqueta);
+        assertEquals("a", ((Item) orden[1]).etiqueta);
+        assertEquals("c", ((Item) orden[2]).etiqueta);
+        assertEquals(3, cola.getSize());
+    }
+
+    @Test
+    void laCopiaSeVaciaEnOrdenSinTocarLaOriginal() {
+        ColaPrioridad<Item> cola = new ColaPrioridad<>(POR_CLAVE);
+        Item a = new Item(2, "a");
+        cola.insertar(a);
+        cola.insertar(new Item(1, "b"));
+        cola.insertar(new Item(2, "c"));
+        cola.insertar(new Item(3, "d"));
+        ColaPrioridad<Item> copia = cola.copia();
+        // la clave cambia sin pasar por la cola, como HRRN al envejecer
+        a.clave = 0;
+        Object[] orden = copia.vaciarEnOrden();
+        assertEquals("a", ((Item) orden[0]).etiqueta);
+        assertEquals("b", ((Item) orden[1]).etiqueta);
+        assertEquals("c", ((Item) orden[2]).etiqueta);
+        assertEquals("d", ((Item) orden[3]).etiqueta);
+        assertTrue(copia.isEmpty());
+        assertEquals(4, cola.getSize());
+        cola.insertar(new Item(5, "e"));
+        assertEquals(0, copia.getSize());
+    }
+}
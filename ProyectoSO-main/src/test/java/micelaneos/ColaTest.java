@@ -0,0 +1,112 @@
+package micelaneos;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import org.junit.jupiter.api.Test;
+
+class ColaTest {
+
+    private static ArrayList<Integer> contenido(Cola<Integer> cola) {
+        ArrayList<Integer> lista = new ArrayList<>();
+        for (int x : cola) {
+            lista.add(x);
+        }
+        return lista;
+    }
+
+    private static void verificarEnlaces(Cola<Integer> cola) {
+        int n = 0;
+        NodoCola<Integer> anterior = null;
+        for (NodoCola<Integer> nodo = cola.getPrimero(); nodo != null; nodo = nodo.getSiguiente()) {
+            assertSame(anterior, nodo.getAnterior());
+            assertSame(cola, nodo.getCola());
+            anterior = nodo;
+            n++;
+        }
+        assertSame(anterior, cola.getUltimo());
+        assertEquals(n, cola.getSize());
+    }
+
+    @Test
+    void agregaAlFinalYSacaDelPrincipio() {
+        Cola<Integer> cola = new Cola<>();
+        for (int i = 0; i < 5; i++) {
+            cola.agregar(i);
+        }
+        assertEquals(0, cola.sacarPrimero());
+        assertEquals(1, cola.sacarPrimero());
+        assertEquals(java.util.List.of(2, 3, 4), contenido(cola));
+        verificarEnlaces(cola);
+    }
+
+    @Test
+    void quitaNodosDelMedioYDeLosExtremos() {
+        Cola<Integer> cola = new Cola<>();
+        ArrayList<NodoCola<Integer>> nodos = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            nodos.add(cola.agregar(i));
+        }
+        assertTrue(cola.quitar(nodos.get(3)));
+        verificarEnlaces(cola);
+        assertTrue(cola.quitar(nodos.get(0)));
+        verificarEnlaces(cola);
+        assertTrue(cola.quitar(nodos.get(5)));
+        verificarEnlaces(cola);
+        assertEquals(java.util.List.of(1, 2, 4), contenido(cola));
+
+        NodoCola<Integer> quitado = nodos.get(3);
+        assertNull(quitado.getCola());
+        assertNull(quitado.getAnterior());
+        assertNull(quitado.getSiguiente());
+        assertFalse(cola.quitar(quitado));
+        assertEquals(3, cola.getSize());
+    }
+
+    @Test
+    void noQuitaNodosDeOtraCola() {
+        Cola<Integer> a = new Cola<>();
+        Cola<Integer> b = new Cola<>();
+        NodoCola<Integer> nodo = a.agregar(1);
+        b.agregar(2);
+        assertFalse(b.quitar(nodo));
+        assertEquals(1, a.getSize());
+        assertEquals(1, b.getSize());
+    }
+
+    @Test
+    void unNodoSeMueveDeColaSinCrearOtro() {
+        Cola<Integer> a = new Cola<>();
+        Cola<Integer> b = new Cola<>();
+        NodoCola<Integer> nodo = a.agregar(7);
+        assertThrows(IllegalStateException.class, () -> b.agregar(nodo));
+        a.quitar(nodo);
+        b.agregar(nodo);
+        assertSame(b, nodo.getCola());
+        assertTrue(a.estaVacia());
+        assertEquals(java.util.List.of(7), contenido(b));
+    }
+
+    @Test
+    void iteratorRemoveYModificacionConcurrente() {
+        Cola<Integer> cola = new Cola<>();
+        for (int i = 0; i < 10; i++) {
+            cola.agregar(i);
+        }
+        Iterator<Integer> it = cola.iterator();
+        while (it.hasNext()) {
+            if (it.next() % 2 == 0) {
+                it.remove();
+            }
+        }
+        assertEquals(java.util.List.of(1, 3, 5, 7, 9), contenido(cola));
+        verificarEnlaces(cola);
+
+        Iterator<Integer> otro = cola.iterator();
+        otro.next();
+        cola.agregar(11);
+        assertThrows(ConcurrentModificationException.class, otro::next);
+    }
+}
@@ -0,0 +1,92 @@
+package micelaneos;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Iterator;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+public class GeneradorCargasTest {
+
+    private static String firma(Proceso p) {
+        return p.getId() + "|" + p.getNombre() + "|" + p.getTipo() + "|" + p.getInstrucciones() + "|"
+                + p.getCiclosParaExcepcion() + "|" + p.getCiclosParaSatisfacerExcepcion() + "|" + p.getPrioridad();
+    }
+
+    @Test
+    public void mismaSemillaDaLaMismaCarga() {
+        Iterator<Proceso> a = new GeneradorCargas(2024, 200).iterator();
+        Iterator<Proceso> b = new GeneradorCargas(2024, 200).iterator();
+        while (a.hasNext()) {
+            assertEquals(firma(a.next()), firma(b.next()));
+        }
+    }
+
+    @Test
+    public void otraSemillaDaOtraCarga() {
+        StringBuilder a = new StringBuilder();
+        StringBuilder b = new StringBuilder();
+        new GeneradorCargas(1, 50).forEach(p -> a.append(firma(p)));
+        new GeneradorCargas(2, 50).forEach(p -> b.append(firma(p)));
+        assertNotEquals(a.toString(), b.toString());
+    }
+
+    @Test
+    public void cadaProcesoNoDependeDelRecorrido() {
+        GeneradorCargas generador = new GeneradorCargas(99, 1000);
+        Proceso[] enOrden = generador.stream().toArray(Proceso[]::new);
+        Proceso[] paralelo = generador.stream().parallel().toArray(Proceso[]::new);
+        for (int i = 0; i < enOrden.length; i++) {
+            assertEquals(firma(enOrden[i]), firma(paralelo[i]));
+        }
+        // uno suelto, sin generar los anteriores
+        assertEquals(firma(enOrden[737]), firma(new GeneradorCargas(99, 1000).generar(737)));
+    }
+
+    @Test
+    public void valoresPorDefectoEnRango() {
+        GeneradorCargas generador = new GeneradorCargas(5, 2000);
+        generador.setPrimerId(10);
+        int io = 0;
+        int i = 0;
+        for (Proceso p : generador) {
+            assertEquals(10 + i++, p.getId());
+            assertTrue(p.getInstrucciones() >= 20 && p.getInstrucciones() <= 199);
+            assertTrue(p.getPrioridad() >= 0 && p.getPrioridad() <= 4);
+            if (p.getTipo().equals("I/O Bound")) {
+                io++;
+                assertTrue(p.getCiclosParaExcepcion() >= 5 && p.getCiclosParaExcepcion() <= 24);
+                assertTrue(p.getCiclosParaSatisfacerExcepcion() >= 3 && p.getCiclosParaSatisfacerExcepcion() <= 12);
+            }
+        }
+        assertEquals(2000, i);
+        assertTrue(io > 800 && io < 1200, "fraccion I/O lejos de 0.5: " + io);
+    }
+
+    @Test
+    public void fueraDeLaCargaFalla() {
+        GeneradorCargas generador = new GeneradorCargas(1, 3);
+        assertThrows(IndexOutOfBoundsException.class, () -> generador.generar(3));
+        assertThrows(IllegalArgumentException.class, () -> new GeneradorCargas(1, -1));
+    }
+
+    @Test
+    public void distribucionesSonReproducibles() {
+        String[] textos = {"7", "uniforme:3:9", "exp:50", "bimodal:10:400:0.9", "pareto:20:1.5"};
+        for (String texto : textos) {
+            Distribucion d = Distribucion.parse(texto);
+            SplittableRandom r1 = new SplittableRandom(3);
+            SplittableRandom r2 = new SplittableRandom(3);
+            for (int i = 0; i < 500; i++) {
+                int v = d.muestra(r1);
+                assertEquals(v, d.muestra(r2));
+                assertTrue(v >= 1 && v <= Distribucion.LIMITE, texto + " dio " + v);
+            }
+        }
+        assertThrows(IllegalArgumentException.class, () -> Distribucion.parse("uniforme:9"));
+        assertThrows(IllegalArgumentException.class, () -> Distribucion.parse("exp:-1"));
+    }
+}
@@ -0,0 +1,101 @@
+package micelaneos;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class LectorProcesosJsonTest {
+
+    @TempDir
+    Path carpeta;
+
+    private static String proceso(int id, String tipo, int instrucciones) {
+        return "{\"id\":" + id + ",\"nombre\":\"P" + id + "\",\"tipo\":\"" + tipo + "\",\"instrucciones\":"
+                + instrucciones + ",\"ciclosParaExcepcion\":5,\"ciclosParaSatisfacerExcepcion\":3,\"prioridad\":1}";
+    }
+
+    private String escribir(String contenido) throws IOException {
+        Path archivo = carpeta.resolve("procesos.json");
+        Files.writeString(archivo, contenido);
+        return archivo.toString();
+    }
+
+    /**
+     * Lee el archivo entero y devuelve el error que corto la lectura.
+     */
+    private CargaInvalidaException leerHastaError(String contenido) throws IOException {
+        String ruta = escribir(contenido);
+        return assertThrows(CargaInvalidaException.class, () -> {
+            try (LectorProcesosJson lector = new LectorProcesosJson(ruta)) {
+                while (lector.hasNext()) {
+                    lector.next();
+                }
+            }
+        });
+    }
+
+    @Test
+    public void leeUnArregloValido() throws IOException {
+        String ruta = escribir("[" + proceso(0, "CPU Bound", 10) + ",\n" + proceso(1, "I/O Bound", 20) + "]");
+        try (LectorProcesosJson lector = new LectorProcesosJson(ruta)) {
+            assertEquals(0, lector.next().getId());
+            Proceso p = lector.next();
+            assertEquals(1, p.getId());
+            assertEquals("I/O Bound", p.getTipo());
+            assertFalse(lector.hasNext());
+            assertEquals(2, lector.getLeidos());
+        }
+    }
+
+    @Test
+    public void idRepetidoIndicaProcesoYLinea() throws IOException {
+        CargaInvalidaException ex = leerHastaError("[" + proceso(0, "CPU Bound", 10) + ",\n"
+                + proceso(1, "CPU Bound", 10) + ",\n" + proceso(0, "CPU Bound", 10) + "]");
+        assertEquals(2, ex.getIndice());
+        assertEquals(3, ex.getLinea());
+        assertTrue(ex.getMessage().contains("id repetido"), ex.getMessage());
+    }
+
+    @Test
+    public void valoresInvalidos() throws IOException {
+        assertTrue(leerHastaError("[" + proceso(-1, "CPU Bound", 10) + "]").getMessage().contains("id negativo"));
+        assertTrue(leerHastaError("[" + proceso(0, "CPU Bound", 0) + "]").getMessage().contains("no tiene instrucciones"));
+        assertTrue(leerHastaError("[" + proceso(0, "GPU Bound", 10) + "]").getMessage().contains("tipo desconocido"));
+        CargaInvalidaException ex = leerHastaError("[" + proceso(0, "CPU Bound", 10) + ","
+                + proceso(1, "CPU Bound", 10).replace("}", ",\"memoriaRequerida\":-4}") + "]");
+        assertEquals(1, ex.getIndice());
+        assertTrue(ex.getMessage().contains("memoria negativa"), ex.getMessage());
+    }
+
+    @Test
+    public void campoDesconocido() throws IOException {
+        CargaInvalidaException ex = leerHastaError("[" + proceso(0, "CPU Bound", 10).replace("}", ",\"color\":3}") + "]");
+        assertEquals(0, ex.getIndice());
+        assertTrue(ex.getMessage().contains("color"), ex.getMessage());
+    }
+
+    @Test
+    public void jsonMalFormado() throws IOException {
+        CargaInvalidaException ex = leerHastaError("[" + proceso(0, "CPU Bound", 10) + ",\n{\"id\":1,,}]");
+        assertEquals(2, ex.getLinea());
+        assertEquals(1, ex.getIndice());
+        leerHastaError("[" + proceso(0, "CPU Bound", 10));
+        leerHastaError("[" + proceso(0, "CPU Bound", 10) + "] []");
+        leerHastaError("[1]");
+    }
+
+    @Test
+    public void noEsUnArreglo() throws IOException {
+        String ruta = escribir(proceso(0, "CPU Bound", 10));
+        CargaInvalidaException ex = assertThrows(CargaInvalidaException.class, () -> new LectorProcesosJson(ruta));
+        assertEquals(-1, ex.getIndice());
+        assertTrue(ex.getMessage().contains("arreglo"), ex.getMessage());
+    }
+}
@@ -0,0 +1,123 @@
+package micelaneos;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class RuedaTemporizadoresTest {
+
+    /**
+     * Avanza de a un ciclo y devuelve, en orden, los datoA que fueron
+     * venciendo; falla si alguno vence en un ciclo que no es el suyo.
+     */
+    private static ArrayList<Integer> correr(RuedaTemporizadores rueda, long hasta) {
+        ArrayList<Integer> salida = new ArrayList<>();
+        while (rueda.getAhora() < hasta && rueda.getProgramados() > 0) {
+            rueda.avanzar(rueda.getAhora() + 1);
+            Temporizador t;
+            while ((t = rueda.sacarVencido()) != null) {
+                assertEquals(rueda.getAhora(), t.getVencimiento());
+                salida.add(t.getDatoA());
+            }
+        }
+        return salida;
+    }
+
+    @Test
+    public void venceEnSuCicloAlBajarDeNivel() {
+        RuedaTemporizadores rueda = new RuedaTemporizadores();
+        // nivel 0, borde del 1, nivel 1, borde del 2, nivel 2
+        long[] vencimientos = {5, 64, 65, 200, 4096, 4097, 70000};
+        for (int i = 0; i < vencimientos.length; i++) {
+            rueda.insertar(vencimientos[i], i, 0);
+        }
+        ArrayList<Integer> salida = correr(rueda, Long.MAX_VALUE);
+        assertEquals(vencimientos.length, salida.size());
+        for (int i = 0; i < vencimientos.length; i++) {
+            assertEquals(i, salida.get(i));
+        }
+        assertEquals(0, rueda.getProgramados());
+    }
+
+    @Test
+    public void mismoCicloSaleEnOrdenDeProgramacion() {
+        RuedaTemporizadores rueda = new RuedaTemporizadores();
+        rueda.avanzar(10);
+        // se programan desde niveles distintos y vencen juntos en el ciclo 5000
+        rueda.insertar(5000, 0, 0);
+        rueda.avanzar(4000);
+        rueda.insertar(5000, 1, 0);
+        rueda.avanzar(4990);
+        rueda.insertar(5000, 2, 0);
+        ArrayList<Integer> salida = correr(rueda, 5000);
+        assertEquals(java.util.List.of(0, 1, 2), salida);
+    }
+
+    @Test
+    public void desbordeVuelveALaRueda() {
+        RuedaTemporizadores rueda = new RuedaTemporizadores();
+        long limite = 1L << 24; // lo que cubren los 4 niveles
+        rueda.insertar(limite + 3, 1, 0);
+        rueda.insertar(limite * 2 + 70, 2, 0);
+        rueda.insertar(10, 0, 0);
+        rueda.insertar(limite * 2 + 70, 3, 0);
+        ArrayList<Integer> salida = correr(rueda, Long.MAX_VALUE);
+        assertEquals(java.util.List.of(0, 1, 2, 3), salida);
+    }
+
+    @Test
+    public void cancelarSacaSinVencer() {
+        RuedaTemporizadores rueda = new RuedaTemporizadores();
+        Temporizador a = rueda.insertar(100, 1, 0);
+        Temporizador b = rueda.insertar(100, 2, 0);
+        assertTrue(rueda.cancelar(a));
+        assertFalse(rueda.cancelar(a));
+        assertFalse(a.isPendiente());
+        assertEquals(1, rueda.getProgramados());
+        assertEquals(java.util.List.of(2), correr(rueda, Long.MAX_VALUE));
+        assertFalse(b.isPendiente());
+    }
+
+    @Test
+    public void vencidoAlInsertarQuedaDisponible() {
+        RuedaTemporizadores rueda = new RuedaTemporizadores();
+        rueda.avanzar(50);
+        rueda.insertar(20, 7, 8);
+        assertEquals(0, rueda.getProgramados());
+        Temporizador t = rueda.sacarVencido();
+        assertEquals(7, t.getDatoA());
+        assertEquals(8, t.getDatoB());
+        assertNull(rueda.sacarVencido());
+    }
+
+    @Test
+    public void pendientesReconstruyenLaRueda() {
+        Random azar = new Random(7);
+        RuedaTemporizadores rueda = new RuedaTemporizadores();
+        for (int i = 0; i < 500; i++) {
+            rueda.insertar(1 + azar.nextInt(20000), i, 0);
+        }
+        rueda.avanzar(3000);
+        RuedaTemporizadores copia = new RuedaTemporizadores();
+        copia.reiniciar(rueda.getAhora());
+        for (Temporizador t : rueda.getPendientes()) {
+            copia.insertar(t.getVencimiento(), t.getDatoA(), t.getDatoB());
+        }
+        ArrayList<Integer> vencidosA = new ArrayList<>();
+        ArrayList<Integer> vencidosB = new ArrayList<>();
+        Temporizador t;
+        while ((t = rueda.sacarVencido()) != null) {
+            vencidosA.add(t.getDatoA());
+        }
+        while ((t = copia.sacarVencido()) != null) {
+            vencidosB.add(t.getDatoA());
+        }
+        assertEquals(vencidosA, vencidosB);
+        assertEquals(correr(rueda, Long.MAX_VALUE), correr(copia, Long.MAX_VALUE));
+    }
+}
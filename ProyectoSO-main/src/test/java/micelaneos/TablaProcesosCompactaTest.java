@@ -0,0 +1,105 @@
+package micelaneos;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import org.junit.jupiter.api.Test;
+
+public class TablaProcesosCompactaTest {
+
+    @Test
+    public void agregarGuardaElIdOriginal() {
+        TablaProcesosCompacta tabla = new TablaProcesosCompacta(2);
+        int a = tabla.agregar(new Proceso(70, "A", "CPU bound", 100, 0, 0, 2));
+        int b = tabla.agregar(new Proceso(5, "B", "I/O Bound", 40, 3, 2, 1));
+        assertEquals(0, a);
+        assertEquals(1, b);
+        assertEquals(70, tabla.getId(a));
+        assertEquals(5, tabla.getId(b));
+        assertEquals(70, tabla.aProceso(a).getId());
+    }
+
+    @Test
+    public void aProcesoCopiaTodosLosCampos() {
+        Proceso p = new Proceso(9, "Editor", "I/O Bound", 80, 4, 3, 2);
+        p.setPc(12);
+        p.setMar(11);
+        p.setTiempoEspera(7);
+        p.setTiempoInicio(3);
+        p.setMemoriaRequerida(64);
+        p.setEstadoProceso(ProcessState.BLOQUEADO);
+        p.setInMemory(false);
+        TablaProcesosCompacta tabla = new TablaProcesosCompacta();
+        Proceso q = tabla.aProceso(tabla.agregar(p));
+        assertEquals(p.getId(), q.getId());
+        assertEquals(p.getNombre(), q.getNombre());
+        assertEquals(p.getTipo(), q.getTipo());
+        assertEquals(p.getInstrucciones(), q.getInstrucciones());
+        assertEquals(p.getCiclosParaExcepcion(), q.getCiclosParaExcepcion());
+        assertEquals(p.getCiclosParaSatisfacerExcepcion(), q.getCiclosParaSatisfacerExcepcion());
+        assertEquals(p.getPrioridad(), q.getPrioridad());
+        assertEquals(12, q.getPc());
+        assertEquals(11, q.getMar());
+        assertEquals(7, q.getTiempoEspera());
+        assertEquals(3, q.getTiempoInicio());
+        assertEquals(64, q.getMemoriaRequerida());
+        assertEquals(ProcessState.BLOQUEADO, q.getEstadoProceso());
+        assertFalse(q.isInMemory());
+    }
+
+    @Test
+    public void elCursorSeReusaEntreFilas() {
+        TablaProcesosCompacta tabla = new TablaProcesosCompacta();
+        for (int i = 0; i < 3; i++) {
+            tabla.agregar(100 + i, "CPU Bound", 10 * (i + 1), 1, 1, i);
+        }
+        ProcesoCompacto cursor = tabla.cursor(0);
+        assertEquals(100, cursor.getId());
+        assertSame(cursor, cursor.mover(2));
+        assertEquals(102, cursor.getId());
+        assertEquals(30, cursor.getInstrucciones());
+        assertEquals("Proceso 102", cursor.getNombre());
+        cursor.setPc(5);
+        assertEquals(5, tabla.getPc(2));
+        assertEquals(1, tabla.getPc(0));
+        assertThrows(IllegalArgumentException.class, () -> cursor.mover(3));
+    }
+
+    @Test
+    public void iteradorCreaLosProcesosEnOrden() {
+        TablaProcesosCompacta tabla = new TablaProcesosCompacta();
+        ArrayList<Proceso> origen = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            origen.add(new Proceso(i * 3, "P" + i, "CPU bound", 20 + i, 0, 0, 1));
+        }
+        tabla.agregarTodos(origen.iterator());
+        Iterator<Proceso> it = tabla.iterator();
+        for (Proceso p : origen) {
+            assertTrue(it.hasNext());
+            Proceso q = it.next();
+            assertEquals(p.getId(), q.getId());
+            assertEquals(p.getInstrucciones(), q.getInstrucciones());
+        }
+        assertFalse(it.hasNext());
+    }
+
+    @Test
+    public void generadorUsaLosMismosIdsEnLaTabla() {
+        TablaProcesosCompacta tabla = new TablaProcesosCompacta();
+        GeneradorCargas generador = new GeneradorCargas(42, 10);
+        generador.setPrimerId(500);
+        generador.llenar(tabla);
+        Iterator<Proceso> lista = generador.iterator();
+        for (int fila = 0; fila < 10; fila++) {
+            Proceso p = lista.next();
+            assertEquals(p.getId(), tabla.getId(fila));
+            assertEquals(p.getNombre(), tabla.getNombre(fila));
+            assertEquals(p.getInstrucciones(), tabla.getInstrucciones(fila));
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package micelaneos;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class TablaProcesosTest {
+
+    private static Proceso proceso(int id) {
+        return new Proceso(id, "p" + id, "CPU bound", 10, 0, 0, 0);
+    }
+
+    @Test
+    void ubicaYQuitaPorId() {
+        TablaProcesos tabla = new TablaProcesos(4);
+        Cola<Proceso> bloqueados = new Cola<>();
+        for (int id = 0; id < 10; id++) {
+            tabla.agregar(bloqueados, proceso(id));
+        }
+        assertEquals(10, tabla.getRegistrados());
+        assertSame(bloqueados, tabla.getCola(7));
+        assertSame(bloqueados, tabla.quitar(7));
+        assertNull(tabla.getCola(7));
+        assertEquals(9, bloqueados.getSize());
+        assertEquals(7, tabla.getProceso(7).getId());
+    }
+
+    @Test
+    void unIdGrandeNoAgrandaLosArreglos() {
+        TablaProcesos tabla = new TablaProcesos(4);
+        Cola<Proceso> cola = new Cola<>();
+        tabla.agregar(cola, proceso(0));
+        tabla.agregar(cola, proceso(Integer.MAX_VALUE - 1));
+        assertTrue(tabla.getCapacidad() <= 8);
+        assertEquals(2, tabla.getRegistrados());
+        assertSame(cola, tabla.getCola(Integer.MAX_VALUE - 1));
+        assertSame(cola, tabla.quitar(Integer.MAX_VALUE - 1));
+        tabla.olvidar(Integer.MAX_VALUE - 1);
+        assertNull(tabla.getProceso(Integer.MAX_VALUE - 1));
+        assertEquals(1, tabla.getRegistrados());
+    }
+
+    @Test
+    void losDispersosPasanALosArreglosCuandoEstosCrecen() {
+        TablaProcesos tabla = new TablaProcesos(2);
+        Cola<Proceso> cola = new Cola<>();
+        tabla.agregar(cola, proceso(40));
+        for (int id = 0; id < 40; id++) {
+            tabla.registrar(proceso(id));
+        }
+        assertTrue(tabla.getCapacidad() > 40);
+        assertEquals(41, tabla.getRegistrados());
+        assertEquals(40, tabla.getProceso(40).getId());
+        assertSame(cola, tabla.getCola(40));
+    }
+
+    @Test
+    void rechazaIdsNegativos() {
+        TablaProcesos tabla = new TablaProcesos();
+        assertThrows(IllegalArgumentException.class, () -> tabla.registrar(proceso(-1)));
+        assertNull(tabla.getProceso(-1));
+    }
+}
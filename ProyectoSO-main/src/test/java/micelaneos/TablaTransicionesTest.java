@@ -0,0 +1,120 @@
+package micelaneos;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class TablaTransicionesTest {
+
+    /**
+     * Proceso recien creado, como lo ve el Planificador antes de admitirlo.
+     */
+    private static Proceso proceso(int id) {
+        Proceso p = new Proceso(id, "p" + id, "CPU bound", 10, 0, 0, 0);
+        p.setEstadoProceso(ProcessState.NUEVO);
+        return p;
+    }
+
+    @Test
+    void cuentaCadaTransicion() {
+        TablaTransiciones tabla = new TablaTransiciones();
+        Proceso p = proceso(1);
+        tabla.aplicar(p, ProcessState.LISTO);
+        tabla.aplicar(p, ProcessState.EJECUCION);
+        tabla.aplicar(p, ProcessState.BLOQUEADO);
+        tabla.aplicar(p, ProcessState.LISTO);
+        tabla.aplicar(p, ProcessState.EJECUCION);
+        tabla.aplicar(p, ProcessState.LISTO);
+        tabla.aplicar(p, ProcessState.EJECUCION);
+        tabla.aplicar(p, ProcessState.TERMINADO);
+
+        assertEquals(ProcessState.TERMINADO, p.getEstadoProceso());
+        assertEquals(1, tabla.getConteo(ProcessState.NUEVO, ProcessState.LISTO));
+        assertEquals(3, tabla.getConteo(ProcessState.LISTO, ProcessState.EJECUCION));
+        assertEquals(1, tabla.getConteo(ProcessState.EJECUCION, ProcessState.LISTO));
+        assertEquals(1, tabla.getConteo(ProcessState.BLOQUEADO, ProcessState.LISTO));
+        assertEquals(1, tabla.getConteo(ProcessState.EJECUCION, ProcessState.TERMINADO));
+        assertEquals(0, tabla.getConteo(ProcessState.LISTO, ProcessState.SUSPENDIDO_LISTO));
+        assertEquals(8, tabla.getTotal());
+        assertEquals(0, tabla.getRechazadas());
+    }
+
+    @Test
+    void unaTransicionInvalidaLanzaSinTocarElProceso() {
+        TablaTransiciones tabla = new TablaTransiciones();
+        Proceso p = proceso(2);
+        assertThrows(IllegalStateException.class, () -> tabla.aplicar(p, ProcessState.EJECUCION));
+        assertEquals(ProcessState.NUEVO, p.getEstadoProceso());
+
+        tabla.aplicar(p, ProcessState.LISTO);
+        tabla.aplicar(p, ProcessState.EJECUCION);
+        tabla.aplicar(p, ProcessState.TERMINADO);
+        assertThrows(IllegalStateException.class, () -> tabla.aplicar(p, ProcessState.LISTO));
+        assertEquals(ProcessState.TERMINADO, p.getEstadoProceso());
+
+        assertEquals(2, tabla.getRechazadas());
+        assertEquals(3, tabla.getTotal());
+    }
+
+    @Test
+    void aplicarRespetaEsPermitida() {
+        for (ProcessState desde : ProcessState.values()) {
+            for (ProcessState hacia : ProcessState.values()) {
+                TablaTransiciones tabla = new TablaTransiciones();
+                Proceso p = proceso(3);
+                p.setEstadoProceso(desde);
+                if (TablaTransiciones.esPermitida(desde, hacia)) {
+                    tabla.aplicar(p, hacia);
+                    assertEquals(hacia, p.getEstadoProceso());
+                    assertEquals(1, tabla.getConteo(desde, hacia));
+                } else {
+                    assertThrows(IllegalStateException.class, () -> tabla.aplicar(p, hacia),
+                            desde + " -> " + hacia);
+                    assertEquals(desde, p.getEstadoProceso());
+                    assertEquals(0, tabla.getTotal());
+                }
+            }
+        }
+    }
+
+    @Test
+    void losContadoresNoPierdenTransicionesConVariosHilos() throws InterruptedException {
+        TablaTransiciones tabla = new TablaTransiciones();
+        int hilos = 4;
+        int vueltas = 10000;
+        Thread[] ts = new Thread[hilos];
+        for (int h = 0; h < hilos; h++) {
+            int id = h;
+            ts[h] = new Thread(() -> {
+                Proceso p = proceso(id);
+                tabla.aplicar(p, ProcessState.LISTO);
+                for (int i = 0; i < vueltas; i++) {
+                    tabla.aplicar(p, ProcessState.EJECUCION);
+                    tabla.aplicar(p, ProcessState.LISTO);
+                }
+            });
+            ts[h].start();
+        }
+        for (Thread t : ts) {
+            t.join();
+        }
+        assertEquals(hilos, tabla.getConteo(ProcessState.NUEVO, ProcessState.LISTO));
+        assertEquals((long) hilos * vueltas, tabla.getConteo(ProcessState.LISTO, ProcessState.EJECUCION));
+        assertEquals((long) hilos * vueltas, tabla.getConteo(ProcessState.EJECUCION, ProcessState.LISTO));
+    }
+
+    @Test
+    void restaurarDevuelveLosContadoresGuardados() {
+        TablaTransiciones original = new TablaTransiciones();
+        Proceso p = proceso(4);
+        original.aplicar(p, ProcessState.SUSPENDIDO_LISTO);
+        original.aplicar(p, ProcessState.LISTO);
+        assertThrows(IllegalStateException.class, () -> original.aplicar(p, ProcessState.BLOQUEADO));
+
+        TablaTransiciones copia = new TablaTransiciones();
+        copia.restaurar(original.getConteos(), original.getRechazadas());
+        assertArrayEquals(original.getConteos(), copia.getConteos());
+        assertEquals(1, copia.getRechazadas());
+        assertThrows(IllegalArgumentException.class, () -> copia.restaurar(new long[1], 0));
+    }
+}
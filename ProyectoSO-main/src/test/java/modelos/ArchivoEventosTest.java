@@ -0,0 +1,118 @@
+package modelos;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ArchivoEventosTest {
+
+    @TempDir
+    Path carpeta;
+
+    /**
+     * Las lineas de eventos de todos los segmentos en orden: ruta.1.gz,
+     * ruta.2.gz, ... y al final el archivo activo. Cada segmento empieza con
+     * el encabezado.
+     */
+    private static List<String> leerTodo(Path ruta, int segmentos) throws IOException {
+        List<String> lineas = new ArrayList<>();
+        for (int n = 1; n < segmentos; n++) {
+            assertFalse(Files.exists(Paths.get(ruta + "." + n)), "segmento sin comprimir: " + n);
+            try (InputStream in = new GZIPInputStream(Files.newInputStream(Paths.get(ruta + "." + n + ".gz")))) {
+                leer(in, lineas);
+            }
+        }
+        try (InputStream in = Files.newInputStream(ruta)) {
+            leer(in, lineas);
+        }
+        return lineas;
+    }
+
+    private static void leer(InputStream in, List<String> lineas) throws IOException {
+        BufferedReader lector = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        assertEquals(ArchivoEventos.ENCABEZADO.trim(), lector.readLine());
+        for (String linea = lector.readLine(); linea != null; linea = lector.readLine()) {
+            lineas.add(linea);
+        }
+    }
+
+    /**
+     * Con un buffer donde entra toda la carga no se descarta nada, aunque el
+     * archivo rote muchas veces.
+     */
+    @Test
+    void rotaYComprimeSinPerderEventos() throws IOException {
+        Path ruta = carpeta.resolve("eventos.csv");
+        ArchivoEventos archivo = new ArchivoEventos(ruta.toString(), 1 << 16, 4096);
+        int total = 20000;
+        for (int ciclo = 0; ciclo < total; ciclo++) {
+            archivo.evento(TipoEvento.CAMBIO_ALGORITMO, ciclo, -1, null, 0, 0, "a,\"b\"");
+        }
+        archivo.close();
+
+        assertEquals(0, archivo.getPerdidos());
+        assertEquals(total, archivo.getEscritos());
+        assertTrue(archivo.getSegmentos() > 2, "no roto: " + archivo.getSegmentos());
+        List<String> lineas = leerTodo(ruta, archivo.getSegmentos());
+        assertEquals(archivo.getEscritos(), lineas.size());
+        long anterior = -1;
+        for (String linea : lineas) {
+            assertTrue(linea.endsWith(",CAMBIO_ALGORITMO,-1,,0,0,\"a,\"\"b\"\"\""), linea);
+            long ciclo = Long.parseLong(linea.substring(0, linea.indexOf(',')));
+            assertTrue(ciclo > anterior, "desordenado: " + linea);
+            anterior = ciclo;
+        }
+    }
+
+    /**
+     * Productores que siguen mandando mientras se cierra: cada evento queda
+     * escrito o contado como perdido, nunca las dos cosas ni ninguna.
+     */
+    @Test
+    void cerrarConProductoresActivosNoPierdeCuentas() throws IOException, InterruptedException {
+        for (int intento = 0; intento < 10; intento++) {
+            Path ruta = carpeta.resolve("cierre" + intento + ".csv");
+            ArchivoEventos archivo = new ArchivoEventos(ruta.toString(), 1024, 8192);
+            int hilos = 3;
+            AtomicLong enviados = new AtomicLong();
+            CountDownLatch arrancaron = new CountDownLatch(hilos);
+            Thread[] productores = new Thread[hilos];
+            for (int h = 0; h < hilos; h++) {
+                int pid = h;
+                productores[h] = new Thread(() -> {
+                    arrancaron.countDown();
+                    for (long ciclo = 0; ciclo < 200000; ciclo++) {
+                        archivo.evento(TipoEvento.DESPACHO, ciclo, pid, null, 0, 0, null);
+                        enviados.incrementAndGet();
+                    }
+                });
+                productores[h].start();
+            }
+            arrancaron.await();
+            Thread.sleep(2);
+            archivo.close();
+            for (Thread t : productores) {
+                t.join();
+            }
+
+            assertEquals(enviados.get(), archivo.getEscritos() + archivo.getPerdidos());
+            assertEquals(archivo.getEscritos(), leerTodo(ruta, archivo.getSegmentos()).size());
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package modelos;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class BancoRendimientoTest {
+
+    @TempDir
+    Path carpeta;
+
+    private JsonNode correr(BancoRendimiento banco, int corridas) throws IOException {
+        banco.setCalentar(false);
+        Path archivo = carpeta.resolve("rendimiento.json");
+        assertEquals(corridas, banco.ejecutar(archivo.toString()));
+        JsonNode raiz = new ObjectMapper().readTree(archivo.toFile());
+        assertEquals(BancoRendimiento.VERSION_FORMATO, raiz.get("version").asInt());
+        assertEquals(corridas, raiz.get("corridas").size());
+        return raiz;
+    }
+
+    @Test
+    void escribeLasMedicionesDeCadaCorrida() throws IOException {
+        JsonNode raiz = correr(new BancoRendimiento(new int[] {40}, new int[] {1, 2}), 2);
+        assertEquals(BancoRendimiento.VENTANA_POR_DEFECTO, raiz.get("parametros").get("ventana").asInt());
+        int[] cpus = {1, 2};
+        for (int i = 0; i < cpus.length; i++) {
+            JsonNode corrida = raiz.get("corridas").get(i);
+            assertEquals(40, corrida.get("procesos").asInt());
+            assertEquals(cpus[i], corrida.get("cpus").asInt());
+            assertTrue(corrida.get("terminada").isBoolean());
+            assertTrue(corrida.get("terminada").asBoolean());
+            assertEquals(40, corrida.get("completados").asInt());
+            assertTrue(corrida.get("ciclos").asLong() > 0);
+            assertTrue(corrida.get("ciclos_por_segundo").isNumber());
+            assertTrue(corrida.get("ciclos_por_segundo").asDouble() > 0);
+            assertTrue(corrida.get("heap_pico_bytes").isIntegralNumber());
+            assertTrue(corrida.get("heap_pico_bytes").asLong() > 0);
+            assertTrue(corrida.get("gc_ms").isIntegralNumber());
+            assertTrue(corrida.get("gc_ms").asLong() >= 0);
+        }
+    }
+
+    @Test
+    void unaCorridaCortadaNoQuedaTerminada() throws IOException {
+        BancoRendimiento banco = new BancoRendimiento(new int[] {40}, new int[] {1});
+        banco.setMaxCiclos(10);
+        JsonNode corrida = correr(banco, 1).get("corridas").get(0);
+        assertFalse(corrida.get("terminada").asBoolean());
+        assertTrue(corrida.get("ciclos").asLong() <= 10);
+    }
+}
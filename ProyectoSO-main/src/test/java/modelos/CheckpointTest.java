@@ -0,0 +1,126 @@
+package modelos;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import controlador.ControladorSimulacion;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.concurrent.Semaphore;
+import micelaneos.GeneradorCargas;
+import micelaneos.List;
+import micelaneos.Proceso;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class CheckpointTest {
+    private static final int CPUS = 2;
+    private static final int PROCESOS = 300;
+    private static final int VENTANA = 40;
+
+    @TempDir
+    Path carpeta;
+
+    @BeforeAll
+    public static void silenciar() {
+        EventLogger.setImprimirPorDefecto(false);
+    }
+
+    private static Iterator<Proceso> carga() {
+        return new GeneradorCargas(3, PROCESOS).iterator();
+    }
+
+    private static MotorSimulacion armar(int politica) {
+        ControladorSimulacion controlador = new ControladorSimulacion(politica);
+        PerformanceMetrics metrics = new PerformanceMetrics(CPUS);
+        Planificador planificador = new Planificador(new List<Proceso>(), new List<Proceso>(), new List<Proceso>(),
+                new List<Proceso>(), new List<Proceso>(), new List<Proceso>(), controlador, CPUS,
+                Planificador.MEMORIA_POR_DEFECTO);
+        Semaphore mutex = new Semaphore(1);
+        CPU[] cpus = new CPU[CPUS];
+        for (int i = 0; i < CPUS; i++) {
+            cpus[i] = new CPU(controlador, planificador, i + 1, mutex, metrics);
+        }
+        MotorSimulacion motor = new MotorSimulacion(planificador, new Reloj(mutex, planificador, controlador), cpus);
+        motor.setFuente(carga(), VENTANA);
+        return motor;
+    }
+
+    /**
+     * Tiempos de cada proceso (por id) y las metricas finales.
+     */
+    private static String resultado(MotorSimulacion motor) {
+        ArrayList<Proceso> procesos = new ArrayList<>();
+        for (Proceso p : motor.getPlanificador().getAllProcessList()) {
+            procesos.add(p);
+        }
+        procesos.sort(Comparator.comparingInt(Proceso::getId));
+        StringBuilder sb = new StringBuilder();
+        for (Proceso p : procesos) {
+            sb.append(p.getId()).append(':').append(p.getTiempoInicio()).append('/')
+                    .append(p.getTiempoFinalizacion()).append('/').append(p.getTiempoEspera()).append('/')
+                    .append(p.getTiempoRespuesta()).append('\n');
+        }
+        sb.append(motor.getCpus()[0].getMetrics().getMetricsString()).append('\n');
+        sb.append(motor.getCiclo());
+        return sb.toString();
+    }
+
+    private void reanudarIgualQueSinCortar(int politica, long corte) throws IOException {
+        MotorSimulacion continua = armar(politica);
+        continua.ejecutar(Long.MAX_VALUE / 2);
+        assertTrue(continua.terminado());
+        String esperado = resultado(continua);
+
+        MotorSimulacion cortada = armar(politica);
+        cortada.ejecutar(corte);
+        assertEquals(corte, cortada.getCiclo());
+        String archivo = carpeta.resolve("p" + politica + ".ckpt").toString();
+        Checkpoint.guardar(cortada, archivo);
+
+        MotorSimulacion reanudada = armar(politica);
+        Checkpoint.restaurar(reanudada, archivo);
+        assertEquals(corte, reanudada.getCiclo());
+        reanudada.ejecutar(Long.MAX_VALUE / 2);
+        assertTrue(reanudada.terminado());
+        assertEquals(esperado, resultado(reanudada), "politica " + politica);
+
+        // la corrida cortada sigue igual despues de guardar
+        cortada.ejecutar(Long.MAX_VALUE / 2);
+        assertEquals(esperado, resultado(cortada), "politica " + politica);
+    }
+
+    @Test
+    public void reanudarDaLoMismoEnTodasLasPoliticas() throws IOException {
+        for (int politica = 0; politica <= 5; politica++) {
+            reanudarIgualQueSinCortar(politica, 1500);
+        }
+    }
+
+    @Test
+    public void reanudarAlPrincipio() throws IOException {
+        reanudarIgualQueSinCortar(1, 1);
+    }
+
+    @Test
+    public void rechazaOtraCantidadDeCPUs() throws IOException {
+        MotorSimulacion motor = armar(0);
+        motor.ejecutar(10);
+        String archivo = carpeta.resolve("cpus.ckpt").toString();
+        Checkpoint.guardar(motor, archivo);
+        ControladorSimulacion controlador = new ControladorSimulacion(0);
+        PerformanceMetrics metrics = new PerformanceMetrics(1);
+        Planificador planificador = new Planificador(new List<Proceso>(), new List<Proceso>(), new List<Proceso>(),
+                new List<Proceso>(), new List<Proceso>(), new List<Proceso>(), controlador, 1,
+                Planificador.MEMORIA_POR_DEFECTO);
+        Semaphore mutex = new Semaphore(1);
+        MotorSimulacion otro = new MotorSimulacion(planificador, new Reloj(mutex, planificador, controlador),
+                new CPU(controlador, planificador, 1, mutex, metrics));
+        assertThrows(IOException.class, () -> Checkpoint.restaurar(otro, archivo));
+    }
+}
@@ -0,0 +1,77 @@
+package modelos;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import micelaneos.Proceso;
+import org.junit.jupiter.api.Test;
+
+class ColasListosTest {
+
+    private static Proceso proceso(int id, int instrucciones, int prioridad) {
+        return new Proceso(id, "p" + id, "CPU bound", instrucciones, 0, 0, prioridad);
+    }
+
+    @Test
+    void cadaColaSacaSegunLaPolitica() {
+        ColasListos colas = new ColasListos(1, Planificador.comparadorPolitica(5));
+        colas.encolar(proceso(1, 10, 3), 0);
+        colas.encolar(proceso(2, 10, 1), 0);
+        colas.encolar(proceso(3, 10, 2), 0);
+        colas.encolar(proceso(4, 10, 1), 0);
+        assertEquals(2, colas.sacar(0).getId());
+        assertEquals(4, colas.sacar(0).getId());
+        assertEquals(3, colas.sacar(0).getId());
+        assertEquals(1, colas.sacar(0).getId());
+        assertNull(colas.sacar(0));
+    }
+
+    @Test
+    void unaColaVaciaRobaDeLaMasCargada() {
+        ColasListos colas = new ColasListos(3, Planificador.comparadorPolitica(2));
+        colas.encolar(proceso(1, 30, 0), 1);
+        colas.encolar(proceso(2, 20, 0), 2);
+        colas.encolar(proceso(3, 10, 0), 2);
+        assertEquals(3, colas.sacar(0).getId());
+        assertEquals(1, colas.getRobos());
+        assertEquals(2, colas.getSize());
+    }
+
+    @Test
+    void hrrnReordenaRecienAlDespachar() {
+        ColasListos colas = new ColasListos(1, Planificador.comparadorPolitica(4));
+        Proceso largo = proceso(1, 100, 0);
+        Proceso corto = proceso(2, 10, 0);
+        largo.setTiempoEspera(50);
+        colas.encolar(largo, 0);
+        colas.encolar(corto, 0);
+        // razon de respuesta: largo 1.5, corto 1.0
+        assertSame(largo, colas.primero(0));
+
+        // el corto envejece mas rapido: 10 ciclos despues 2.0 contra 1.6
+        colas.bloquear(0);
+        largo.setTiempoEspera(60);
+        corto.setTiempoEspera(10);
+        colas.invalidarOrden(0);
+        colas.liberar(0);
+        assertSame(corto, colas.sacar(0));
+        assertSame(largo, colas.sacar(0));
+    }
+
+    @Test
+    void quitarPosicionesDescuentaDelTotal() {
+        ColasListos colas = new ColasListos(1, Planificador.comparadorPolitica(0));
+        for (int i = 0; i < 8; i++) {
+            colas.encolar(proceso(i, 10, 0), 0);
+        }
+        colas.bloquear(0);
+        colas.quitarPosiciones(0, new int[]{0, 3, 7}, 3);
+        colas.liberar(0);
+        assertEquals(5, colas.getSize());
+        int sacados = 0;
+        while (colas.sacar(0) != null) {
+            sacados++;
+        }
+        assertEquals(5, sacados);
+        assertFalse(colas.hayListos());
+    }
+}
@@ -0,0 +1,86 @@
+package modelos;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import controlador.ControladorSimulacion;
+import java.util.TreeSet;
+import java.util.concurrent.Semaphore;
+import micelaneos.GeneradorCargas;
+import micelaneos.List;
+import micelaneos.Proceso;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class EjecutorSimulacionTest {
+    private static final int CPUS = 4;
+    private static final int PROCESOS = 20;
+    private static final long LIMITE_MS = 60000;
+
+    @BeforeAll
+    static void silenciar() {
+        EventLogger.setImprimirPorDefecto(false);
+    }
+
+    /**
+     * Corre la carga en el modo con hilos, como ComparadorHilos, hasta que
+     * terminen todos los procesos, y devuelve los ids terminados.
+     */
+    private static TreeSet<Integer> correr(EjecutorSimulacion ejecutor) throws InterruptedException {
+        ControladorSimulacion controlador = new ControladorSimulacion(0);
+        controlador.setTiempo(1);
+        List<Proceso> listos = new List<>();
+        List<Proceso> todos = new List<>();
+        for (Proceso p : new GeneradorCargas(5, PROCESOS)) {
+            listos.appendLast(p);
+            todos.appendLast(p);
+        }
+        Semaphore mutex = new Semaphore(1);
+        Planificador planificador = new Planificador(listos, new List<Proceso>(), new List<Proceso>(), todos,
+                new List<Proceso>(), new List<Proceso>(), controlador, CPUS);
+        PerformanceMetrics metrics = new PerformanceMetrics(CPUS);
+        CPU[] cpus = new CPU[CPUS];
+        for (int i = 0; i < CPUS; i++) {
+            cpus[i] = new CPU(controlador, planificador, i + 1, mutex, metrics);
+            cpus[i].setEjecutor(ejecutor);
+        }
+        Reloj reloj = new Reloj(mutex, planificador, controlador);
+        reloj.setEjecutor(ejecutor);
+
+        for (CPU cpu : cpus) {
+            cpu.start();
+        }
+        reloj.start();
+        long limite = System.currentTimeMillis() + LIMITE_MS;
+        while (planificador.getTerminados() < PROCESOS && System.currentTimeMillis() < limite) {
+            Thread.sleep(10);
+        }
+        for (CPU cpu : cpus) {
+            cpu.detener();
+        }
+        reloj.detener();
+        controlador.setTiempo(0);
+
+        assertEquals(PROCESOS, planificador.getTerminados(), ejecutor + " no termino la carga");
+        assertTrue(ejecutor.apagar(LIMITE_MS), ejecutor + " no se detuvo");
+        assertEquals(CPUS + 1, ejecutor.getTareasIniciadas());
+
+        TreeSet<Integer> terminados = new TreeSet<>();
+        for (Proceso p : planificador.getExitList()) {
+            terminados.add(p.getId());
+        }
+        return terminados;
+    }
+
+    @Test
+    void hilosDePlataformaYVirtualesTerminanLaMismaCarga() throws InterruptedException {
+        EjecutorSimulacion plataforma = EjecutorSimulacion.crear(false);
+        EjecutorSimulacion virtuales = EjecutorSimulacion.crear(true);
+        assertTrue(!plataforma.isVirtual() && virtuales.isVirtual());
+
+        TreeSet<Integer> conPlataforma = correr(plataforma);
+        TreeSet<Integer> conVirtuales = correr(virtuales);
+        assertEquals(PROCESOS, conPlataforma.size());
+        assertEquals(conPlataforma, conVirtuales);
+    }
+}
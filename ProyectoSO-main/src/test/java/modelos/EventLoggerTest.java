@@ -0,0 +1,119 @@
+package modelos;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.Test;
+
+class EventLoggerTest {
+
+    /**
+     * El texto de la linea sin la hora del principio.
+     */
+    private static String sinHora(String linea) {
+        assertTrue(linea.startsWith("["), linea);
+        return linea.substring(linea.indexOf("] ") + 2);
+    }
+
+    @Test
+    void alDarLaVueltaQuedanLosUltimosEnOrden() {
+        EventLogger logger = new EventLogger(8);
+        assertEquals(8, logger.getCapacidad());
+        for (int i = 0; i < 20; i++) {
+            logger.logEvent("e" + i);
+        }
+        List<String> eventos = logger.getEvents();
+        assertEquals(8, eventos.size());
+        for (int i = 0; i < 8; i++) {
+            assertEquals("e" + (12 + i), sinHora(eventos.get(i)));
+        }
+        assertEquals(20, logger.getRegistrados());
+
+        logger.clearEvents();
+        assertTrue(logger.getEvents().isEmpty());
+        logger.logEvent("despues");
+        assertEquals("despues", sinHora(logger.getEvents().get(0)));
+    }
+
+    @Test
+    void elTextoSeArmaAlLeer() {
+        EventLogger logger = new EventLogger(4);
+        logger.registrar(TipoEvento.CARGADO, "ADMISIÓN", 7, "p7", 32, 480);
+        logger.registrar(TipoEvento.DESPACHO, null, 7, "p7", 32, 480);
+        logger.registrar(TipoEvento.CAMBIO_ALGORITMO, "SPN", -1, null, 0, 0);
+        List<String> eventos = logger.getEvents();
+        assertEquals("ADMISIÓN: Proceso 7 (p7) cargado en memoria. Memoria asignada: 32 MB. Disponible: 480 MB",
+                sinHora(eventos.get(0)));
+        assertEquals("SCHEDULER: Proceso p7 (ID: 7) seleccionado para ejecución", sinHora(eventos.get(1)));
+        assertEquals("Cambio de algoritmo a SPN", sinHora(eventos.get(2)));
+    }
+
+    @Test
+    void unProductorAtrasadoNoPisaUnEventoMasNuevo() {
+        EventLogger logger = new EventLogger(4);
+        long tarde = logger.reservar();
+        for (int i = 1; i <= 4; i++) {
+            logger.logEvent("e" + i);
+        }
+        // la casilla de "tarde" ya tiene a e4, una vuelta despues
+        logger.escribir(tarde, TipoEvento.TEXTO, "tarde", -1, null, 0, 0);
+        List<String> eventos = logger.getEvents();
+        assertEquals(4, eventos.size());
+        for (int i = 0; i < 4; i++) {
+            assertEquals("e" + (i + 1), sinHora(eventos.get(i)));
+        }
+    }
+
+    /**
+     * Varios productores dan muchas vueltas a un buffer chico. Al final cada
+     * casilla tiene que tener el evento mas nuevo que le toco (ninguno viejo
+     * pisa a uno nuevo), y los de cada productor salen en el orden en que
+     * los registro.
+     */
+    @Test
+    void variosProductoresNoPierdenLosEventosMasNuevos() throws InterruptedException {
+        int capacidad = 8;
+        int hilos = 4;
+        int porHilo = 20000;
+        for (int intento = 0; intento < 5; intento++) {
+            EventLogger logger = new EventLogger(capacidad);
+            CountDownLatch largada = new CountDownLatch(1);
+            Thread[] productores = new Thread[hilos];
+            for (int h = 0; h < hilos; h++) {
+                int hilo = h;
+                productores[h] = new Thread(() -> {
+                    try {
+                        largada.await();
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    for (int k = 0; k < porHilo; k++) {
+                        logger.registrar(TipoEvento.TEXTO, hilo + ":" + k, hilo, null, k, 0);
+                    }
+                });
+                productores[h].start();
+            }
+            largada.countDown();
+            for (Thread t : productores) {
+                t.join();
+            }
+
+            assertEquals((long) hilos * porHilo, logger.getRegistrados());
+            List<String> eventos = logger.getEvents();
+            assertEquals(capacidad, eventos.size());
+            int[] ultimo = new int[hilos];
+            Arrays.fill(ultimo, -1);
+            for (String linea : eventos) {
+                String[] partes = sinHora(linea).split(":");
+                int hilo = Integer.parseInt(partes[0]);
+                int k = Integer.parseInt(partes[1]);
+                assertTrue(k > ultimo[hilo], "desordenado: " + linea);
+                ultimo[hilo] = k;
+            }
+        }
+    }
+}
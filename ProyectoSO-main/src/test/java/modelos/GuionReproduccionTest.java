@@ -0,0 +1,134 @@
+package modelos;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import controlador.ControladorSimulacion;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.concurrent.Semaphore;
+import micelaneos.GeneradorCargas;
+import micelaneos.LectorTraza;
+import micelaneos.List;
+import micelaneos.Proceso;
+import micelaneos.TrazaEventos;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class GuionReproduccionTest {
+    private static final int PROCESOS = 200;
+
+    @TempDir
+    Path carpeta;
+
+    @BeforeAll
+    public static void silenciar() {
+        EventLogger.setImprimirPorDefecto(false);
+    }
+
+    private static Iterator<Proceso> carga() {
+        return new GeneradorCargas(17, PROCESOS).iterator();
+    }
+
+    private static MotorSimulacion armar(int politica, int numCPUs) {
+        ControladorSimulacion controlador = new ControladorSimulacion(politica);
+        PerformanceMetrics metrics = new PerformanceMetrics(numCPUs);
+        Planificador planificador = new Planificador(new List<Proceso>(), new List<Proceso>(), new List<Proceso>(),
+                new List<Proceso>(), new List<Proceso>(), new List<Proceso>(), controlador, numCPUs,
+                Planificador.MEMORIA_POR_DEFECTO);
+        Semaphore mutex = new Semaphore(1);
+        CPU[] cpus = new CPU[numCPUs];
+        for (int i = 0; i < numCPUs; i++) {
+            cpus[i] = new CPU(controlador, planificador, i + 1, mutex, metrics);
+        }
+        return new MotorSimulacion(planificador, new Reloj(mutex, planificador, controlador), cpus);
+    }
+
+    /**
+     * Corre hasta terminar grabando la traza en archivo. Con guion null la
+     * carga entra por la fuente; si no, por el guion.
+     */
+    private static MotorSimulacion correr(int politica, int numCPUs, String guion, String archivo) throws IOException {
+        MotorSimulacion motor = armar(politica, numCPUs);
+        if (guion == null) {
+            motor.setFuente(carga(), 30);
+        } else {
+            GuionReproduccion g = new GuionReproduccion(guion);
+            g.cargarDefiniciones(carga());
+            motor.setGuion(g);
+        }
+        try (TrazaEventos traza = new TrazaEventos(archivo, 1 << 20)) {
+            motor.getPlanificador().setTraza(traza);
+            motor.ejecutar(Long.MAX_VALUE / 2);
+        }
+        assertTrue(motor.terminado());
+        return motor;
+    }
+
+    private static String resultado(MotorSimulacion motor) {
+        ArrayList<Proceso> procesos = new ArrayList<>();
+        for (Proceso p : motor.getPlanificador().getAllProcessList()) {
+            procesos.add(p);
+        }
+        procesos.sort(Comparator.comparingInt(Proceso::getId));
+        StringBuilder sb = new StringBuilder();
+        for (Proceso p : procesos) {
+            sb.append(p.getId()).append(':').append(p.getTiempoInicio()).append('/')
+                    .append(p.getTiempoFinalizacion()).append('/').append(p.getTiempoEspera()).append('\n');
+        }
+        return sb.append(motor.getCiclo()).toString();
+    }
+
+    private static String eventos(String archivo) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        try (LectorTraza lector = new LectorTraza(archivo)) {
+            while (lector.siguiente()) {
+                sb.append(lector.getCiclo()).append(' ').append(lector.getCpu()).append(' ')
+                        .append(lector.getPid()).append(' ').append(lector.getCodigo()).append(' ')
+                        .append(lector.getArgA()).append(' ').append(lector.getArgB()).append('\n');
+            }
+        }
+        return sb.toString();
+    }
+
+    @Test
+    public void reproducirRepiteLaCorridaGrabada() throws IOException {
+        String original = carpeta.resolve("original.trc").toString();
+        String repetida = carpeta.resolve("repetida.trc").toString();
+        MotorSimulacion grabada = correr(0, 2, null, original);
+        MotorSimulacion reproducida = correr(0, 2, original, repetida);
+        assertEquals(resultado(grabada), resultado(reproducida));
+        assertEquals(eventos(original), eventos(repetida));
+    }
+
+    @Test
+    public void reproducirConOtraPoliticaEsDeterminista() throws IOException {
+        String original = carpeta.resolve("original.trc").toString();
+        correr(1, 2, null, original);
+        for (int politica = 0; politica <= 5; politica++) {
+            String a = carpeta.resolve("a" + politica + ".trc").toString();
+            String b = carpeta.resolve("b" + politica + ".trc").toString();
+            MotorSimulacion primera = correr(politica, 3, original, a);
+            MotorSimulacion segunda = correr(politica, 3, original, b);
+            assertEquals(resultado(primera), resultado(segunda), "politica " + politica);
+            assertEquals(eventos(a), eventos(b), "politica " + politica);
+        }
+    }
+
+    @Test
+    public void trazaIncompletaSeRechaza() throws IOException {
+        String chica = carpeta.resolve("chica.trc").toString();
+        MotorSimulacion motor = armar(0, 1);
+        motor.setFuente(carga(), 30);
+        try (TrazaEventos traza = new TrazaEventos(chica, 16)) {
+            motor.getPlanificador().setTraza(traza);
+            motor.ejecutar(Long.MAX_VALUE / 2);
+        }
+        assertThrows(IOException.class, () -> new GuionReproduccion(chica));
+    }
+}
@@ -0,0 +1,81 @@
+package modelos;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import controlador.ControladorSimulacion;
+import java.util.Comparator;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import micelaneos.GeneradorCargas;
+import micelaneos.List;
+import micelaneos.Proceso;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class PlanificadorTest {
+    private static final int CPUS = 3;
+
+    @BeforeAll
+    static void silenciar() {
+        EventLogger.setImprimirPorDefecto(false);
+    }
+
+    @Test
+    void unCambioDePoliticaSeAplicaUnaSolaVez() throws InterruptedException {
+        ControladorSimulacion controlador = new ControladorSimulacion(0);
+        Planificador planificador = new Planificador(new List<Proceso>(), new List<Proceso>(), new List<Proceso>(),
+                new List<Proceso>(), new List<Proceso>(), new List<Proceso>(), controlador, CPUS,
+                Planificador.MEMORIA_POR_DEFECTO);
+        for (Proceso p : new GeneradorCargas(7, 400)) {
+            planificador.admitir(p);
+        }
+        AtomicInteger cambios = new AtomicInteger();
+        planificador.suscribir((tipo, ciclo, pid, proceso, antes, despues, detalle) -> {
+            if (tipo == TipoEvento.CAMBIO_ALGORITMO) {
+                cambios.incrementAndGet();
+            }
+        });
+
+        int rondas = 30;
+        for (int ronda = 1; ronda <= rondas; ronda++) {
+            controlador.setPolitica(ronda % 6);
+            CountDownLatch largada = new CountDownLatch(1);
+            Thread[] hilos = new Thread[CPUS + 1];
+            for (int i = 0; i < CPUS; i++) {
+                int cpu = i + 1;
+                hilos[i] = new Thread(() -> {
+                    esperar(largada);
+                    planificador.getProcess(cpu);
+                });
+            }
+            hilos[CPUS] = new Thread(() -> {
+                esperar(largada);
+                planificador.updateWaitingTime();
+            });
+            for (Thread h : hilos) {
+                h.start();
+            }
+            largada.countDown();
+            for (Thread h : hilos) {
+                h.join();
+            }
+
+            assertEquals(ronda, cambios.get());
+            assertEquals(ronda % 6, planificador.getSelectedAlgorithm());
+            ColasListos colas = planificador.getReadyList();
+            Comparator<Proceso> comparador = colas.getCola(0).getComparator();
+            for (int i = 1; i < colas.getNumColas(); i++) {
+                assertSame(comparador, colas.getCola(i).getComparator());
+            }
+        }
+    }
+
+    private static void esperar(CountDownLatch largada) {
+        try {
+            largada.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package operativos.Sebastiano;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+public class SebastianoTest {
+
+    @Test
+    public void separadorTamanoSoloConDigitos() {
+        assertEquals(7, Sebastiano.separadorTamano("t.trace:4096"));
+        assertEquals(8, Sebastiano.separadorTamano("C:\\t.trc:100"));
+        assertEquals(-1, Sebastiano.separadorTamano("C:\\t.trc"));
+        assertEquals(-1, Sebastiano.separadorTamano("t.trc"));
+        assertEquals(-1, Sebastiano.separadorTamano("t.trc:"));
+        assertEquals(-1, Sebastiano.separadorTamano(":12"));
+        assertEquals(-1, Sebastiano.separadorTamano("a:1b"));
+    }
+
+    /**
+     * Corre main y devuelve lo que escribio en System.err.
+     */
+    private static String errores(String... args) {
+        PrintStream anterior = System.err;
+        ByteArrayOutputStream capturado = new ByteArrayOutputStream();
+        System.setErr(new PrintStream(capturado, true, StandardCharsets.UTF_8));
+        try {
+            Sebastiano.main(args);
+        } finally {
+            System.setErr(anterior);
+        }
+        return capturado.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void numeroMalEscritoMuestraElUso() {
+        String salida = errores("--headless", "gen:1:20000", "cpus=4");
+        assertTrue(salida.contains("numero invalido"), salida);
+        assertTrue(salida.contains("Uso: --headless"), salida);
+    }
+
+    @Test
+    public void opcionDesconocidaMuestraElUso() {
+        String salida = errores("--headless", "gen:1:20", "0", "1", "100", "ventan=5");
+        assertTrue(salida.contains("opcion desconocida: ventan=5"), salida);
+        salida = errores("--rendimiento", "salida.json", "cpu=4");
+        assertTrue(salida.contains("opcion desconocida: cpu=4"), salida);
+        assertTrue(salida.contains("Uso: --rendimiento"), salida);
+        salida = errores("--rendimiento", "procesos=mil");
+        assertTrue(salida.contains("numero invalido"), salida);
+    }
+
+    @Test
+    public void cargaGeneradaMalEscrita() {
+        String salida = errores("--headless", "gen:1");
+        assertTrue(salida.contains("carga generada invalida"), salida);
+    }
+}
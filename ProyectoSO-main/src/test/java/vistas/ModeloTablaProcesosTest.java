@@ -0,0 +1,118 @@
+package vistas;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import javax.swing.event.TableModelEvent;
+import micelaneos.ProcessState;
+import micelaneos.Proceso;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ModeloTablaProcesosTest {
+    private ModeloTablaProcesos modelo;
+    private ArrayList<TableModelEvent> avisos;
+    private Proceso[] procesos;
+
+    @BeforeEach
+    public void armar() {
+        modelo = new ModeloTablaProcesos(ModeloTablaProcesos.COLUMNAS_PCB);
+        avisos = new ArrayList<>();
+        modelo.addTableModelListener(avisos::add);
+        procesos = new Proceso[100];
+        for (int i = 0; i < procesos.length; i++) {
+            procesos[i] = new Proceso(i, "P" + i, "CPU Bound", 50, 1, 1, i % 5);
+        }
+        modelo.setProcesos(procesos);
+        avisos.clear();
+    }
+
+    private static String describir(TableModelEvent e) {
+        String tipo = e.getType() == TableModelEvent.INSERT ? "alta"
+                : e.getType() == TableModelEvent.DELETE ? "baja" : "cambio";
+        if (e.getLastRow() == Integer.MAX_VALUE) {
+            return "todo";
+        }
+        return tipo + " " + e.getFirstRow() + "-" + e.getLastRow();
+    }
+
+    private ArrayList<String> avisados() {
+        ArrayList<String> lista = new ArrayList<>();
+        for (TableModelEvent e : avisos) {
+            lista.add(describir(e));
+        }
+        return lista;
+    }
+
+    @Test
+    public void sinCambiosNoAvisa() {
+        modelo.setProcesos(procesos);
+        assertTrue(avisos.isEmpty(), avisados().toString());
+    }
+
+    @Test
+    public void avisaSoloLosTramosQueCambiaron() {
+        procesos[3].setPc(7);
+        procesos[4].setEstadoProceso(ProcessState.BLOQUEADO);
+        procesos[60].setTiempoEspera(9);
+        modelo.setProcesos(procesos);
+        assertEquals(List.of("cambio 3-4", "cambio 60-60"), avisados());
+        // columnas de COLUMNAS_PCB: 2 es Estado y 3 es PC
+        assertEquals(7, modelo.getValueAt(3, 3));
+        assertEquals(ProcessState.BLOQUEADO.getEtiqueta(), modelo.getValueAt(4, 2));
+    }
+
+    @Test
+    public void muchosTramosSeJuntanEnUnAviso() {
+        for (int i = 1; i < procesos.length; i += 2) {
+            procesos[i].setMar(1);
+        }
+        modelo.setProcesos(procesos);
+        assertEquals(List.of("cambio 1-99"), avisados());
+    }
+
+    @Test
+    public void agregarYQuitarAlFinal() {
+        Proceso[] mas = Arrays.copyOf(procesos, 103);
+        for (int i = 100; i < 103; i++) {
+            mas[i] = new Proceso(i, "P" + i, "CPU Bound", 50, 1, 1, 0);
+        }
+        modelo.setProcesos(mas);
+        assertEquals(List.of("alta 100-102"), avisados());
+        assertEquals(103, modelo.getRowCount());
+        avisos.clear();
+        modelo.setProcesos(Arrays.copyOf(procesos, 90));
+        assertEquals(List.of("baja 90-102"), avisados());
+        assertEquals(90, modelo.getRowCount());
+    }
+
+    @Test
+    public void otroOrdenAvisaTodaLaTabla() {
+        Proceso[] invertidos = new Proceso[procesos.length];
+        for (int i = 0; i < procesos.length; i++) {
+            invertidos[i] = procesos[procesos.length - 1 - i];
+        }
+        modelo.setProcesos(invertidos);
+        assertEquals(List.of("todo"), avisados());
+        assertSame(procesos[99], modelo.getProceso(0));
+        assertEquals(99, modelo.getValueAt(0, 0));
+    }
+
+    @Test
+    public void colasDistintasCambianLaColumnaCPU() {
+        ModeloTablaProcesos porCPU = new ModeloTablaProcesos(ModeloTablaProcesos.Columna.CPU, ModeloTablaProcesos.Columna.ID);
+        porCPU.setColas(new Object[][]{{procesos[0], procesos[1]}, {procesos[2]}});
+        assertEquals(1, porCPU.getValueAt(1, 0));
+        assertEquals(2, porCPU.getValueAt(2, 0));
+        ArrayList<TableModelEvent> recibidos = new ArrayList<>();
+        porCPU.addTableModelListener(recibidos::add);
+        // el mismo proceso pasa a otra cola: cambia la fila aunque el proceso sea el mismo
+        porCPU.setColas(new Object[][]{{procesos[0]}, {procesos[1], procesos[2]}});
+        assertEquals(1, recibidos.size());
+        assertEquals(2, porCPU.getValueAt(1, 0));
+    }
+}